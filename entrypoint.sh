@@ -4,6 +4,8 @@ DOMAIN="example.org"
 HOST="127.0.0.1"
 TIMEOUT=5000
 FAILONIMPOSSIBLETEST=false
+TRANSPORTS="tcp"
+SUPPORTEDTRANSPORTS="tcp,modular,modular-nocompress,modular-websocket-java11"
 
 usage() {
   cat <<EOF
@@ -26,6 +28,9 @@ Usage:
     --enabledSpecifications=ENABLEDSPECIFICATIONS
                                                  Comma-separated list of the only specifications to run, e.g. XEP-0030,XEP-0199
     --failOnImpossibleTest                       If set to 'true', fails the test run if any configured tests were impossible to execute. (default: 'false')
+    --transports=TRANSPORTS                      Comma-separated list of transports to run the tests over, e.g. tcp,modular-websocket-java11. When more than one
+                                                 transport is provided, the tests are run once for each, and the results are compared.
+                                                 Supported transports: $SUPPORTEDTRANSPORTS (default: $TRANSPORTS)
     --help                                       This help message
 EOF
 }
@@ -95,6 +100,10 @@ while [ $# -gt 0 ]; do
     --failOnImpossibleTest)
       FAILONIMPOSSIBLETEST=true
       ;;
+    --transports*)
+      if [[ "$1" != *=* ]]; then shift; fi
+      TRANSPORTS="${1#*=}"
+      ;;
     --help|-h)
       usage
       exit 0
@@ -165,7 +174,6 @@ fi
 if [ "$ACCOUNTTHREEPASSWORD" != "" ]; then
   JAVACMD+=("-Dsinttest.accountThreePassword=$ACCOUNTTHREEPASSWORD")
 fi
-JAVACMD+=("-Dsinttest.enabledConnections=tcp")
 JAVACMD+=("-Dsinttest.dnsResolver=javax")
 if [ "$DISABLEDSPECIFICATIONS" != "" ]; then
     JAVACMD+=("-Dsinttest.disabledSpecifications=$DISABLEDSPECIFICATIONS")
@@ -185,15 +193,51 @@ fi
 JAVACMD+=("-Dsinttest.testRunResultProcessors=org.igniterealtime.smack.inttest.util.StdOutTestRunResultProcessor,org.igniterealtime.smack.inttest.util.JUnitXmlTestRunResultProcessor")
 # JAVACMD+=("-Dsinttest.debugger=standard,dir=./logs,console=off")
 JAVACMD+=("-Dsinttest.debugger=org.igniterealtime.smack.inttest.util.ModifiedStandardSinttestDebuggerMetaFactory")
-JAVACMD+=("-DlogDir=./logs")
-JAVACMD+=("-jar")
-JAVACMD+=("/usr/local/sintse/sintse.jar")
 
-echo "Running: ${JAVACMD[@]}"
+# Use the class data sharing archive that was created when the image was built, to speed up startup.
+CDSARCHIVE="${SINTSE_CDS_ARCHIVE:-/usr/local/sintse/sintse.jsa}"
+CDSOPTS=()
+if [ -f "$CDSARCHIVE" ]; then
+  CDSOPTS+=("-XX:SharedArchiveFile=$CDSARCHIVE")
+fi
+JAVACMD+=("${CDSOPTS[@]}")
+
+IFS=',' read -r -a TRANSPORTLIST <<< "$TRANSPORTS"
+if [ ${#TRANSPORTLIST[@]} -eq 0 ]; then echo "No transports specified"; exit 1; fi
+for TRANSPORT in "${TRANSPORTLIST[@]}"; do
+  if [[ ",$SUPPORTEDTRANSPORTS," != *",$TRANSPORT,"* ]]; then echo "Unsupported transport: '$TRANSPORT'. Supported transports are: $SUPPORTEDTRANSPORTS"; exit 1; fi
+done
+
+EXITCODE=0
+COMPARECMD=("java" "${CDSOPTS[@]}" "-cp" "/usr/local/sintse/sintse.jar" "org.igniterealtime.smack.inttest.util.TestRunComparison")
+for TRANSPORT in "${TRANSPORTLIST[@]}"; do
+  # When running over more than one transport, keep the logs and results of each run apart.
+  LOGDIR="./logs"
+  if [ ${#TRANSPORTLIST[@]} -gt 1 ]; then
+    LOGDIR="./logs/$TRANSPORT"
+  fi
+
+  RUNCMD=("${JAVACMD[@]}")
+  RUNCMD+=("-Dsinttest.enabledConnections=$TRANSPORT")
+  RUNCMD+=("-Dsinttest.defaultConnection=$TRANSPORT")
+  RUNCMD+=("-DlogDir=$LOGDIR")
+  RUNCMD+=("-jar")
+  RUNCMD+=("/usr/local/sintse/sintse.jar")
+  COMPARECMD+=("$TRANSPORT=$LOGDIR/test-results.xml")
+
+  echo "Running: ${RUNCMD[@]}"
+
+  if [ "$BATS_TEST_MODE" != "true" ]; then
+    # In BATS test mode, don't execute - we've already printed what we would've done just above.
+    "${RUNCMD[@]}" || EXITCODE=$?
+  fi
+done
 
-if [ "$BATS_TEST_MODE" == "true" ]; then
-  # In BATS test mode, don't execute - we've already printed what we would've done just above.
-  exit 0
+if [ ${#TRANSPORTLIST[@]} -gt 1 ]; then
+  echo "Running: ${COMPARECMD[@]}"
+  if [ "$BATS_TEST_MODE" != "true" ]; then
+    "${COMPARECMD[@]}"
+  fi
 fi
 
-"${JAVACMD[@]}"
+exit $EXITCODE
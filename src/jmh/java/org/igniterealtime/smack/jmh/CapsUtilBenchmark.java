@@ -0,0 +1,154 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.jmh;
+
+import org.jivesoftware.smack.SmackConfiguration;
+import org.jivesoftware.smackx.caps.CapsUtil;
+import org.jivesoftware.smackx.caps.CapsVersionAndHash;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfoBuilder;
+import org.jivesoftware.smackx.xdata.FormField;
+import org.jivesoftware.smackx.xdata.packet.DataForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of computing the XEP-0115 verification string of disco info of various sizes, with and without
+ * the cache of {@link CapsUtil}.
+ *
+ * <ul>
+ * <li><tt>uncached</tt> - computes the verification string every time.</li>
+ * <li><tt>cacheHit</tt> - looks up the verification string of disco info that was computed before.</li>
+ * <li><tt>cacheHitReordered</tt> - as above, but for an equivalent copy of the disco info that lists its identities, features and forms in a different order.</li>
+ * <li><tt>cacheMiss</tt> - clears the cache before every computation, which shows the overhead of the cache when it does not help.</li>
+ * </ul>
+ *
+ * Run with <tt>-prof gc</tt> to include the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CapsUtilBenchmark
+{
+    /**
+     * The amount of features in the disco info.
+     */
+    @Param({"10", "100", "1000"})
+    public int features;
+
+    /**
+     * The amount of extended information forms (XEP-0128) in the disco info.
+     */
+    @Param({"0", "2"})
+    public int forms;
+
+    private DiscoverInfo discoInfo;
+    private DiscoverInfo reorderedDiscoInfo;
+
+    @Setup
+    public void setUp()
+    {
+        // Initializes Smack, which provides the Base64 encoder that is used to compute the verification string.
+        SmackConfiguration.getVersion();
+
+        final List<DiscoverInfo.Identity> identities = List.of(
+            new DiscoverInfo.Identity("client", "Benchmark", "pc"),
+            new DiscoverInfo.Identity("client", "Benchmark", "bot"));
+
+        final List<String> featureList = new ArrayList<>(features);
+        featureList.add("http://jabber.org/protocol/caps");
+        featureList.add("http://jabber.org/protocol/disco#info");
+        for (int i = featureList.size(); i < features; i++) {
+            featureList.add("urn:example:benchmark:feature:" + i);
+        }
+
+        final List<DataForm> formList = new ArrayList<>(forms);
+        for (int i = 0; i < forms; i++) {
+            final DataForm.Builder form = DataForm.builder(DataForm.Type.result)
+                .addField(FormField.buildHiddenFormType("urn:example:benchmark:form:" + i));
+            for (int f = 0; f < 10; f++) {
+                form.addField(FormField.textMultiBuilder("field-" + f).addValue("value b " + f).addValue("value a " + f).build());
+            }
+            formList.add(form.build());
+        }
+
+        discoInfo = build("benchmark", identities, featureList, formList);
+
+        final List<DiscoverInfo.Identity> reorderedIdentities = new ArrayList<>(identities);
+        Collections.reverse(reorderedIdentities);
+        final List<String> reorderedFeatures = new ArrayList<>(featureList);
+        Collections.reverse(reorderedFeatures);
+        final List<DataForm> reorderedForms = new ArrayList<>(formList);
+        Collections.reverse(reorderedForms);
+        reorderedDiscoInfo = build("benchmark-reordered", reorderedIdentities, reorderedFeatures, reorderedForms);
+
+        CapsUtil.clearCache();
+        if (!CapsUtil.generateVerificationString(discoInfo).version.equals(CapsUtil.generateVerificationStringUncached(reorderedDiscoInfo).version)) {
+            throw new IllegalStateException("Reordered disco info does not yield the same verification string.");
+        }
+    }
+
+    private static DiscoverInfo build(final String id, final List<DiscoverInfo.Identity> identities, final List<String> features, final List<DataForm> forms)
+    {
+        final DiscoverInfoBuilder builder = DiscoverInfo.builder(id);
+        identities.forEach(builder::addIdentity);
+        features.forEach(builder::addFeature);
+        forms.forEach(builder::addExtension);
+        return builder.build();
+    }
+
+    @Benchmark
+    public CapsVersionAndHash uncached()
+    {
+        return CapsUtil.generateVerificationStringUncached(discoInfo);
+    }
+
+    @Benchmark
+    public CapsVersionAndHash cacheHit()
+    {
+        return CapsUtil.generateVerificationString(discoInfo);
+    }
+
+    @Benchmark
+    public CapsVersionAndHash cacheHitReordered()
+    {
+        return CapsUtil.generateVerificationString(reorderedDiscoInfo);
+    }
+
+    @Benchmark
+    public CapsVersionAndHash cacheMiss()
+    {
+        CapsUtil.clearCache();
+        return CapsUtil.generateVerificationString(discoInfo);
+    }
+}
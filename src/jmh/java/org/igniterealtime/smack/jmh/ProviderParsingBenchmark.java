@@ -0,0 +1,270 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.jmh;
+
+import org.igniterealtime.smack.inttest.util.MarkerExtension;
+import org.igniterealtime.smack.inttest.xep0092.provider.Version;
+import org.igniterealtime.smack.inttest.xep0215.packet.DiscoverExternalServices;
+import org.igniterealtime.smack.inttest.xep0215.packet.ServiceCredentials;
+import org.igniterealtime.smack.inttest.xep0215.provider.DiscoverExternalServicesProvider;
+import org.igniterealtime.smack.inttest.xep0215.provider.ServiceCredentialsProvider;
+import org.igniterealtime.smack.inttest.xep0363.element.RetryError;
+import org.igniterealtime.smack.inttest.xep0363.element.SlotRaw;
+import org.igniterealtime.smack.inttest.xep0363.provider.RetryErrorProvider;
+import org.igniterealtime.smack.inttest.xep0363.provider.SlotRawProvider;
+import org.igniterealtime.smack.inttest.xep0421.provider.OccupantId;
+import org.igniterealtime.smack.inttest.xep0433.ExtendedChannelResult;
+import org.igniterealtime.smack.inttest.xep0433.ExtendedChannelSearchForm;
+import org.jivesoftware.smack.SmackConfiguration;
+import org.jivesoftware.smack.packet.IqData;
+import org.jivesoftware.smack.packet.StanzaBuilder;
+import org.jivesoftware.smack.util.ParserUtils;
+import org.jivesoftware.smack.xml.XmlPullParser;
+import org.jivesoftware.smack.xml.XmlPullParserFactory;
+import org.jivesoftware.smack.xml.stax.StaxXmlPullParserFactory;
+import org.jivesoftware.smack.xml.xpp3.Xpp3XmlPullParserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the stanza providers that are defined in this project, with both XML parser backends that
+ * Smack offers.
+ *
+ * Each operation creates a parser for a pre-built payload, moves it to the first start element and has the provider
+ * parse that element, as happens for every stanza that a connection receives. The 'representative' payloads resemble
+ * what a server typically sends. The 'worst-case' payloads contain large amounts of child elements (1000 services,
+ * headers, channels or form values) or large escaped text (64k characters).
+ *
+ * Run with <tt>-prof gc</tt> to include the allocation rate per parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderParsingBenchmark
+{
+    /**
+     * The XML parser backend: <tt>stax</tt> (smack-xmlparser-stax) or <tt>xpp3</tt> (smack-xmlparser-xpp3).
+     */
+    @Param({"stax", "xpp3"})
+    public String parser;
+
+    /**
+     * The kind of payload: <tt>representative</tt> or <tt>worst-case</tt>.
+     */
+    @Param({"representative", "worst-case"})
+    public String payload;
+
+    private static final int WORST_CASE_CHILDREN = 1_000;
+    private static final int WORST_CASE_TEXT_LENGTH = 65_536;
+
+    private final DiscoverExternalServicesProvider discoverExternalServicesProvider = new DiscoverExternalServicesProvider();
+    private final ServiceCredentialsProvider serviceCredentialsProvider = new ServiceCredentialsProvider();
+    private final SlotRawProvider slotRawProvider = new SlotRawProvider();
+    private final RetryErrorProvider retryErrorProvider = new RetryErrorProvider();
+    private final ExtendedChannelResult.Provider extendedChannelResultProvider = new ExtendedChannelResult.Provider();
+    private final ExtendedChannelSearchForm.Provider extendedChannelSearchFormProvider = new ExtendedChannelSearchForm.Provider();
+    private final Version.Provider versionProvider = new Version.Provider();
+    private final OccupantId.Provider occupantIdProvider = new OccupantId.Provider();
+    private final MarkerExtension.Provider markerExtensionProvider = new MarkerExtension.Provider();
+
+    private XmlPullParserFactory parserFactory;
+    private IqData iqData;
+
+    private String discoverExternalServicesXml;
+    private String serviceCredentialsXml;
+    private String slotXml;
+    private String retryErrorXml;
+    private String extendedChannelResultXml;
+    private String extendedChannelSearchFormXml;
+    private String versionXml;
+    private String occupantIdXml;
+    private String markerXml;
+
+    @Setup
+    public void setUp()
+    {
+        // Initializes Smack, which registers the providers (eg: for data forms) that are used by some of the providers under test.
+        SmackConfiguration.getVersion();
+
+        switch (parser) {
+            case "stax":
+                parserFactory = new StaxXmlPullParserFactory();
+                break;
+            case "xpp3":
+                parserFactory = new Xpp3XmlPullParserFactory();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown parser: " + parser);
+        }
+
+        final boolean worstCase;
+        switch (payload) {
+            case "representative":
+                worstCase = false;
+                break;
+            case "worst-case":
+                worstCase = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown payload: " + payload);
+        }
+
+        iqData = StanzaBuilder.buildIqData("benchmark");
+
+        final int services = worstCase ? WORST_CASE_CHILDREN : 3;
+        final StringBuilder xml = new StringBuilder();
+        xml.append("<services xmlns='").append(DiscoverExternalServices.NAMESPACE).append("'>");
+        for (int i = 0; i < services; i++) {
+            xml.append("<service host='turn").append(i).append(".example.org' type='").append(i % 2 == 0 ? "turn" : "stun").append("' port='3478' transport='udp' restricted='1' username='user").append(i).append("' password='").append(text(24, i)).append("' expires='2026-10-19T12:00:00Z' name='Relay ").append(i).append("'/>");
+        }
+        discoverExternalServicesXml = xml.append("</services>").toString();
+
+        final int credentials = worstCase ? WORST_CASE_CHILDREN : 1;
+        xml.setLength(0);
+        xml.append("<credentials xmlns='").append(ServiceCredentials.NAMESPACE).append("'>");
+        for (int i = 0; i < credentials; i++) {
+            xml.append("<service host='turn").append(i).append(".example.org' type='turn' port='3478' username='user").append(i).append("' password='").append(text(24, i)).append("'/>");
+        }
+        serviceCredentialsXml = xml.append("</credentials>").toString();
+
+        final int headers = worstCase ? WORST_CASE_CHILDREN : 3;
+        xml.setLength(0);
+        xml.append("<slot xmlns='").append(SlotRaw.NAMESPACE).append("'><put url='https://upload.example.org/a1b2c3/file.jpg'>");
+        for (int i = 0; i < headers; i++) {
+            xml.append("<header name='X-Header-").append(i).append("'>").append(text(64, i)).append("</header>");
+        }
+        slotXml = xml.append("</put><get url='https://download.example.org/a1b2c3/file.jpg'/></slot>").toString();
+
+        xml.setLength(0);
+        xml.append("<retry xmlns='").append(RetryError.NAMESPACE).append("'");
+        for (int i = 0; worstCase && i < WORST_CASE_CHILDREN; i++) {
+            xml.append(" unknown-").append(i).append("='").append(text(16, i)).append("'");
+        }
+        retryErrorXml = xml.append(" stamp='2026-10-19T12:00:00Z'/>").toString();
+
+        final int channels = worstCase ? WORST_CASE_CHILDREN : 10;
+        xml.setLength(0);
+        xml.append("<result xmlns='").append(ExtendedChannelResult.NAMESPACE).append("'>");
+        for (int i = 0; i < channels; i++) {
+            xml.append("<item address='room").append(i).append("@conference.example.org'><name>Room ").append(i).append("</name><description>").append(text(worstCase ? 1024 : 80, i)).append("</description><language>en</language><nusers>").append(i).append("</nusers><service-type>xep0045</service-type><is-open/><anonymity-mode>semi</anonymity-mode></item>");
+        }
+        extendedChannelResultXml = xml.append("</result>").toString();
+
+        final int values = worstCase ? WORST_CASE_CHILDREN : 1;
+        xml.setLength(0);
+        xml.append("<search xmlns='").append(ExtendedChannelSearchForm.NAMESPACE).append("'><x xmlns='jabber:x:data' type='form'>");
+        xml.append("<field var='FORM_TYPE' type='hidden'><value>urn:xmpp:channel-search:0:search-params</value></field>");
+        xml.append("<field var='q' type='text-single' label='Search for'/>");
+        xml.append("<field var='sinname' type='boolean' label='Search in name'><value>true</value></field>");
+        xml.append("<field var='key' type='list-single' label='Sort by'>");
+        for (int i = 0; i < values; i++) {
+            xml.append("<option label='Option ").append(i).append("'><value>{urn:xmpp:channel-search:0:order}key-").append(i).append("</value></option>");
+        }
+        extendedChannelSearchFormXml = xml.append("</field></x></search>").toString();
+
+        versionXml = "<query xmlns='" + Version.NAMESPACE + "'><name>Example Server</name><version>1.2.3</version><os>" + text(worstCase ? WORST_CASE_TEXT_LENGTH : 32, 0) + "</os></query>";
+        occupantIdXml = "<occupant-id xmlns='" + OccupantId.NAMESPACE + "' id='" + text(worstCase ? 4096 : 44, 0) + "'/>";
+        markerXml = "<marker xmlns='" + MarkerExtension.NAMESPACE + "'>" + text(worstCase ? WORST_CASE_TEXT_LENGTH : 16, 0) + "</marker>";
+    }
+
+    /**
+     * Returns text of (approximately) the requested length, that contains escaped characters.
+     */
+    private static String text(final int length, final int seed)
+    {
+        final StringBuilder result = new StringBuilder(length + 16);
+        while (result.length() < length) {
+            result.append("value ").append(seed).append(" &amp; &lt;more&gt; ");
+        }
+        return result.toString();
+    }
+
+    private XmlPullParser parserFor(final String xml) throws Exception
+    {
+        final XmlPullParser result = parserFactory.newXmlPullParser(new StringReader(xml));
+        ParserUtils.forwardToStartElement(result);
+        return result;
+    }
+
+    @Benchmark
+    public DiscoverExternalServices discoverExternalServices() throws Exception
+    {
+        return discoverExternalServicesProvider.parse(parserFor(discoverExternalServicesXml), iqData);
+    }
+
+    @Benchmark
+    public ServiceCredentials serviceCredentials() throws Exception
+    {
+        return serviceCredentialsProvider.parse(parserFor(serviceCredentialsXml), iqData);
+    }
+
+    @Benchmark
+    public SlotRaw slotRaw() throws Exception
+    {
+        return slotRawProvider.parse(parserFor(slotXml), iqData);
+    }
+
+    @Benchmark
+    public RetryError retryError() throws Exception
+    {
+        return retryErrorProvider.parse(parserFor(retryErrorXml));
+    }
+
+    @Benchmark
+    public ExtendedChannelResult extendedChannelResult() throws Exception
+    {
+        return extendedChannelResultProvider.parse(parserFor(extendedChannelResultXml), iqData);
+    }
+
+    @Benchmark
+    public ExtendedChannelSearchForm extendedChannelSearchForm() throws Exception
+    {
+        return extendedChannelSearchFormProvider.parse(parserFor(extendedChannelSearchFormXml), iqData);
+    }
+
+    @Benchmark
+    public Version version() throws Exception
+    {
+        return versionProvider.parse(parserFor(versionXml), iqData);
+    }
+
+    @Benchmark
+    public OccupantId occupantId() throws Exception
+    {
+        return occupantIdProvider.parse(parserFor(occupantIdXml));
+    }
+
+    @Benchmark
+    public MarkerExtension marker() throws Exception
+    {
+        return markerExtensionProvider.parse(parserFor(markerXml));
+    }
+}
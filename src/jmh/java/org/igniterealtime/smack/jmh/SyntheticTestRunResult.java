@@ -0,0 +1,229 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.jmh;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntTest;
+import org.igniterealtime.smack.inttest.FailedTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.igniterealtime.smack.inttest.SuccessfulTest;
+import org.igniterealtime.smack.inttest.TestNotPossible;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.TestResult;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.util.StdOutTestRunResultProcessor;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Builds test run results of arbitrary size, for the test methods of the integration tests that are packaged with
+ * this project.
+ *
+ * The test framework does not offer a public API to construct these results (it only creates them while executing
+ * tests), which is why this implementation uses reflection.
+ */
+class SyntheticTestRunResult
+{
+    /**
+     * Creates a test run result that holds the provided amount of test results, of which the provided fractions have
+     * failed (with an exception that has a deep stack trace) or were not possible. Additionally, a small amount of test
+     * classes are marked as being impossible to run as a whole.
+     */
+    static SmackIntegrationTestFramework.TestRunResult create(final int size, final double failedFraction, final double notPossibleFraction) throws Exception
+    {
+        final List<Method> testMethods = findTestMethods();
+        if (testMethods.isEmpty()) {
+            throw new IllegalStateException("Unable to find any integration test methods.");
+        }
+
+        final Random random = new Random(size);
+        final ZonedDateTime start = ZonedDateTime.now();
+        final List<SuccessfulTest> successfulTests = new ArrayList<>();
+        final List<FailedTest> failedTests = new ArrayList<>();
+        final List<TestNotPossible> notPossibleTests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final Method method = testMethods.get(i % testMethods.size());
+            final SmackIntegrationTestFramework.ConcreteTest concreteTest = newConcreteTest(method, i);
+            final ZonedDateTime startTime = start.plusNanos(i * 1_000_000L);
+            final ZonedDateTime endTime = startTime.plusNanos(random.nextInt(5_000_000));
+            final double outcome = random.nextDouble();
+            if (outcome < failedFraction) {
+                final AssertionError failure = withStackTrace(new AssertionError("Expected the server to respond with a result (but it did not) in test " + i + "."), 40 + random.nextInt(40));
+                failedTests.add(newTestResult(FailedTest.class, concreteTest, startTime, endTime, failure));
+            } else if (outcome < failedFraction + notPossibleFraction) {
+                final TestNotPossibleException reason = new TestNotPossibleException("Server does not support feature 'urn:example:feature:" + (i % 20) + "'");
+                notPossibleTests.add(newTestResult(TestNotPossible.class, concreteTest, startTime, endTime, reason));
+            } else {
+                successfulTests.add(newTestResult(SuccessfulTest.class, concreteTest, startTime, endTime, null));
+            }
+        }
+
+        final Map<Class<? extends AbstractSmackIntTest>, Throwable> impossibleTestClasses = new HashMap<>();
+        for (int i = 0; i < testMethods.size(); i += 50) {
+            impossibleTestClasses.put(testMethods.get(i).getDeclaringClass().asSubclass(AbstractSmackIntTest.class), new TestNotPossibleException("Server does not support the specification."));
+        }
+
+        final Constructor<SmackIntegrationTestFramework.TestRunResult> constructor = SmackIntegrationTestFramework.TestRunResult.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        final SmackIntegrationTestFramework.TestRunResult result = constructor.newInstance();
+        for (final Field field : SmackIntegrationTestFramework.TestRunResult.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            if (field.getType() == int.class) {
+                field.setInt(result, size);
+            } else if (List.class.isAssignableFrom(field.getType())) {
+                final Type elementType = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+                @SuppressWarnings("unchecked")
+                final Collection<Object> list = (Collection<Object>) field.get(result);
+                if (elementType == SuccessfulTest.class) {
+                    list.addAll(successfulTests);
+                } else if (elementType == FailedTest.class) {
+                    list.addAll(failedTests);
+                } else if (elementType == TestNotPossible.class) {
+                    list.addAll(notPossibleTests);
+                }
+            } else if (Map.class.isAssignableFrom(field.getType())) {
+                @SuppressWarnings("unchecked")
+                final Map<Object, Object> map = (Map<Object, Object>) field.get(result);
+                map.putAll(impossibleTestClasses);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds all methods annotated with {@link SmackIntegrationTest} in the integration test classes that are packaged
+     * with this project (which, in the benchmarks jar, includes those of Smack), in a stable order.
+     */
+    static List<Method> findTestMethods() throws Exception
+    {
+        final URI location = StdOutTestRunResultProcessor.class.getProtectionDomain().getCodeSource().getLocation().toURI();
+        final List<String> classNames = new ArrayList<>();
+        final Path path = Paths.get(location);
+        if (Files.isDirectory(path)) {
+            try (final Stream<Path> files = Files.walk(path)) {
+                files.map(file -> path.relativize(file).toString().replace(File.separatorChar, '/')).forEach(classNames::add);
+            }
+        } else {
+            try (final JarFile jarFile = new JarFile(path.toFile())) {
+                jarFile.stream().map(JarEntry::getName).forEach(classNames::add);
+            }
+        }
+
+        final List<Method> result = new ArrayList<>();
+        for (final String className : classNames) {
+            if (!className.endsWith("IntegrationTest.class")) {
+                continue;
+            }
+            final Class<?> clazz;
+            try {
+                clazz = Class.forName(className.substring(0, className.length() - ".class".length()).replace('/', '.'), false, SyntheticTestRunResult.class.getClassLoader());
+            } catch (LinkageError e) {
+                continue;
+            }
+            if (!AbstractSmackIntTest.class.isAssignableFrom(clazz)) {
+                continue;
+            }
+            for (final Method method : clazz.getMethods()) {
+                if (method.isAnnotationPresent(SmackIntegrationTest.class)) {
+                    result.add(method);
+                }
+            }
+        }
+        result.sort(Comparator.comparing((Method method) -> method.getDeclaringClass().getName()).thenComparing(Method::getName));
+        return result;
+    }
+
+    private static SmackIntegrationTestFramework.ConcreteTest newConcreteTest(final Method method, final int index) throws Exception
+    {
+        final Constructor<?> constructor = SmackIntegrationTestFramework.ConcreteTest.class.getDeclaredConstructors()[0];
+        constructor.setAccessible(true);
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        final Object[] arguments = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i] == Method.class) {
+                arguments[i] = method;
+            } else if (parameterTypes[i].isEnum()) {
+                arguments[i] = parameterTypes[i].getEnumConstants()[0];
+            } else if (parameterTypes[i] == String[].class) {
+                arguments[i] = index % 3 == 0 ? new String[] { "variant " + index } : new String[0];
+            }
+        }
+        return (SmackIntegrationTestFramework.ConcreteTest) constructor.newInstance(arguments);
+    }
+
+    private static <T extends TestResult> T newTestResult(final Class<T> type, final SmackIntegrationTestFramework.ConcreteTest concreteTest, final ZonedDateTime startTime, final ZonedDateTime endTime, final Throwable reason) throws Exception
+    {
+        final Constructor<?> constructor = type.getDeclaredConstructors()[0];
+        constructor.setAccessible(true);
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        final Object[] arguments = new Object[parameterTypes.length];
+        boolean startTimeAssigned = false;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i] == SmackIntegrationTestFramework.ConcreteTest.class) {
+                arguments[i] = concreteTest;
+            } else if (parameterTypes[i] == ZonedDateTime.class) {
+                arguments[i] = startTimeAssigned ? endTime : startTime;
+                startTimeAssigned = true;
+            } else if (parameterTypes[i] == long.class) {
+                arguments[i] = startTimeAssigned ? endTime.toInstant().toEpochMilli() : startTime.toInstant().toEpochMilli();
+                startTimeAssigned = true;
+            } else if (parameterTypes[i] == List.class) {
+                arguments[i] = Collections.emptyList();
+            } else if (Throwable.class.isAssignableFrom(parameterTypes[i])) {
+                arguments[i] = reason;
+            }
+        }
+        return type.cast(constructor.newInstance(arguments));
+    }
+
+    /**
+     * Replaces the stack trace of the throwable by one of the provided depth, as is typical for failures that occur
+     * deep in Smack's stack.
+     */
+    private static <T extends Throwable> T withStackTrace(final T throwable, final int depth)
+    {
+        final StackTraceElement[] stackTrace = new StackTraceElement[depth];
+        for (int i = 0; i < depth; i++) {
+            stackTrace[i] = new StackTraceElement("org.jivesoftware.smack.Frame" + (i % 10), "method" + i, "Frame" + (i % 10) + ".java", i + 1);
+        }
+        throwable.setStackTrace(stackTrace);
+        return throwable;
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.jmh;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.igniterealtime.smack.inttest.util.JUnitXmlTestRunResultProcessor;
+import org.igniterealtime.smack.inttest.util.StdOutTestRunResultProcessor;
+import org.igniterealtime.smack.inttest.util.TestRunResultIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the time that it takes for the processors of test run results to process the results of very large test
+ * runs (such as soak tests, or a matrix of configurations), and the peak heap usage while doing so.
+ *
+ * The test run results are synthetic, but use the test methods (and therefore the annotations) of the integration
+ * tests in this project. 10% of the tests failed (with a deep stack trace) and another 10% were not possible.
+ *
+ * The processors share a {@link TestRunResultIndex} that is built once per test run. The time to build that index is
+ * measured separately (as processor <tt>index</tt>), which allows the cost of a test run with any amount of processors
+ * to be derived.
+ *
+ * Run with <tt>-prof gc</tt> to include the amount of memory that is allocated per operation. The peak heap usage is
+ * printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class TestRunResultProcessorBenchmark
+{
+    /**
+     * The amount of test results in the test run.
+     */
+    @Param({"10000", "100000"})
+    public int results;
+
+    /**
+     * The processor: <tt>stdout</tt> ({@link StdOutTestRunResultProcessor}), <tt>junit-xml</tt>
+     * ({@link JUnitXmlTestRunResultProcessor}) or <tt>index</tt> (building the {@link TestRunResultIndex} that is shared
+     * by all processors).
+     */
+    @Param({"index", "stdout", "junit-xml"})
+    public String processor;
+
+    private SmackIntegrationTestFramework.TestRunResult testRunResult;
+    private SmackIntegrationTestFramework.TestRunResultProcessor testRunResultProcessor;
+    private TestRunResultIndex index;
+    private Path logDir;
+    private PrintStream originalOut;
+    private long peakHeapUsage;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        testRunResult = SyntheticTestRunResult.create(results, 0.1, 0.1);
+
+        // Both processors use this directory: the XML file is written to it, and the console output refers to log files in it.
+        logDir = Files.createTempDirectory("sinttest-jmh");
+        System.setProperty("logDir", logDir.toString());
+
+        // Discard the (large) console output of the processors.
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        switch (processor) {
+            case "stdout":
+                testRunResultProcessor = new StdOutTestRunResultProcessor();
+                break;
+            case "junit-xml":
+                testRunResultProcessor = new JUnitXmlTestRunResultProcessor();
+                break;
+            case "index":
+                testRunResultProcessor = result -> index = new TestRunResultIndex(result);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown processor: " + processor);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeapUsage()
+    {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @TearDown(Level.Iteration)
+    public void recordPeakHeapUsage()
+    {
+        long usage = 0;
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                usage += pool.getPeakUsage().getUsed();
+            }
+        }
+        peakHeapUsage = Math.max(peakHeapUsage, usage);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception
+    {
+        System.setOut(originalOut);
+        System.out.println();
+        System.out.println("Peak heap usage while processing " + results + " results with '" + processor + "': " + peakHeapUsage / (1024 * 1024) + " MB (including the test run result itself).");
+
+        try (final Stream<Path> files = Files.walk(logDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void process()
+    {
+        testRunResultProcessor.process(testRunResult);
+    }
+}
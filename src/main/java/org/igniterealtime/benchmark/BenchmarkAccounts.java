@@ -0,0 +1,220 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark;
+
+import org.igniterealtime.smack.inttest.Configuration;
+import org.igniterealtime.smack.inttest.ConnectionConfigurationBuilderApplier;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.XmppConnectionDescriptor;
+import org.igniterealtime.smack.inttest.util.AccountUtilities;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jxmpp.jid.EntityBareJid;
+import org.jxmpp.jid.impl.JidCreate;
+import org.jxmpp.jid.parts.Localpart;
+import org.jxmpp.jid.parts.Resourcepart;
+import org.jxmpp.stringprep.XmppStringprepException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Manages the accounts (and their connections) that are used by a benchmark that requires more entities than the
+ * three that are provided by the test framework.
+ *
+ * Accounts are created and connected in parallel (the degree of which can be configured with the
+ * <tt>sinttest.benchmark.setup.parallelism</tt> property). Connections are created using the connection descriptor that
+ * is configured for benchmarks (see {@link BenchmarkConnectionDescriptors}), unless another one is provided. When this
+ * instance is closed, all of its connections are disconnected, and all of its accounts are removed.
+ */
+public class BenchmarkAccounts implements AutoCloseable
+{
+    private static final Logger LOGGER = Logger.getLogger(BenchmarkAccounts.class.getName());
+
+    private final SmackIntegrationTestEnvironment environment;
+    private final Configuration sinttestConfiguration;
+    private final int parallelism;
+    private final XmppConnectionDescriptor<?, ?, ?> connectionDescriptor;
+
+    private final Queue<Account> accounts = new ConcurrentLinkedQueue<>();
+    private final Queue<AbstractXMPPConnection> connections = new ConcurrentLinkedQueue<>();
+
+    public BenchmarkAccounts(final SmackIntegrationTestEnvironment environment, final Configuration sinttestConfiguration)
+    {
+        this(environment, sinttestConfiguration, BenchmarkConnectionDescriptors.getConfigured(environment));
+    }
+
+    public BenchmarkAccounts(final SmackIntegrationTestEnvironment environment, final Configuration sinttestConfiguration, final XmppConnectionDescriptor<?, ?, ?> connectionDescriptor)
+    {
+        this.environment = environment;
+        this.sinttestConfiguration = sinttestConfiguration;
+        this.parallelism = BenchmarkConfiguration.getSetupParallelism();
+        this.connectionDescriptor = connectionDescriptor;
+    }
+
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Creates a new account.
+     */
+    public Account create() throws Exception
+    {
+        final String username = "bench-" + StringUtils.insecureRandomString(12).toLowerCase();
+        final String password = StringUtils.insecureRandomString(13);
+        AccountUtilities.createNonConnectedLocalUser(environment, username, password);
+        final Account account = new Account(username, password, JidCreate.entityBareFrom(Localpart.from(username), sinttestConfiguration.service));
+        accounts.add(account);
+        return account;
+    }
+
+    /**
+     * Returns a representation of an account that already exists on the domain (for example, one that was provisioned
+     * before the benchmark was started). Unlike accounts that are created by this instance, it is not removed when
+     * this instance is closed.
+     */
+    public Account existing(final String username, final String password) throws XmppStringprepException
+    {
+        return new Account(username, password, JidCreate.entityBareFrom(Localpart.from(username), sinttestConfiguration.service));
+    }
+
+    /**
+     * Creates a number of new accounts, in parallel.
+     */
+    public List<Account> create(final int count) throws Exception
+    {
+        final List<Callable<Account>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(this::create);
+        }
+        return BenchmarkUtils.inParallel(parallelism, tasks);
+    }
+
+    /**
+     * Creates a new connection that is authenticated as the provided account, using a random resource.
+     */
+    public AbstractXMPPConnection connect(final Account account) throws Exception
+    {
+        return connect(account, Resourcepart.from(StringUtils.insecureRandomString(7)));
+    }
+
+    /**
+     * Creates a new connection that is authenticated as the provided account, using the provided resource.
+     */
+    public AbstractXMPPConnection connect(final Account account, final Resourcepart resource) throws Exception
+    {
+        final AbstractXMPPConnection connection = newConnection();
+        connection.connect();
+        connection.login(account.getUsername(), account.getPassword(), resource);
+        return connection;
+    }
+
+    /**
+     * Creates a new, unconnected connection, to which the provided additional configuration is applied. The connection
+     * is disconnected when this instance is closed.
+     */
+    public AbstractXMPPConnection newConnection(final ConnectionConfigurationBuilderApplier... customConnectionConfigurationAppliers) throws Exception
+    {
+        final AbstractXMPPConnection connection = AccountUtilities.spawnNewConnection(environment, sinttestConfiguration, connectionDescriptor, List.of(customConnectionConfigurationAppliers));
+        connections.add(connection);
+        return connection;
+    }
+
+    /**
+     * Creates a new connection for each of the provided accounts, in parallel, returning them in the order of the
+     * provided accounts.
+     */
+    public List<AbstractXMPPConnection> connect(final List<Account> accounts) throws Exception
+    {
+        final List<Callable<AbstractXMPPConnection>> tasks = new ArrayList<>(accounts.size());
+        for (final Account account : accounts) {
+            tasks.add(() -> connect(account));
+        }
+        return BenchmarkUtils.inParallel(parallelism, tasks);
+    }
+
+    /**
+     * Disconnects all connections and removes all accounts that were created by this instance.
+     */
+    @Override
+    public void close()
+    {
+        AbstractXMPPConnection connection;
+        while ((connection = connections.poll()) != null) {
+            connection.disconnect();
+        }
+
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        Account account;
+        while ((account = accounts.poll()) != null) {
+            final Account toRemove = account;
+            tasks.add(() -> {
+                AccountUtilities.removeNonConnectedLocalUser(environment, toRemove.getUsername(), toRemove.getPassword());
+                return null;
+            });
+        }
+        try {
+            BenchmarkUtils.inParallel(parallelism, tasks);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Unable to remove all accounts that were created for a benchmark.", e);
+        }
+    }
+
+    /**
+     * An account that was created for the purpose of a benchmark.
+     */
+    public static final class Account
+    {
+        private final String username;
+        private final String password;
+        private final EntityBareJid address;
+
+        Account(final String username, final String password, final EntityBareJid address)
+        {
+            this.username = username;
+            this.password = password;
+            this.address = address;
+        }
+
+        public String getUsername()
+        {
+            return username;
+        }
+
+        public String getPassword()
+        {
+            return password;
+        }
+
+        public EntityBareJid getAddress()
+        {
+            return address;
+        }
+
+        @Override
+        public String toString()
+        {
+            return address.toString();
+        }
+    }
+}
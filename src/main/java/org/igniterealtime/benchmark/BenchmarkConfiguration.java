@@ -0,0 +1,134 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark;
+
+import org.igniterealtime.smack.inttest.Configuration;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Provides access to the configuration of benchmarks.
+ *
+ * Benchmark configuration is read from system properties that are prefixed with {@link #PREFIX}, as in
+ * <tt>-Dsinttest.benchmark.roster.sizes=1000,10000</tt>.
+ */
+public final class BenchmarkConfiguration
+{
+    public static final String PREFIX = "sinttest.benchmark.";
+
+    public static final String PACKAGE = BenchmarkConfiguration.class.getPackageName();
+
+    private BenchmarkConfiguration() {}
+
+    /**
+     * Throws an exception unless benchmarks were explicitly selected to run, through the 'testPackages' configuration
+     * of Smack's Integration Test Framework. This prevents benchmarks from becoming part of a regular test run.
+     */
+    public static void ensureBenchmarksAreSelected(final Configuration sinttestConfiguration) throws TestNotPossibleException
+    {
+        if (sinttestConfiguration.testPackages == null || sinttestConfiguration.testPackages.stream().noneMatch(p -> p.startsWith(PACKAGE))) {
+            throw new TestNotPossibleException("Benchmarks are only executed when explicitly selected (for example: by using -Dsinttest.testPackages=" + PACKAGE + ").");
+        }
+    }
+
+    /**
+     * The timeout (in milliseconds) for operations that are expected to take long, like the retrieval of a large roster.
+     * Defaults to a value that is considerably larger than the default reply timeout of the test run.
+     */
+    public static long getTimeout(final long replyTimeout)
+    {
+        return getLong("timeout", Math.max(60_000, replyTimeout));
+    }
+
+    /**
+     * The maximum amount of tasks that are executed concurrently while setting up large test fixtures (such as
+     * creating many accounts, or many nodes).
+     */
+    public static int getSetupParallelism()
+    {
+        return getInteger("setup.parallelism", 16);
+    }
+
+    public static String getString(final String key, final String defaultValue)
+    {
+        final String value = System.getProperty(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    public static boolean getBoolean(final String key, final boolean defaultValue)
+    {
+        final String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    public static int getInteger(final String key, final int defaultValue)
+    {
+        final String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to parse value of property '" + PREFIX + key + "' as a number: " + value, e);
+        }
+    }
+
+    public static long getLong(final String key, final long defaultValue)
+    {
+        final String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to parse value of property '" + PREFIX + key + "' as a number: " + value, e);
+        }
+    }
+
+    /**
+     * Returns a list of numbers that is configured as a comma-separated value, like <tt>10,100,1000</tt>.
+     */
+    public static List<Integer> getIntegers(final String key, final List<Integer> defaultValue)
+    {
+        final String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        final List<Integer> result = new ArrayList<>();
+        for (final String part : value.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            try {
+                result.add(Integer.parseInt(part.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Unable to parse value of property '" + PREFIX + key + "' as a comma-separated list of numbers: " + value, e);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
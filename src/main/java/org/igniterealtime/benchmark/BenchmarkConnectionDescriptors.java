@@ -0,0 +1,101 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.XmppConnectionDescriptor;
+import org.jivesoftware.smack.c2s.ModularXmppClientToServerConnection;
+import org.jivesoftware.smack.c2s.ModularXmppClientToServerConnectionConfiguration;
+import org.jivesoftware.smack.tcp.XmppTcpTransportModuleDescriptor;
+
+/**
+ * Provides the descriptors of the connections that are used by benchmarks for the entities that they create in
+ * addition to the ones that are provided by the test framework.
+ *
+ * Next to the descriptors that are known to the test framework (identified by their nickname), and the test framework's
+ * default descriptor (identified by {@value #DEFAULT}), a descriptor identified by {@value #MODULAR_NIO} is available.
+ * It uses Smack's modular client-to-server connection with only its NIO-based TCP transport module. Unlike
+ * <tt>XMPPTCPConnection</tt>, which uses dedicated reader and writer threads for each connection, these connections
+ * share a small amount of threads, which allows a single test box to maintain a very large amount of (mostly idle)
+ * sessions.
+ *
+ * The descriptor that is used by benchmarks is configured with the <tt>sinttest.benchmark.connectionDescriptor</tt>
+ * property.
+ */
+public class BenchmarkConnectionDescriptors
+{
+    /**
+     * Identifies the default connection descriptor of the test framework.
+     */
+    public static final String DEFAULT = "default";
+
+    /**
+     * Identifies the descriptor that uses Smack's modular connection with its NIO-based TCP transport.
+     */
+    public static final String MODULAR_NIO = "modular-nio";
+
+    private static XmppConnectionDescriptor<ModularXmppClientToServerConnection, ModularXmppClientToServerConnectionConfiguration, ModularXmppClientToServerConnectionConfiguration.Builder> modularNioDescriptor;
+
+    /**
+     * Returns the descriptor that uses Smack's modular connection with (only) its NIO-based TCP transport.
+     */
+    public static synchronized XmppConnectionDescriptor<ModularXmppClientToServerConnection, ModularXmppClientToServerConnectionConfiguration, ModularXmppClientToServerConnectionConfiguration.Builder> getModularNioDescriptor()
+    {
+        if (modularNioDescriptor == null) {
+            try {
+                modularNioDescriptor = XmppConnectionDescriptor.buildWith(ModularXmppClientToServerConnection.class, ModularXmppClientToServerConnectionConfiguration.class, ModularXmppClientToServerConnectionConfiguration.Builder.class)
+                    .withNickname(MODULAR_NIO)
+                    .applyExtraConfguration(builder -> ((ModularXmppClientToServerConnectionConfiguration.Builder) builder).removeAllModules().addModule(XmppTcpTransportModuleDescriptor.class))
+                    .build();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Unable to create a descriptor for modular connections.", e);
+            }
+        }
+        return modularNioDescriptor;
+    }
+
+    /**
+     * Returns the connection descriptor that is identified by the provided nickname.
+     *
+     * @param environment the environment of the test framework.
+     * @param nickname {@value #DEFAULT}, {@value #MODULAR_NIO}, or the nickname of a descriptor that is known to the test framework.
+     * @throws IllegalArgumentException when no descriptor is identified by the nickname.
+     */
+    public static XmppConnectionDescriptor<?, ?, ?> get(final SmackIntegrationTestEnvironment environment, final String nickname)
+    {
+        if (DEFAULT.equals(nickname)) {
+            return environment.connectionManager.getDefaultConnectionDescriptor();
+        }
+        if (MODULAR_NIO.equals(nickname)) {
+            return getModularNioDescriptor();
+        }
+        for (final XmppConnectionDescriptor<?, ?, ?> descriptor : environment.connectionManager.getConnectionDescriptors()) {
+            if (nickname.equals(descriptor.getNickname())) {
+                return descriptor;
+            }
+        }
+        throw new IllegalArgumentException("Unknown connection descriptor: '" + nickname + "'. Use '" + DEFAULT + "', '" + MODULAR_NIO + "' or the nickname of a connection that is enabled in the test framework.");
+    }
+
+    /**
+     * Returns the connection descriptor that is configured to be used by benchmarks (defaults to the default connection
+     * descriptor of the test framework).
+     */
+    public static XmppConnectionDescriptor<?, ?, ?> getConfigured(final SmackIntegrationTestEnvironment environment)
+    {
+        return get(environment, BenchmarkConfiguration.getString("connectionDescriptor", DEFAULT));
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+/**
+ * The outcome of (a part of) a benchmark: an ordered collection of named measurements.
+ *
+ * Reports are published when the benchmark has completed, after which they are logged, and included in the output of
+ * the test run result processors.
+ */
+public class BenchmarkReport
+{
+    private static final Logger LOGGER = Logger.getLogger(BenchmarkReport.class.getName());
+
+    private static final List<BenchmarkReport> PUBLISHED = new CopyOnWriteArrayList<>();
+
+    private final String title;
+    private final Map<String, String> measurements = new LinkedHashMap<>();
+
+    public BenchmarkReport(final String title)
+    {
+        this.title = title;
+    }
+
+    public String getTitle()
+    {
+        return title;
+    }
+
+    public synchronized BenchmarkReport add(final String name, final Object value)
+    {
+        measurements.put(name, String.valueOf(value));
+        return this;
+    }
+
+    public synchronized Map<String, String> getMeasurements()
+    {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(measurements));
+    }
+
+    /**
+     * Logs this report, and makes it available to {@link #getPublished()}.
+     */
+    public void publish()
+    {
+        LOGGER.info(toString());
+        PUBLISHED.add(this);
+    }
+
+    /**
+     * Returns all reports that have been published in this test run, in order of publication.
+     */
+    public static List<BenchmarkReport> getPublished()
+    {
+        return Collections.unmodifiableList(PUBLISHED);
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        final int longestName = measurements.keySet().stream().mapToInt(String::length).max().orElse(0);
+        final StringBuilder sb = new StringBuilder(title).append(System.lineSeparator());
+        for (final Map.Entry<String, String> measurement : measurements.entrySet()) {
+            sb.append("  ").append(String.format("%-" + Math.max(1, longestName) + "s", measurement.getKey())).append(" : ").append(measurement.getValue()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark;
+
+import org.igniterealtime.smack.inttest.util.IntegrationTestRosterUtil;
+import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.packet.PresenceBuilder;
+import org.jivesoftware.smack.roster.AbstractPresenceEventListener;
+import org.jivesoftware.smack.roster.PresenceEventListener;
+import org.jivesoftware.smack.roster.Roster;
+import org.jivesoftware.smack.roster.SubscribeListener;
+import org.jxmpp.jid.BareJid;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Roster-related utility methods for benchmarks that involve many entities.
+ *
+ * Unlike {@link IntegrationTestRosterUtil#ensureSubscribedTo(XMPPConnection, XMPPConnection, long)}, the methods in
+ * this class can be used to establish many subscriptions in parallel, also when an account receives more than one
+ * subscription request at the same time: for each account that receives subscription requests, a single listener is
+ * registered that approves all expected requests.
+ */
+public class BenchmarkRosterUtil
+{
+    /**
+     * Generalizes {@link IntegrationTestRosterUtil#ensureBothAccountsAreSubscribedToEachOther(XMPPConnection, XMPPConnection, long)}
+     * to a mesh of connections: when this method returns, each account is subscribed to the presence of every other
+     * account.
+     *
+     * The subscriptions (two for each pair of accounts) are established in parallel. Every connection in the provided
+     * list is expected to be authenticated as a different account.
+     *
+     * @param connections one connection for each of the accounts that are to be subscribed to each other.
+     * @param timeout the maximum duration (in milliseconds) to wait for a single subscription to be established.
+     * @param parallelism the maximum amount of subscriptions that are being established at the same time.
+     */
+    public static void ensureAllAccountsAreSubscribedToEachOther(final List<? extends XMPPConnection> connections, final long timeout, final int parallelism) throws Exception
+    {
+        final Map<XMPPConnection, List<XMPPConnection>> requestersByReceiver = new LinkedHashMap<>();
+        for (final XMPPConnection presenceReceivingConnection : connections) {
+            final List<XMPPConnection> requesters = new ArrayList<>(connections);
+            requesters.remove(presenceReceivingConnection);
+            requestersByReceiver.put(presenceReceivingConnection, requesters);
+        }
+        ensureSubscribedTo(requestersByReceiver, timeout, parallelism);
+    }
+
+    /**
+     * Generalizes {@link IntegrationTestRosterUtil#ensureSubscribedTo(XMPPConnection, XMPPConnection, long)} to many
+     * accounts that subscribe to the presence of one account: when this method returns, each of the requesting
+     * accounts is subscribed to the presence of the receiving account.
+     *
+     * The subscriptions are established in parallel. Every connection is expected to be authenticated as a different
+     * account.
+     *
+     * @param presenceRequestingConnections one connection for each of the accounts that are to subscribe.
+     * @param presenceReceivingConnection the connection of the account that is subscribed to.
+     * @param timeout the maximum duration (in milliseconds) to wait for a single subscription to be established.
+     * @param parallelism the maximum amount of subscriptions that are being established at the same time.
+     */
+    public static void ensureAllAreSubscribedTo(final List<? extends XMPPConnection> presenceRequestingConnections, final XMPPConnection presenceReceivingConnection, final long timeout, final int parallelism) throws Exception
+    {
+        ensureSubscribedTo(Map.of(presenceReceivingConnection, presenceRequestingConnections), timeout, parallelism);
+    }
+
+    private static void ensureSubscribedTo(final Map<? extends XMPPConnection, ? extends Collection<? extends XMPPConnection>> requestersByReceiver, final long timeout, final int parallelism) throws Exception
+    {
+        final Map<Roster, SubscribeListener> subscribeListeners = new HashMap<>();
+        final Map<Roster, PresenceEventListener> presenceEventListeners = new HashMap<>();
+        try {
+            // Determine which subscriptions are missing, creating a sync point for each of them.
+            final Map<XMPPConnection, Map<BareJid, SimpleResultSyncPoint>> pendingByRequester = new HashMap<>();
+            for (final Map.Entry<? extends XMPPConnection, ? extends Collection<? extends XMPPConnection>> entry : requestersByReceiver.entrySet()) {
+                final BareJid receiverAddress = entry.getKey().getUser().asBareJid();
+                for (final XMPPConnection requester : entry.getValue()) {
+                    if (!Roster.getInstanceFor(requester).iAmSubscribedTo(receiverAddress)) {
+                        pendingByRequester.computeIfAbsent(requester, r -> new HashMap<>()).put(receiverAddress, new SimpleResultSyncPoint());
+                    }
+                }
+            }
+
+            // Have each receiving account approve all of the subscription requests that are expected to be sent to it.
+            for (final Map.Entry<? extends XMPPConnection, ? extends Collection<? extends XMPPConnection>> entry : requestersByReceiver.entrySet()) {
+                final Set<BareJid> expectedRequesters = new HashSet<>();
+                entry.getValue().forEach(requester -> expectedRequesters.add(requester.getUser().asBareJid()));
+                final SubscribeListener subscribeListener = (from, subscribeRequest) -> expectedRequesters.contains(from.asBareJid()) ? SubscribeListener.SubscribeAnswer.Approve : null;
+                final Roster roster = Roster.getInstanceFor(entry.getKey());
+                roster.addSubscribeListener(subscribeListener);
+                subscribeListeners.put(roster, subscribeListener);
+            }
+
+            // Have each requesting account detect the approval of each of its subscription requests.
+            final List<Callable<Void>> tasks = new ArrayList<>();
+            for (final Map.Entry<XMPPConnection, Map<BareJid, SimpleResultSyncPoint>> entry : pendingByRequester.entrySet()) {
+                final XMPPConnection requester = entry.getKey();
+                final Map<BareJid, SimpleResultSyncPoint> pending = entry.getValue();
+                final PresenceEventListener presenceEventListener = new AbstractPresenceEventListener() {
+                    @Override
+                    public void presenceSubscribed(final BareJid address, final Presence subscribedPresence) {
+                        final SimpleResultSyncPoint syncPoint = pending.get(address);
+                        if (syncPoint != null) {
+                            syncPoint.signal();
+                        }
+                    }
+                };
+                final Roster roster = Roster.getInstanceFor(requester);
+                roster.addPresenceEventListener(presenceEventListener);
+                presenceEventListeners.put(roster, presenceEventListener);
+
+                for (final Map.Entry<BareJid, SimpleResultSyncPoint> subscription : pending.entrySet()) {
+                    tasks.add(() -> {
+                        requester.sendStanza(PresenceBuilder.buildPresence().ofType(Presence.Type.subscribe).to(subscription.getKey()).build());
+                        subscription.getValue().waitForResult(timeout);
+                        return null;
+                    });
+                }
+            }
+
+            BenchmarkUtils.inParallel(parallelism, tasks);
+        } finally {
+            subscribeListeners.forEach(Roster::removeSubscribeListener);
+            presenceEventListeners.forEach(Roster::removePresenceEventListener);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark;
+
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.packet.Element;
+import org.jivesoftware.smackx.ping.packet.Ping;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Various re-usable utility methods for benchmarks.
+ */
+public class BenchmarkUtils
+{
+    /**
+     * Returns the amount of bytes in the UTF-8 encoded XML representation of an element, as serialized by Smack.
+     *
+     * Note that this is an approximation of the amount of bytes that were exchanged 'on the wire', as the serialization
+     * of the remote entity can differ (for example, in its use of namespace declarations or whitespace).
+     */
+    public static int getSize(final Element element)
+    {
+        return element.toXML().toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Performs a round-trip with the domain of the provided connection.
+     *
+     * As a server processes the stanzas that it receives from one client in order, the responses to any stanza that was
+     * sent before this round-trip can be expected to have been received when this method returns. This allows a
+     * benchmark to determine that a server has finished sending stanzas without having to wait for a timeout.
+     */
+    public static void roundTrip(final XMPPConnection connection) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException
+    {
+        try {
+            connection.sendIqRequestAndWaitForResponse(new Ping(connection.getXMPPServiceDomain()));
+        } catch (XMPPException.XMPPErrorException e) {
+            // An error response (for example, when the server does not implement XEP-0199) completes the round-trip just as well.
+        }
+    }
+
+    /**
+     * Formats a rate of events per second, for human consumption.
+     *
+     * @param count the amount of events.
+     * @param nanos the duration in which the events occurred, in nanoseconds.
+     */
+    public static String perSecond(final long count, final long nanos)
+    {
+        if (nanos <= 0) {
+            return "n/a";
+        }
+        return String.format("%.1f/s", count / (nanos / 1_000_000_000.0));
+    }
+
+    /**
+     * Creates an executor that is suitable to run a large amount of concurrent, blocking tasks (such as the login of
+     * thousands of clients). When the JVM supports virtual threads (Java 21 and later), an executor is returned that
+     * runs each task in a new virtual thread. Otherwise, a pool of platform threads of the provided size is returned,
+     * which limits the amount of tasks that are executed at the same time.
+     *
+     * @param maxPlatformThreads the amount of threads to use when virtual threads are not available.
+     */
+    public static ExecutorService newLoadExecutor(final int maxPlatformThreads)
+    {
+        try {
+            final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(1, maxPlatformThreads));
+        }
+    }
+
+    /**
+     * Returns whether the JVM supports virtual threads (which are used by {@link #newLoadExecutor(int)}).
+     */
+    public static boolean isVirtualThreadSupported()
+    {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Executes tasks concurrently, returning their results in the order of the tasks that were provided. This is
+     * intended to speed up the setup of large test fixtures (such as creating many accounts).
+     *
+     * When any of the tasks fails, the exception of the first task that failed (in order of the provided tasks) is
+     * thrown after all tasks have finished.
+     *
+     * @param parallelism the maximum amount of tasks that are executed at the same time.
+     * @param tasks the tasks to execute.
+     * @return the results of each task.
+     */
+    public static <T> List<T> inParallel(final int parallelism, final List<? extends Callable<T>> tasks) throws Exception
+    {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, tasks.size())));
+        try {
+            final List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (final Callable<T> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+
+            final List<T> result = new ArrayList<>(tasks.size());
+            Exception firstFailure = null;
+            for (final Future<T> future : futures) {
+                try {
+                    result.add(future.get());
+                } catch (ExecutionException e) {
+                    if (firstFailure == null) {
+                        firstFailure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                }
+            }
+            if (firstFailure != null) {
+                throw firstFailure;
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
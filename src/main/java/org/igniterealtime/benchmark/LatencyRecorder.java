@@ -0,0 +1,119 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records durations, and calculates statistics (like percentiles) for the recorded values.
+ *
+ * Instances of this class are safe to be used by multiple threads concurrently.
+ */
+public class LatencyRecorder
+{
+    private long[] samples = new long[64];
+    private int count = 0;
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration, in nanoseconds.
+     */
+    public synchronized void record(final long nanos)
+    {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    /**
+     * Records the duration between the provided starting point and now.
+     *
+     * @param startNanos A starting point, as obtained from {@link System#nanoTime()}.
+     * @return the recorded duration, in nanoseconds.
+     */
+    public long recordSince(final long startNanos)
+    {
+        final long duration = System.nanoTime() - startNanos;
+        record(duration);
+        return duration;
+    }
+
+    public synchronized int getCount()
+    {
+        return count;
+    }
+
+    public synchronized long getMin()
+    {
+        return count == 0 ? 0 : Arrays.stream(samples, 0, count).min().getAsLong();
+    }
+
+    public synchronized long getMax()
+    {
+        return count == 0 ? 0 : Arrays.stream(samples, 0, count).max().getAsLong();
+    }
+
+    public synchronized double getMean()
+    {
+        return count == 0 ? 0 : Arrays.stream(samples, 0, count).average().getAsDouble();
+    }
+
+    /**
+     * Returns the value (in nanoseconds) below which the provided percentage of recorded values fall, using the
+     * nearest-rank method.
+     *
+     * @param percentile A value between 0 (exclusive) and 100 (inclusive).
+     */
+    public synchronized long getPercentile(final double percentile)
+    {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be larger than 0 and at most 100, but was: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Formats a duration (in nanoseconds) as milliseconds, for human consumption.
+     */
+    public static String toMillis(final long nanos)
+    {
+        return String.format("%.2f ms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        if (count == 0) {
+            return "n=0";
+        }
+        return "n=" + count
+            + ", min=" + toMillis(getMin())
+            + ", mean=" + toMillis((long) getMean())
+            + ", p50=" + toMillis(getPercentile(50))
+            + ", p90=" + toMillis(getPercentile(90))
+            + ", p99=" + toMillis(getPercentile(99))
+            + ", max=" + toMillis(getMax());
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Benchmarks and load scenarios that measure (rather than verify) server behavior, built on top of the fixtures of the
+ * integration tests in this project.
+ *
+ * The classes in this package (and its sub-packages) are not executed as part of a regular test run: this package is
+ * deliberately kept outside of the packages that Smack's Integration Test Framework scans for tests by default, so that
+ * benchmarks are neither executed nor reported (as impossible tests) unless they are selected. To execute them,
+ * explicitly select them through Smack's Integration Test Framework configuration, for example by using
+ * <tt>-Dsinttest.testPackages=org.igniterealtime.benchmark</tt>. Benchmarks can be configured through system
+ * properties that are prefixed with <tt>sinttest.benchmark.</tt>, as documented in each benchmark.
+ */
+package org.igniterealtime.benchmark;
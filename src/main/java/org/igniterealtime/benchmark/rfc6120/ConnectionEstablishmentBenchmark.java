@@ -0,0 +1,259 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.rfc6120;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.SASLAuthentication;
+import org.jivesoftware.smack.filter.AndFilter;
+import org.jivesoftware.smack.filter.FromMatchesFilter;
+import org.jivesoftware.smack.filter.IQTypeFilter;
+import org.jivesoftware.smack.filter.StanzaTypeFilter;
+import org.jivesoftware.smack.packet.Bind;
+import org.jivesoftware.smack.packet.Mechanisms;
+import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.roster.Roster;
+import org.jivesoftware.smack.roster.RosterLoadedListener;
+import org.jivesoftware.smack.roster.packet.RosterPacket;
+import org.jxmpp.jid.EntityFullJid;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Measures the duration of each stage of the establishment of a client session, as defined in RFC 6120 (and, for the
+ * roster and initial presence, RFC 6121), at increasing levels of concurrency.
+ *
+ * For each concurrency level, that amount of clients starts to establish a session at the same time. Every client
+ * first uses a plain socket to time the TCP connect, the exchange of stream headers, STARTTLS and the TLS handshake
+ * (see {@link StreamNegotiationProbe}, as Smack does not expose the moments at which these stages complete). The
+ * client then uses Smack to establish a session, timing the SASL authentication (including the stream restart that
+ * follows it, up to the moment that the resource binding request is sent), resource binding, the remainder of the login
+ * (session establishment, stream management), the retrieval of the roster (from the moment that it is requested) and
+ * the reflection of the initial presence by the server. The amount of complete session establishments per second is reported as well.
+ *
+ * This is repeated for each SASL mechanism that is offered by the server (and supported by Smack). The EXTERNAL and
+ * ANONYMOUS mechanisms are excluded by default, as they do not authenticate with the credentials of an account.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.connection.concurrency</tt> - comma-separated amounts of clients that concurrently establish a session (default: 1,10,100,300)</li>
+ * <li><tt>sinttest.benchmark.connection.mechanisms</tt> - comma-separated names of the SASL mechanisms to use (default: all that are offered by the server and supported by Smack)</li>
+ * <li><tt>sinttest.benchmark.connection.starttls</tt> - whether to negotiate STARTTLS in the probe, when offered by the server (default: true)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "RFC6120")
+public class ConnectionEstablishmentBenchmark extends AbstractSmackIntegrationTest
+{
+    private static final String[] PHASES = { "TCP connect", "Stream header", "STARTTLS", "TLS handshake", "Stream restart", "Connect (Smack)", "SASL and stream restart", "Resource binding", "Remainder of login", "Roster", "Initial presence" };
+
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final List<Integer> concurrencyLevels;
+    private final String configuredMechanisms;
+    private final boolean negotiateTls;
+    private final long benchmarkTimeout;
+
+    public ConnectionEstablishmentBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        concurrencyLevels = BenchmarkConfiguration.getIntegers("connection.concurrency", List.of(1, 10, 100, 300));
+        configuredMechanisms = BenchmarkConfiguration.getString("connection.mechanisms", null);
+        negotiateTls = BenchmarkConfiguration.getBoolean("connection.starttls", true);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+    }
+
+    @SmackIntegrationTest(section = "9.1")
+    public void benchmarkConnectionEstablishment() throws Exception
+    {
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration)) {
+            // Setup test fixture.
+            final int maxConcurrency = concurrencyLevels.stream().mapToInt(Integer::intValue).max().orElse(1);
+            final List<BenchmarkAccounts.Account> pool = accounts.create(maxConcurrency);
+
+            // Determine where to connect to, and what SASL mechanisms are offered, using Smack's own connection logic.
+            final AbstractXMPPConnection discovery = accounts.newConnection();
+            discovery.connect();
+            final String host = discovery.getHost();
+            final int port = discovery.getPort();
+            final Mechanisms offered = discovery.getFeature(Mechanisms.QNAME);
+            discovery.disconnect();
+
+            final List<String> mechanisms = new ArrayList<>();
+            if (configuredMechanisms != null) {
+                for (final String mechanism : configuredMechanisms.split(",")) {
+                    if (!mechanism.isBlank()) {
+                        mechanisms.add(mechanism.trim());
+                    }
+                }
+            } else if (offered != null) {
+                for (final String mechanism : offered.getMechanisms()) {
+                    if (SASLAuthentication.isSaslMechanismRegistered(mechanism) && !SASLAuthentication.getBlacklistedSASLMechanisms().contains(mechanism) && !"EXTERNAL".equals(mechanism) && !"ANONYMOUS".equals(mechanism)) {
+                        mechanisms.add(mechanism);
+                    }
+                }
+            }
+
+            if (mechanisms.isEmpty()) {
+                throw new TestNotPossibleException("The server does not offer any SASL mechanism that can be benchmarked.");
+            }
+
+            for (final String mechanism : mechanisms) {
+                final BenchmarkReport report = new BenchmarkReport("Connection establishment per phase (SASL mechanism " + mechanism + ", " + host + ":" + port + ")");
+                for (final int concurrency : concurrencyLevels) {
+                    // Execute system under test.
+                    final Map<String, LatencyRecorder> phases = new LinkedHashMap<>();
+                    for (final String phase : PHASES) {
+                        phases.put(phase, new LatencyRecorder());
+                    }
+                    final AtomicLong failures = new AtomicLong();
+                    final AtomicLong lastCompletion = new AtomicLong();
+                    final CyclicBarrier startGate = new CyclicBarrier(concurrency);
+                    final long[] start = new long[1];
+                    final List<Callable<Void>> tasks = new ArrayList<>(concurrency);
+                    for (int i = 0; i < concurrency; i++) {
+                        final BenchmarkAccounts.Account account = pool.get(i);
+                        final AbstractXMPPConnection connection = accounts.newConnection(builder -> builder.addEnabledSaslMechanism(mechanism).setSendPresence(false));
+                        tasks.add(() -> {
+                            if (startGate.await(benchmarkTimeout, TimeUnit.MILLISECONDS) == 0) {
+                                start[0] = System.nanoTime();
+                            }
+                            try {
+                                establish(connection, account, host, port, phases);
+                                lastCompletion.accumulateAndGet(System.nanoTime(), Math::max);
+                            } catch (Exception e) {
+                                if (failures.incrementAndGet() == 1) {
+                                    LOGGER.log(Level.WARNING, "Unable to establish a session for '" + account + "' using SASL mechanism " + mechanism + ".", e);
+                                }
+                            } finally {
+                                connection.disconnect();
+                            }
+                            return null;
+                        });
+                    }
+                    BenchmarkUtils.inParallel(concurrency, tasks);
+
+                    final long successes = concurrency - failures.get();
+                    final String prefix = "Concurrency " + concurrency + ": ";
+                    for (final Map.Entry<String, LatencyRecorder> phase : phases.entrySet()) {
+                        if (phase.getValue().getCount() > 0) {
+                            report.add(prefix + phase.getKey(), phase.getValue());
+                        }
+                    }
+                    report.add(prefix + "Sessions established", successes + " of " + concurrency + " (" + BenchmarkUtils.perSecond(successes, lastCompletion.get() - start[0]) + ")");
+                }
+                report.publish();
+            }
+        }
+    }
+
+    /**
+     * Establishes a session, recording the duration of each of the phases.
+     */
+    private void establish(final AbstractXMPPConnection connection, final BenchmarkAccounts.Account account, final String host, final int port, final Map<String, LatencyRecorder> phases) throws Exception
+    {
+        final StreamNegotiationProbe probe = new StreamNegotiationProbe(host, port, sinttestConfiguration.service.toString(), (int) timeout);
+        try {
+            probe.run(negotiateTls);
+        } finally {
+            record(phases.get("TCP connect"), probe.tcpConnect);
+            record(phases.get("Stream header"), probe.streamHeader);
+            record(phases.get("STARTTLS"), probe.startTls);
+            record(phases.get("TLS handshake"), probe.tlsHandshake);
+            record(phases.get("Stream restart"), probe.streamRestart);
+        }
+
+        final AtomicLong bindSent = new AtomicLong();
+        final AtomicLong bindReceived = new AtomicLong();
+        final AtomicLong rosterRequested = new AtomicLong();
+        final AtomicLong rosterLoaded = new AtomicLong();
+        final CountDownLatch rosterLatch = new CountDownLatch(1);
+        final CountDownLatch presenceLatch = new CountDownLatch(1);
+        connection.addStanzaSendingListener(stanza -> bindSent.set(System.nanoTime()), stanza -> stanza instanceof Bind);
+        connection.addStanzaListener(stanza -> bindReceived.set(System.nanoTime()), new AndFilter(IQTypeFilter.RESULT, stanza -> stanza instanceof Bind));
+        // The roster is requested as soon as the connection is authenticated, which can be before login() returns.
+        connection.addStanzaSendingListener(stanza -> rosterRequested.compareAndSet(0, System.nanoTime()), new AndFilter(IQTypeFilter.GET, stanza -> stanza instanceof RosterPacket));
+        Roster.getInstanceFor(connection).addRosterLoadedListener(new RosterLoadedListener() {
+            @Override
+            public void onRosterLoaded(final Roster roster) {
+                rosterLoaded.set(System.nanoTime());
+                rosterLatch.countDown();
+            }
+
+            @Override
+            public void onRosterLoadingFailed(final Exception exception) {
+                rosterLatch.countDown();
+            }
+        });
+
+        long start = System.nanoTime();
+        connection.connect();
+        phases.get("Connect (Smack)").recordSince(start);
+
+        start = System.nanoTime();
+        connection.login(account.getUsername(), account.getPassword());
+        final long loggedIn = System.nanoTime();
+        if (bindSent.get() != 0 && bindReceived.get() != 0) {
+            phases.get("SASL and stream restart").record(bindSent.get() - start);
+            phases.get("Resource binding").record(bindReceived.get() - bindSent.get());
+            phases.get("Remainder of login").record(loggedIn - bindReceived.get());
+        }
+
+        if (!rosterLatch.await(timeout, TimeUnit.MILLISECONDS) || rosterLoaded.get() == 0) {
+            throw new IllegalStateException("Roster of '" + connection.getUser() + "' was not loaded within " + timeout + "ms.");
+        }
+        if (rosterRequested.get() != 0) {
+            phases.get("Roster").record(rosterLoaded.get() - rosterRequested.get());
+        }
+
+        // The server is expected to reflect the initial presence back to the resource that sent it (RFC 6121, section 4.2.2).
+        final EntityFullJid address = connection.getUser();
+        connection.addStanzaListener(stanza -> presenceLatch.countDown(), new AndFilter(StanzaTypeFilter.PRESENCE, FromMatchesFilter.createFull(address)));
+        start = System.nanoTime();
+        connection.sendStanza(connection.getStanzaFactory().buildPresenceStanza().ofType(Presence.Type.available).build());
+        if (!presenceLatch.await(timeout, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Initial presence of '" + address + "' was not reflected by the server within " + timeout + "ms.");
+        }
+        phases.get("Initial presence").recordSince(start);
+    }
+
+    private static void record(final LatencyRecorder recorder, final long nanos)
+    {
+        if (nanos >= 0) {
+            recorder.record(nanos);
+        }
+    }
+}
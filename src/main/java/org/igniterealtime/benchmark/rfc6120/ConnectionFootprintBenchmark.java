@@ -0,0 +1,121 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.rfc6120;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkConnectionDescriptors;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jxmpp.jid.parts.Resourcepart;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Measures the resources that this test framework needs to maintain a large amount of idle sessions, for each of a
+ * number of connection descriptors (typically, Smack's thread-based <tt>XMPPTCPConnection</tt> and its modular,
+ * NIO-based connection). The results show how many concurrent sessions a single test box can generate.
+ *
+ * For each descriptor, the configured amount of sessions is established, distributed over a small pool of accounts
+ * (each account having many resources). After all sessions have been established, the increase in heap usage (after
+ * garbage collection) and in the amount of live threads is reported, both in total and per connection.
+ *
+ * Note that servers can limit the amount of resources per account, or the amount of sessions per IP address.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.footprint.connections</tt> - the amount of sessions to establish for each descriptor (default: 1000)</li>
+ * <li><tt>sinttest.benchmark.footprint.accounts</tt> - the amount of accounts over which the sessions are distributed (default: 10)</li>
+ * <li><tt>sinttest.benchmark.footprint.descriptors</tt> - comma-separated connection descriptors to compare (default: default,modular-nio)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "RFC6120")
+public class ConnectionFootprintBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final int connectionCount;
+    private final int accountCount;
+    private final List<String> descriptors;
+
+    public ConnectionFootprintBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        connectionCount = BenchmarkConfiguration.getInteger("footprint.connections", 1_000);
+        accountCount = Math.max(1, BenchmarkConfiguration.getInteger("footprint.accounts", 10));
+        descriptors = Arrays.asList(BenchmarkConfiguration.getString("footprint.descriptors", BenchmarkConnectionDescriptors.DEFAULT + "," + BenchmarkConnectionDescriptors.MODULAR_NIO).split("\\s*,\\s*"));
+    }
+
+    @SmackIntegrationTest(section = "4")
+    public void benchmarkConnectionFootprint() throws Exception
+    {
+        final BenchmarkReport report = new BenchmarkReport("Client-side footprint of " + connectionCount + " idle sessions");
+        for (final String descriptor : descriptors) {
+            try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration, BenchmarkConnectionDescriptors.get(environment, descriptor))) {
+                // Setup test fixture.
+                final List<BenchmarkAccounts.Account> pool = accounts.create(accountCount);
+                final long heapBefore = getUsedHeap();
+                final int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+                // Execute system under test.
+                final List<Callable<AbstractXMPPConnection>> tasks = new ArrayList<>(connectionCount);
+                for (int i = 0; i < connectionCount; i++) {
+                    final BenchmarkAccounts.Account account = pool.get(i % accountCount);
+                    final Resourcepart resource = Resourcepart.from("footprint-" + i);
+                    tasks.add(() -> accounts.connect(account, resource));
+                }
+                final long start = System.nanoTime();
+                BenchmarkUtils.inParallel(accounts.getParallelism(), tasks);
+                final long setupDuration = System.nanoTime() - start;
+
+                final long heapDelta = getUsedHeap() - heapBefore;
+                final int threadDelta = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+
+                final String prefix = descriptor + ": ";
+                report.add(prefix + "Sessions established", connectionCount + " in " + LatencyRecorder.toMillis(setupDuration) + " (" + BenchmarkUtils.perSecond(connectionCount, setupDuration) + ")");
+                report.add(prefix + "Heap", String.format("%.1f MiB (%.1f KiB per connection)", heapDelta / (1024.0 * 1024.0), heapDelta / 1024.0 / connectionCount));
+                report.add(prefix + "Threads", String.format("%d (%.2f per connection)", threadDelta, (double) threadDelta / connectionCount));
+            }
+        }
+        report.publish();
+    }
+
+    /**
+     * Returns the amount of heap memory that is in use, after (an attempt at) garbage collection.
+     */
+    private static long getUsedHeap() throws InterruptedException
+    {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.rfc6120;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ConnectionListener;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.sasl.SASLErrorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Simulates a 'login storm' (such as the one that occurs when all clients reconnect after a server restart) by having
+ * a large amount of clients log in at the same time, at increasing levels of concurrency.
+ *
+ * The accounts that are used are taken from a pool of accounts that has been provisioned on the server before the
+ * benchmark is started, using the configured username and password patterns. When no pattern is configured, the
+ * accounts are created (and removed) by the benchmark itself, which for large pools adds considerable time to the
+ * setup of the benchmark.
+ *
+ * Each login is executed in a virtual thread when the JVM supports them (Java 21 and later). On older JVMs, a bounded
+ * pool of platform threads is used, which limits the amount of logins that is actually performed at the same time.
+ * Note that Smack itself uses platform threads for each connection, regardless.
+ *
+ * For each level of concurrency, the rate of successful logins, the latency of the logins (connect and authenticate),
+ * and the error conditions that were encountered (including those that caused connections to be closed shortly after
+ * login) are reported.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.storm.concurrency</tt> - comma-separated amounts of clients that log in at the same time (default: 100,500,1000,2000)</li>
+ * <li><tt>sinttest.benchmark.storm.usernamePattern</tt> - a pattern for the usernames of the pre-provisioned accounts, in which <tt>%d</tt> is replaced by the index of the account (default: none, causing accounts to be created)</li>
+ * <li><tt>sinttest.benchmark.storm.passwordPattern</tt> - a pattern for the passwords of the pre-provisioned accounts (default: the username pattern)</li>
+ * <li><tt>sinttest.benchmark.storm.firstIndex</tt> - the index of the first pre-provisioned account (default: 1)</li>
+ * <li><tt>sinttest.benchmark.storm.platformThreads</tt> - the amount of threads that are used when virtual threads are not available (default: 256)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "RFC6120")
+public class LoginStormBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final List<Integer> concurrencyLevels;
+    private final String usernamePattern;
+    private final String passwordPattern;
+    private final int firstIndex;
+    private final int platformThreads;
+    private final long benchmarkTimeout;
+
+    public LoginStormBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        concurrencyLevels = BenchmarkConfiguration.getIntegers("storm.concurrency", List.of(100, 500, 1_000, 2_000));
+        usernamePattern = BenchmarkConfiguration.getString("storm.usernamePattern", null);
+        passwordPattern = BenchmarkConfiguration.getString("storm.passwordPattern", usernamePattern);
+        firstIndex = BenchmarkConfiguration.getInteger("storm.firstIndex", 1);
+        platformThreads = BenchmarkConfiguration.getInteger("storm.platformThreads", 256);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+    }
+
+    @SmackIntegrationTest(section = "6")
+    public void benchmarkLoginStorm() throws Exception
+    {
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration)) {
+            // Setup test fixture.
+            final int poolSize = concurrencyLevels.stream().mapToInt(Integer::intValue).max().orElse(1);
+            final List<BenchmarkAccounts.Account> pool;
+            if (usernamePattern != null) {
+                pool = new ArrayList<>(poolSize);
+                for (int i = firstIndex; i < firstIndex + poolSize; i++) {
+                    pool.add(accounts.existing(String.format(usernamePattern, i), String.format(passwordPattern, i)));
+                }
+            } else {
+                LOGGER.log(Level.INFO, "No pool of pre-provisioned accounts configured. Creating " + poolSize + " accounts.");
+                pool = accounts.create(poolSize);
+            }
+
+            final boolean virtual = BenchmarkUtils.isVirtualThreadSupported();
+            final BenchmarkReport report = new BenchmarkReport("Login storm (" + (virtual ? "virtual threads" : "at most " + platformThreads + " platform threads") + ")");
+            for (final int concurrency : concurrencyLevels) {
+                final List<AbstractXMPPConnection> connections = new ArrayList<>(concurrency);
+                for (int i = 0; i < concurrency; i++) {
+                    connections.add(accounts.newConnection());
+                }
+
+                final LatencyRecorder latency = new LatencyRecorder();
+                final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+                final AtomicLong successes = new AtomicLong();
+                final AtomicLong lastCompletion = new AtomicLong();
+                final ConnectionListener closedOnErrorListener = new ConnectionListener() {
+                    @Override
+                    public void connectionClosedOnError(final Exception e) {
+                        errors.computeIfAbsent("closed after login: " + getCondition(e), k -> new AtomicLong()).incrementAndGet();
+                    }
+                };
+                final CountDownLatch startGate = new CountDownLatch(1);
+                final ExecutorService executor = BenchmarkUtils.newLoadExecutor(platformThreads);
+                final long start;
+                try {
+                    // Execute system under test.
+                    // The outcome of each login is recorded once: either by the login task, or (when it times out) by this thread.
+                    final List<Future<?>> futures = new ArrayList<>(concurrency);
+                    final List<AtomicBoolean> outcomeRecorded = new ArrayList<>(concurrency);
+                    for (int i = 0; i < concurrency; i++) {
+                        final AbstractXMPPConnection connection = connections.get(i);
+                        final BenchmarkAccounts.Account account = pool.get(i);
+                        final AtomicBoolean recorded = new AtomicBoolean();
+                        outcomeRecorded.add(recorded);
+                        futures.add(executor.submit(() -> {
+                            startGate.await();
+                            final long loginStart = System.nanoTime();
+                            try {
+                                connection.connect().login(account.getUsername(), account.getPassword());
+                                if (recorded.compareAndSet(false, true)) {
+                                    latency.recordSince(loginStart);
+                                    successes.incrementAndGet();
+                                    lastCompletion.accumulateAndGet(System.nanoTime(), Math::max);
+                                    connection.addConnectionListener(closedOnErrorListener);
+                                }
+                            } catch (Exception e) {
+                                if (recorded.compareAndSet(false, true)) {
+                                    errors.computeIfAbsent(getCondition(e), k -> new AtomicLong()).incrementAndGet();
+                                }
+                            }
+                            return null;
+                        }));
+                    }
+                    start = System.nanoTime();
+                    startGate.countDown();
+                    final long deadline = start + TimeUnit.MILLISECONDS.toNanos(benchmarkTimeout);
+                    for (int i = 0; i < futures.size(); i++) {
+                        final Future<?> future = futures.get(i);
+                        try {
+                            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                        } catch (TimeoutException e) {
+                            if (outcomeRecorded.get(i).compareAndSet(false, true)) {
+                                errors.computeIfAbsent("no completion within " + benchmarkTimeout + "ms", k -> new AtomicLong()).incrementAndGet();
+                            }
+                            future.cancel(true);
+                        }
+                    }
+                } finally {
+                    executor.shutdownNow();
+                }
+
+                // Tear down test fixture: disconnect all clients before starting the next storm.
+                final List<Callable<Void>> disconnectTasks = new ArrayList<>(concurrency);
+                for (final AbstractXMPPConnection connection : connections) {
+                    disconnectTasks.add(() -> {
+                        connection.removeConnectionListener(closedOnErrorListener);
+                        connection.disconnect();
+                        return null;
+                    });
+                }
+                BenchmarkUtils.inParallel(accounts.getParallelism(), disconnectTasks);
+
+                final String prefix = "Concurrency " + concurrency + ": ";
+                report.add(prefix + "Success rate", String.format("%.1f%% (%d of %d)", 100.0 * successes.get() / concurrency, successes.get(), concurrency));
+                report.add(prefix + "Logins", BenchmarkUtils.perSecond(successes.get(), lastCompletion.get() - start));
+                report.add(prefix + "Login latency", latency);
+                if (!errors.isEmpty()) {
+                    final Map<String, Long> sorted = new TreeMap<>();
+                    errors.forEach((condition, count) -> sorted.put(condition, count.get()));
+                    report.add(prefix + "Errors", sorted);
+                }
+            }
+            report.publish();
+        }
+    }
+
+    /**
+     * Returns a short description of the error condition that is represented by an exception.
+     */
+    static String getCondition(final Throwable e)
+    {
+        if (e instanceof XMPPException.StreamErrorException) {
+            return "stream error: " + ((XMPPException.StreamErrorException) e).getStreamError().getCondition();
+        }
+        if (e instanceof XMPPException.XMPPErrorException) {
+            return "stanza error: " + ((XMPPException.XMPPErrorException) e).getStanzaError().getCondition();
+        }
+        if (e instanceof SASLErrorException) {
+            return "SASL failure: " + ((SASLErrorException) e).getSASLFailure().getSASLErrorString();
+        }
+        if (e instanceof SmackException.NoResponseException) {
+            return "no response";
+        }
+        if (e instanceof SmackException.SmackWrappedException && e.getCause() != null) {
+            return getCondition(e.getCause());
+        }
+        return e.getClass().getSimpleName();
+    }
+}
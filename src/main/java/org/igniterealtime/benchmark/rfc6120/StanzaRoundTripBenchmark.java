@@ -0,0 +1,121 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.rfc6120;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.StanzaCollector;
+import org.jivesoftware.smack.filter.AndFilter;
+import org.jivesoftware.smack.filter.FromMatchesFilter;
+import org.jivesoftware.smack.filter.StanzaIdFilter;
+import org.jivesoftware.smack.packet.Message;
+import org.jivesoftware.smack.packet.StanzaBuilder;
+import org.jivesoftware.smack.util.StringUtils;
+
+/**
+ * Measures the time it takes to set up a session, and the round-trip time of stanzas, using the connection type that
+ * the test framework is configured to use by default. Running this benchmark once for each transport (for example, by
+ * using the <tt>--transports</tt> option of the container image) allows the transports to be compared.
+ *
+ * The setup time is that of connecting and authenticating a new connection (as described in RFC 6120). Round-trip
+ * times are measured for IQ requests that are answered by the server (using XEP-0199: XMPP Ping), and for messages
+ * that a client sends to its own full JID (as routed by the server).
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.roundtrip.samples</tt> - the amount of round-trips that are measured, for each type of stanza (default: 200)</li>
+ * <li><tt>sinttest.benchmark.roundtrip.setups</tt> - the amount of session setups that are measured (default: 20)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "RFC6120")
+public class StanzaRoundTripBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final int samples;
+    private final int setups;
+
+    public StanzaRoundTripBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        samples = BenchmarkConfiguration.getInteger("roundtrip.samples", 200);
+        setups = BenchmarkConfiguration.getInteger("roundtrip.setups", 20);
+    }
+
+    @SmackIntegrationTest(section = "8")
+    public void benchmarkRoundTrip() throws Exception
+    {
+        // The title is independent of the transport, to allow results of different runs to be compared.
+        final BenchmarkReport report = new BenchmarkReport("Session setup and stanza round-trip time");
+        report.add("Connection type", conOne.getClass().getSimpleName());
+
+        // Execute system under test: session setup.
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration)) {
+            final BenchmarkAccounts.Account account = accounts.create();
+            final LatencyRecorder setup = new LatencyRecorder();
+            for (int i = 0; i < setups; i++) {
+                final AbstractXMPPConnection connection = accounts.newConnection();
+                try {
+                    final long start = System.nanoTime();
+                    connection.connect().login(account.getUsername(), account.getPassword());
+                    setup.recordSince(start);
+                } finally {
+                    connection.disconnect();
+                }
+            }
+            report.add("Session setup (connect and login)", setup);
+        }
+
+        // Execute system under test: IQ round-trip with the server.
+        final LatencyRecorder iq = new LatencyRecorder();
+        for (int i = 0; i < samples; i++) {
+            final long start = System.nanoTime();
+            BenchmarkUtils.roundTrip(conOne);
+            iq.recordSince(start);
+        }
+        report.add("IQ round-trip (ping)", iq);
+
+        // Execute system under test: message round-trip, routed by the server.
+        final LatencyRecorder message = new LatencyRecorder();
+        final String needle = StringUtils.randomString(9) + "-";
+        for (int i = 0; i < samples; i++) {
+            final Message stanza = StanzaBuilder.buildMessage(needle + i).ofType(Message.Type.normal).to(conOne.getUser()).setBody("Round-trip " + i).build();
+            final StanzaCollector collector = conOne.createStanzaCollector(new AndFilter(FromMatchesFilter.createFull(conOne.getUser()), new StanzaIdFilter(stanza.getStanzaId())));
+            try {
+                final long start = System.nanoTime();
+                conOne.sendStanza(stanza);
+                collector.nextResultOrThrow(timeout);
+                message.recordSince(start);
+            } finally {
+                collector.cancel();
+            }
+        }
+        report.add("Message round-trip (to own full JID)", message);
+        report.publish();
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.rfc6120;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.regex.Pattern;
+
+/**
+ * Times the first stages of the negotiation of an XMPP stream (as defined in section 4 "XML Streams" and section 5
+ * "STARTTLS Negotiation" of RFC 6120) separately, by performing them on a plain socket.
+ *
+ * Smack does not expose the moments at which these stages complete. This class implements just enough of the
+ * protocol to measure them: it connects, opens a stream, and (when offered by the server) negotiates STARTTLS and
+ * restarts the stream over TLS. It then closes the connection without authenticating.
+ *
+ * The certificate of the server is not verified: no data other than the stream headers is exchanged over the
+ * connection, and verification is not the subject of this measurement.
+ */
+final class StreamNegotiationProbe
+{
+    private static final Pattern FEATURES_END = Pattern.compile("</([^>]+:)?features>|<([^>]+:)?features[^>]*/>");
+    private static final Pattern PROCEED = Pattern.compile("<proceed[^>]*>");
+
+    private final String host;
+    private final int port;
+    private final String domain;
+    private final int readTimeout;
+
+    long tcpConnect = -1;
+    long streamHeader = -1;
+    long startTls = -1;
+    long tlsHandshake = -1;
+    long streamRestart = -1;
+
+    StreamNegotiationProbe(final String host, final int port, final String domain, final int readTimeout)
+    {
+        this.host = host;
+        this.port = port;
+        this.domain = domain;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Performs the negotiation, recording the duration (in nanoseconds) of each stage. Stages that are not performed
+     * (for example, because the server does not offer STARTTLS) are left at -1.
+     *
+     * @param negotiateTls whether STARTTLS is to be negotiated, if offered by the server.
+     */
+    void run(final boolean negotiateTls) throws IOException, GeneralSecurityException
+    {
+        long start = System.nanoTime();
+        try (final Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), readTimeout);
+            socket.setSoTimeout(readTimeout);
+            tcpConnect = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            final String features = openStream(socket.getOutputStream(), socket.getInputStream());
+            streamHeader = System.nanoTime() - start;
+
+            if (!negotiateTls || !features.contains("urn:ietf:params:xml:ns:xmpp-tls")) {
+                return;
+            }
+
+            start = System.nanoTime();
+            write(socket.getOutputStream(), "<starttls xmlns='urn:ietf:params:xml:ns:xmpp-tls'/>");
+            readUntil(socket.getInputStream(), PROCEED);
+            startTls = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            try (final SSLSocket sslSocket = (SSLSocket) createTrustAllContext().getSocketFactory().createSocket(socket, host, port, true)) {
+                sslSocket.startHandshake();
+                tlsHandshake = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                openStream(sslSocket.getOutputStream(), sslSocket.getInputStream());
+                streamRestart = System.nanoTime() - start;
+            }
+        }
+    }
+
+    /**
+     * Sends a stream header, and returns the data that was received up to and including the stream features.
+     */
+    private String openStream(final OutputStream out, final InputStream in) throws IOException
+    {
+        write(out, "<?xml version='1.0'?><stream:stream xmlns='jabber:client' xmlns:stream='http://etherx.jabber.org/streams' to='" + domain + "' version='1.0'>");
+        return readUntil(in, FEATURES_END);
+    }
+
+    private static void write(final OutputStream out, final String data) throws IOException
+    {
+        out.write(data.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Reads from the stream until the data that was read matches the provided pattern.
+     */
+    private static String readUntil(final InputStream in, final Pattern pattern) throws IOException
+    {
+        final StringBuilder received = new StringBuilder();
+        final byte[] buffer = new byte[4096];
+        while (!pattern.matcher(received).find()) {
+            final int read = in.read(buffer);
+            if (read == -1) {
+                throw new IOException("Connection closed by the server before the expected data was received. Received: " + received);
+            }
+            received.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+        }
+        return received.toString();
+    }
+
+    private static SSLContext createTrustAllContext() throws GeneralSecurityException
+    {
+        final SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, new TrustManager[] { new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(final X509Certificate[] chain, final String authType) {}
+
+            @Override
+            public void checkServerTrusted(final X509Certificate[] chain, final String authType) {}
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() { return new X509Certificate[0]; }
+        } }, null);
+        return context;
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.rfc6121;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkRosterUtil;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.filter.StanzaTypeFilter;
+import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.packet.PresenceBuilder;
+import org.jivesoftware.smack.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the cost of presence broadcasts, as defined in section 4.4 "Presence Broadcast" of RFC 6121, in a group of
+ * users that are all subscribed to each other's presence.
+ *
+ * A number of users is created, each with a number of resources online. All users are subscribed to each other (the
+ * subscriptions are established in parallel). Then, the resources change their presence in rotation, at a configured
+ * rate. Every presence change is expected to be delivered to each of the other resources, including the other
+ * resources of the same user. For each change, the delay until all of these resources have been notified is recorded,
+ * as well as the amount of presence stanzas that are delivered. The amount of inbound data received by each client
+ * during the storm is reported too.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.presence.users</tt> - the amount of users in the subscription mesh (default: 20)</li>
+ * <li><tt>sinttest.benchmark.presence.resources</tt> - the amount of resources that each user has online (default: 2)</li>
+ * <li><tt>sinttest.benchmark.presence.changes</tt> - the total amount of presence changes (default: 200)</li>
+ * <li><tt>sinttest.benchmark.presence.rate</tt> - the combined amount of presence changes per second (default: 20)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "RFC6121")
+public class PresenceBroadcastBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final int userCount;
+    private final int resourceCount;
+    private final int changeCount;
+    private final int rate;
+    private final long benchmarkTimeout;
+
+    public PresenceBroadcastBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        userCount = BenchmarkConfiguration.getInteger("presence.users", 20);
+        resourceCount = BenchmarkConfiguration.getInteger("presence.resources", 2);
+        changeCount = BenchmarkConfiguration.getInteger("presence.changes", 200);
+        rate = BenchmarkConfiguration.getInteger("presence.rate", 20);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+
+        if (userCount < 2 || resourceCount < 1 || changeCount < 1 || rate < 1) {
+            throw new IllegalArgumentException("The presence broadcast benchmark requires at least two users, one resource, one change and a positive rate.");
+        }
+    }
+
+    @SmackIntegrationTest(section = "4.4.2", quote = "The user's server MUST also broadcast initial presence from the user's newly available resource to all of the user's available resources, including the resource that generated the presence notification in the first place [...] and to all contacts who are subscribed to the user's presence")
+    public void benchmarkPresenceBroadcastStorm() throws Exception
+    {
+        final BenchmarkReport report = new BenchmarkReport("Presence broadcast storm (" + userCount + " users with " + resourceCount + " resources each)");
+
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration))
+        {
+            // Setup test fixture: create all users, and log in all of their resources.
+            final List<BenchmarkAccounts.Account> users = accounts.create(userCount);
+            final List<AbstractXMPPConnection> firstResources = accounts.connect(users);
+            final List<AbstractXMPPConnection> allResources = new ArrayList<>(firstResources);
+            for (int r = 1; r < resourceCount; r++) {
+                allResources.addAll(accounts.connect(users));
+            }
+
+            // Setup test fixture: subscribe all users to each other.
+            final long meshStart = System.nanoTime();
+            BenchmarkRosterUtil.ensureAllAccountsAreSubscribedToEachOther(firstResources, benchmarkTimeout, accounts.getParallelism());
+            report.add("Subscription mesh setup", LatencyRecorder.toMillis(System.nanoTime() - meshStart) + " (" + (userCount * (userCount - 1)) + " subscriptions)");
+
+            // Setup test fixture: let any presence traffic caused by the setup settle.
+            final List<Callable<Void>> settleTasks = new ArrayList<>(allResources.size());
+            for (final AbstractXMPPConnection resource : allResources) {
+                settleTasks.add(() -> { BenchmarkUtils.roundTrip(resource); return null; });
+            }
+            BenchmarkUtils.inParallel(accounts.getParallelism(), settleTasks);
+
+            // Setup test fixture: record what each client receives.
+            final String needle = StringUtils.randomString(9) + " ";
+            final int expectedRecipients = allResources.size() - 1;
+            final long expectedReceipts = (long) expectedRecipients * changeCount;
+            final AtomicLongArray firstReceipt = new AtomicLongArray(changeCount);
+            final AtomicLongArray lastReceipt = new AtomicLongArray(changeCount);
+            final AtomicInteger[] recipientsPerChange = new AtomicInteger[changeCount];
+            for (int i = 0; i < changeCount; i++) {
+                recipientsPerChange[i] = new AtomicInteger();
+            }
+            final AtomicLong receiptCount = new AtomicLong();
+            final SimpleResultSyncPoint allReceived = new SimpleResultSyncPoint();
+            final AtomicLong[] inboundBytes = new AtomicLong[allResources.size()];
+            final List<ListenerHandle> listenerHandles = new ArrayList<>();
+            try {
+                for (int c = 0; c < allResources.size(); c++) {
+                    final AbstractXMPPConnection resource = allResources.get(c);
+                    final AtomicLong inboundBytesOfResource = inboundBytes[c] = new AtomicLong();
+                    listenerHandles.add(resource.addStanzaListener(stanza -> inboundBytesOfResource.addAndGet(BenchmarkUtils.getSize(stanza)), stanza -> true));
+                    listenerHandles.add(resource.addStanzaListener(stanza -> {
+                        final long now = System.nanoTime();
+                        final String status = ((Presence) stanza).getStatus();
+                        if (status == null || !status.startsWith(needle) || resource.getUser().equals(stanza.getFrom())) {
+                            return;
+                        }
+                        final int index = Integer.parseInt(status.substring(needle.length()));
+                        firstReceipt.compareAndSet(index, 0, now);
+                        lastReceipt.accumulateAndGet(index, now, Math::max);
+                        recipientsPerChange[index].incrementAndGet();
+                        if (receiptCount.incrementAndGet() == expectedReceipts) {
+                            allReceived.signal();
+                        }
+                    }, StanzaTypeFilter.PRESENCE));
+                }
+
+                // Execute system under test.
+                final long[] sent = new long[changeCount];
+                final long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+                final long start = System.nanoTime();
+                for (int i = 0; i < changeCount; i++) {
+                    final long delay = start + i * interval - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                    final AbstractXMPPConnection resource = allResources.get(i % allResources.size());
+                    final Presence presence = PresenceBuilder.buildPresence()
+                        .ofType(Presence.Type.available)
+                        .setMode(i % 2 == 0 ? Presence.Mode.away : Presence.Mode.available)
+                        .setStatus(needle + i)
+                        .build();
+                    sent[i] = System.nanoTime();
+                    resource.sendStanza(presence);
+                }
+                final long sendDuration = System.nanoTime() - start;
+
+                try {
+                    allReceived.waitForResult(benchmarkTimeout);
+                } catch (TimeoutException e) {
+                    LOGGER.log(Level.WARNING, "Not all presence changes were received by all resources within " + benchmarkTimeout + "ms.");
+                }
+
+                // Verify result.
+                final LatencyRecorder allNotified = new LatencyRecorder();
+                final LatencyRecorder firstNotified = new LatencyRecorder();
+                int incomplete = 0;
+                for (int i = 0; i < changeCount; i++) {
+                    if (firstReceipt.get(i) != 0) {
+                        firstNotified.record(firstReceipt.get(i) - sent[i]);
+                    }
+                    if (recipientsPerChange[i].get() >= expectedRecipients) {
+                        allNotified.record(lastReceipt.get(i) - sent[i]);
+                    } else {
+                        incomplete++;
+                    }
+                }
+                long minBytes = Long.MAX_VALUE, maxBytes = 0, totalBytes = 0;
+                for (final AtomicLong bytes : inboundBytes) {
+                    minBytes = Math.min(minBytes, bytes.get());
+                    maxBytes = Math.max(maxBytes, bytes.get());
+                    totalBytes += bytes.get();
+                }
+
+                report.add("Presence changes sent", changeCount + " (" + BenchmarkUtils.perSecond(changeCount, sendDuration) + ", target: " + rate + "/s)");
+                report.add("Delay until first subscriber notified", firstNotified);
+                report.add("Delay until all subscribers notified", allNotified);
+                report.add("Presence stanzas delivered per change", String.format("%.1f (expected: %d)", receiptCount.get() / (double) changeCount, expectedRecipients));
+                report.add("Changes not delivered to all subscribers", incomplete);
+                report.add("Inbound bytes per client", "min " + minBytes + ", mean " + (totalBytes / inboundBytes.length) + ", max " + maxBytes);
+                report.publish();
+
+                assertEquals(0, incomplete, "Expected each of the " + changeCount + " presence changes to be delivered to all " + expectedRecipients + " other resources in the subscription mesh (but " + incomplete + " changes were not delivered to all of them).");
+            } finally {
+                listenerHandles.forEach(ListenerHandle::close);
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.rfc6121;
+
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.rfc6121.section2.RosterPushListenerWithTarget;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.iqrequest.AbstractIqRequestHandler;
+import org.jivesoftware.smack.iqrequest.IQRequestHandler;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.StanzaError;
+import org.jivesoftware.smack.roster.Roster;
+import org.jivesoftware.smack.roster.packet.RosterPacket;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jxmpp.jid.BareJid;
+import org.jxmpp.jid.impl.JidCreate;
+import org.jxmpp.jid.parts.Localpart;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the efficiency of roster versioning, as defined in section 2.6 "Roster Versioning" of RFC 6121, on rosters
+ * that are considerably larger than the ones used by the integration tests that verify the correctness of this feature.
+ *
+ * For each configured roster size, the roster of 'conOne' is populated (using pipelined roster sets), after which a
+ * number of additional roster changes is applied. Then, the roster is requested repeatedly:
+ * <ul>
+ * <li>without a 'ver' attribute (which is expected to return the full roster),</li>
+ * <li>with the 'ver' value of the current roster (which is expected to cause no roster items to be sent), and</li>
+ * <li>with a 'ver' value that predates the additional roster changes (which is expected to cause only those changes to be sent).</li>
+ * </ul>
+ * For each of these, the latency of the roster retrieval, the amount of bytes received, and the amount of roster
+ * pushes that were sent by the server are reported.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.roster.sizes</tt> - comma-separated roster sizes (default: 1000,10000,50000)</li>
+ * <li><tt>sinttest.benchmark.roster.changes</tt> - the amount of changes by which the 'stale' version lags (default: 10)</li>
+ * <li><tt>sinttest.benchmark.roster.iterations</tt> - how often each type of request is repeated (default: 5)</li>
+ * <li><tt>sinttest.benchmark.timeout</tt> - timeout in milliseconds for long-running operations</li>
+ * </ul>
+ */
+@SpecificationReference(document = "RFC6121")
+public class RosterVersioningBenchmark extends AbstractSmackIntegrationTest
+{
+    private final List<Integer> rosterSizes;
+    private final int changeCount;
+    private final int iterations;
+    private final long benchmarkTimeout;
+
+    public RosterVersioningBenchmark(SmackIntegrationTestEnvironment environment) throws SmackException.NotConnectedException, SmackException.NoResponseException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+
+        try {
+            conOne.sendIqRequestAndWaitForResponse(new RosterPacket());
+        } catch (XMPPException.XMPPErrorException e) {
+            if (e.getStanzaError().getCondition() == StanzaError.Condition.service_unavailable) {
+                throw new TestNotPossibleException("Server does not support the roster namespace."); // This error is defined in RFC6121 Section 2.2
+            }
+        }
+
+        if (!Roster.getInstanceFor(conOne).isRosterVersioningSupported()) {
+            throw new TestNotPossibleException("Server does not support roster versioning feature.");
+        }
+
+        rosterSizes = BenchmarkConfiguration.getIntegers("roster.sizes", List.of(1_000, 10_000, 50_000));
+        changeCount = BenchmarkConfiguration.getInteger("roster.changes", 10);
+        iterations = BenchmarkConfiguration.getInteger("roster.iterations", 5);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+    }
+
+    /**
+     * Measures roster retrieval with and without roster versioning, for each of the configured roster sizes.
+     */
+    @SmackIntegrationTest(section = "2.6.1", quote = "Because rosters can become quite large but usually change infrequently, the bandwidth required to retrieve the full roster can be unnecessarily high. Roster versioning is a way to decrease this bandwidth consumption.")
+    public void benchmarkRosterVersioning() throws Exception
+    {
+        for (final int rosterSize : rosterSizes) {
+            benchmark(rosterSize);
+        }
+    }
+
+    private void benchmark(final int rosterSize) throws Exception
+    {
+        // Setup test fixture: populate the roster.
+        final String prefix = "bench-roster-" + StringUtils.randomString(5).toLowerCase() + "-";
+        final List<BareJid> targets = new ArrayList<>(rosterSize);
+        final RosterPacket[] additions = new RosterPacket[rosterSize];
+        for (int i = 0; i < rosterSize; i++) {
+            final BareJid target = JidCreate.bareFrom(Localpart.from(prefix + i), conOne.getXMPPServiceDomain());
+            targets.add(target);
+            additions[i] = createRosterSet(new RosterPacket.Item(target, "Benchmark Item " + i));
+        }
+
+        final BenchmarkReport report = new BenchmarkReport("Roster versioning, with a roster of " + rosterSize + " items");
+        try {
+            final long populationStart = System.nanoTime();
+            final List<RosterPacket> additionPushes;
+            try {
+                additionPushes = RosterPushListenerWithTarget.sendRosterChangesPipelinedAndWaitForResultAndPush(conOne, benchmarkTimeout, additions);
+            } catch (XMPPException.XMPPErrorException e) {
+                throw new TestNotPossibleException("Unable to populate the roster with " + rosterSize + " items. The server responded with an error: " + e.getStanzaError());
+            }
+            final long populationDuration = System.nanoTime() - populationStart;
+            report.add("Roster population", LatencyRecorder.toMillis(populationDuration) + " (" + BenchmarkUtils.perSecond(rosterSize, populationDuration) + ")");
+
+            // Setup test fixture: apply a number of changes, so that the 'ver' of the populated roster becomes stale.
+            final String staleVer = additionPushes.get(additionPushes.size() - 1).getVersion();
+            final RosterPacket[] changes = new RosterPacket[changeCount];
+            for (int i = 0; i < changeCount; i++) {
+                changes[i] = createRosterSet(new RosterPacket.Item(targets.get(i % rosterSize), "Changed Benchmark Item " + i));
+            }
+            final List<RosterPacket> changePushes = RosterPushListenerWithTarget.sendRosterChangesPipelinedAndWaitForResultAndPush(conOne, benchmarkTimeout, changes);
+            final String currentVer = changePushes.isEmpty() ? staleVer : changePushes.get(changePushes.size() - 1).getVersion();
+
+            // Execute system under test.
+            final Measurement full = measure(null);
+            final Measurement current = measure(currentVer);
+            final Measurement stale = measure(staleVer);
+
+            // Verify result.
+            assertTrue(full.maxItems >= rosterSize, "Expected the roster that was returned to '" + conOne.getUser() + "' in response to a roster request without a 'ver' attribute to contain at least " + rosterSize + " items (but it contained " + full.maxItems + ").");
+
+            report.add("Without 'ver'", full.latency);
+            report.add("Without 'ver', bytes per retrieval", full.getBytesPerRetrieval() + " (" + full.getItemsPerRetrieval() + " items, " + full.getPushesPerRetrieval() + " pushes)");
+            report.add("Current 'ver'", current.latency);
+            report.add("Current 'ver', bytes per retrieval", current.getBytesPerRetrieval() + " (" + current.getItemsPerRetrieval() + " items, " + current.getPushesPerRetrieval() + " pushes)");
+            report.add("Stale 'ver' (" + changeCount + " changes old)", stale.latency);
+            report.add("Stale 'ver', bytes per retrieval", stale.getBytesPerRetrieval() + " (" + stale.getItemsPerRetrieval() + " items, " + stale.getPushesPerRetrieval() + " pushes)");
+            report.add("Stale 'ver', items sent compared to full roster", String.format("%.2f%%", 100.0 * (stale.getItemsPerRetrieval() + stale.getPushesPerRetrieval()) / Math.max(1, full.getItemsPerRetrieval())));
+            report.add("Stale 'ver', bytes sent compared to full roster", String.format("%.2f%%", 100.0 * stale.getBytesPerRetrieval() / Math.max(1, full.getBytesPerRetrieval())));
+            report.publish();
+        } finally {
+            // Clean up test fixture.
+            final RosterPacket[] removals = new RosterPacket[rosterSize];
+            for (int i = 0; i < rosterSize; i++) {
+                final RosterPacket.Item item = new RosterPacket.Item(targets.get(i), null);
+                item.setItemType(RosterPacket.ItemType.remove);
+                removals[i] = createRosterSet(item);
+            }
+            try {
+                RosterPushListenerWithTarget.sendRosterChangesPipelinedAndWaitForResultAndPush(conOne, benchmarkTimeout, removals);
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Unable to remove all roster items that were added by the benchmark of '" + conOne.getUser() + "'.", e);
+            }
+        }
+    }
+
+    /**
+     * Repeatedly requests the roster (using the provided 'ver' value, if any), recording latency, the amount of bytes
+     * received, and the amount of roster items and roster pushes that were sent by the server.
+     *
+     * The latency of a retrieval is measured until the last roster push has been received, or until the response to the
+     * request was received if that happened later.
+     */
+    private Measurement measure(final String ver) throws Exception
+    {
+        final Measurement measurement = new Measurement();
+        for (int i = 0; i < iterations; i++) {
+            final RosterPushCounter rosterPushCounter = new RosterPushCounter();
+            final IQRequestHandler oldHandler = conOne.registerIQRequestHandler(rosterPushCounter);
+            rosterPushCounter.setDelegate(oldHandler); // Allows Smack internal classes (like Roster) to keep on processing roster changes.
+            try {
+                final RosterPacket request = new RosterPacket();
+                request.setType(IQ.Type.get);
+                if (ver != null) {
+                    request.setVersion(ver);
+                }
+
+                final long start = System.nanoTime();
+                final IQ response = conOne.sendIqRequestAsync(request, benchmarkTimeout).getOrThrow();
+                final long responseReceived = System.nanoTime();
+
+                // Any roster pushes that result from the request follow the response. Wait for those to have been received.
+                BenchmarkUtils.roundTrip(conOne);
+
+                measurement.latency.record(Math.max(responseReceived, rosterPushCounter.lastPushReceived.get()) - start);
+                measurement.retrievals++;
+                measurement.bytes += BenchmarkUtils.getSize(response) + rosterPushCounter.bytes.get();
+                measurement.pushes += rosterPushCounter.count.get();
+                if (response instanceof RosterPacket) {
+                    final int items = ((RosterPacket) response).getRosterItemCount();
+                    measurement.items += items;
+                    measurement.maxItems = Math.max(measurement.maxItems, items);
+                }
+            } finally {
+                if (oldHandler != null) {
+                    conOne.registerIQRequestHandler(oldHandler);
+                } else {
+                    conOne.unregisterIQRequestHandler(rosterPushCounter);
+                }
+            }
+        }
+        return measurement;
+    }
+
+    private static RosterPacket createRosterSet(final RosterPacket.Item item)
+    {
+        final RosterPacket result = new RosterPacket();
+        result.setType(IQ.Type.set);
+        result.addRosterItem(item);
+        return result;
+    }
+
+    private static final class Measurement
+    {
+        final LatencyRecorder latency = new LatencyRecorder();
+        int retrievals;
+        long bytes;
+        long items;
+        int maxItems;
+        long pushes;
+
+        long getBytesPerRetrieval()
+        {
+            return retrievals == 0 ? 0 : bytes / retrievals;
+        }
+
+        long getItemsPerRetrieval()
+        {
+            return retrievals == 0 ? 0 : items / retrievals;
+        }
+
+        long getPushesPerRetrieval()
+        {
+            return retrievals == 0 ? 0 : pushes / retrievals;
+        }
+    }
+
+    /**
+     * A Smack AbstractIqRequestHandler that replaces the handler that is used by Smack internally to manage its
+     * 'Roster' implementation (to which it delegates), counting the roster pushes that it receives.
+     */
+    private static final class RosterPushCounter extends AbstractIqRequestHandler
+    {
+        private IQRequestHandler delegate;
+
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+        final AtomicLong lastPushReceived = new AtomicLong();
+
+        RosterPushCounter()
+        {
+            super(RosterPacket.ELEMENT, RosterPacket.NAMESPACE, IQ.Type.set, Mode.sync);
+        }
+
+        void setDelegate(IQRequestHandler delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public IQ handleIQRequest(IQ iqRequest)
+        {
+            lastPushReceived.set(System.nanoTime());
+            count.incrementAndGet();
+            bytes.addAndGet(BenchmarkUtils.getSize(iqRequest));
+            return delegate != null ? delegate.handleIQRequest(iqRequest) : IQ.createResultIQ(iqRequest);
+        }
+    }
+}
@@ -0,0 +1,562 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.rfc6121;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.rfc6121.section8.RFC6121Section8_5_2_1_1_MessageIntegrationTest;
+import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.SmackFuture;
+import org.jivesoftware.smack.StanzaCollector;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.filter.*;
+import org.jivesoftware.smack.iqrequest.AbstractIqRequestHandler;
+import org.jivesoftware.smack.iqrequest.IQRequestHandler;
+import org.jivesoftware.smack.packet.*;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.ping.packet.Ping;
+import org.jxmpp.jid.EntityFullJid;
+import org.jxmpp.jid.FullJid;
+import org.jxmpp.jid.Jid;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Turns the routing scenarios of section 8.5 "Local Domain" of RFC 6121 into sustained workloads.
+ *
+ * A number of sender/recipient pairs is created. Each recipient has a number of resources online, with presence
+ * priorities as configured. Senders then send stanzas to the bare JID, or to one of the full JIDs, of their recipient,
+ * at a configured (combined) rate. After the load has been generated, the routing of every stanza is verified with the
+ * rules that are verified by the integration tests of that section (for example, message stanzas sent to a bare JID
+ * are verified with the same assertions as used by {@link RFC6121Section8_5_2_1_1_MessageIntegrationTest}).
+ * Throughput, latency and the amount of routing violations are reported.
+ *
+ * Each combination of a stanza kind (message, presence or IQ) and an addressing mode (bare or full JID) is a separate
+ * benchmark. IQ stanzas are pings, that are answered by the resource (when sent to a full JID) or by the server on
+ * behalf of the user (when sent to a bare JID). For IQ stanzas, the round-trip time is reported as the latency.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.routing.pairs</tt> - the amount of sender/recipient pairs (default: 10)</li>
+ * <li><tt>sinttest.benchmark.routing.priorities</tt> - comma-separated presence priorities, one for each resource of a recipient (default: 1,0,-1)</li>
+ * <li><tt>sinttest.benchmark.routing.types</tt> - comma-separated message types that are sent in the message benchmarks, in rotation (default: normal,chat,headline)</li>
+ * <li><tt>sinttest.benchmark.routing.rate</tt> - the combined amount of stanzas sent per second by all senders (default: 100)</li>
+ * <li><tt>sinttest.benchmark.routing.duration</tt> - the duration of the load of each benchmark, in seconds (default: 30)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "RFC6121")
+public class RoutingLoadBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final int pairCount;
+    private final List<Integer> resourcePriorities;
+    private final List<Message.Type> messageTypes;
+    private final int rate;
+    private final int duration;
+    private final long benchmarkTimeout;
+
+    public RoutingLoadBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        pairCount = BenchmarkConfiguration.getInteger("routing.pairs", 10);
+        resourcePriorities = BenchmarkConfiguration.getIntegers("routing.priorities", List.of(1, 0, -1));
+        messageTypes = Arrays.stream(BenchmarkConfiguration.getString("routing.types", "normal,chat,headline").split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .map(Message.Type::fromString)
+            .collect(Collectors.toList());
+        rate = BenchmarkConfiguration.getInteger("routing.rate", 100);
+        duration = BenchmarkConfiguration.getInteger("routing.duration", 30);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+
+        if (pairCount < 1 || resourcePriorities.isEmpty() || messageTypes.isEmpty() || rate < 1 || duration < 1) {
+            throw new IllegalArgumentException("The routing benchmark requires at least one pair, one resource priority, one message type, a positive rate and a positive duration.");
+        }
+    }
+
+    @SmackIntegrationTest(section = "8.5.2.1.1", quote = "If the JID contained in the 'to' attribute is of the form <localpart@domainpart>, then the server MUST adhere to the following rules. [...] If there is at least one available resource [...], how the stanza is processed depends on the stanza type.")
+    public void benchmarkMessageRoutingToBareJid() throws Exception
+    {
+        benchmark(new Scenario("Message routing to bare JID", StanzaTypeFilter.MESSAGE) {
+            @Override
+            Stanza build(final Pair pair, final String id, final long index) {
+                return StanzaBuilder.buildMessage(id)
+                    .ofType(messageTypes.get((int) ((index / pairCount) % messageTypes.size())))
+                    .to(pair.recipient.getAddress())
+                    .setBody("Routing load " + id)
+                    .build();
+            }
+
+            @Override
+            void verify(final Tracked t) {
+                final Message message = (Message) t.stanza;
+                getAssertions(message.getType(), t.pair).test(t.pair.allResources, t.pair.allNonNegativeResources, t.receivedBy, message, Optional.ofNullable(t.errorReceived));
+            }
+        });
+    }
+
+    @SmackIntegrationTest(section = "8.5.3.1", quote = "If the domainpart of the JID contained in the 'to' attribute of an inbound stanza matches one of the configured domains of the server itself and the JID contained in the 'to' attribute is of the form <localpart@domainpart/resourcepart>, then the server MUST adhere to the following rules. [...] If an available resource or connected resource exactly matches the full JID, how the stanza is processed depends on the stanza type. [...] For a message stanza, the server MUST deliver the stanza to the resource.")
+    public void benchmarkMessageRoutingToFullJid() throws Exception
+    {
+        benchmark(new Scenario("Message routing to full JID", StanzaTypeFilter.MESSAGE) {
+            @Override
+            Stanza build(final Pair pair, final String id, final long index) {
+                return StanzaBuilder.buildMessage(id)
+                    .ofType(messageTypes.get((int) ((index / pairCount) % messageTypes.size())))
+                    .to(pair.getResource(index / pairCount))
+                    .setBody("Routing load " + id)
+                    .build();
+            }
+
+            @Override
+            void verify(final Tracked t) {
+                verifyDeliveredToAddressedResource(t);
+            }
+        });
+    }
+
+    @SmackIntegrationTest(section = "8.5.2.1.2", quote = "If the JID contained in the 'to' attribute is of the form <localpart@domainpart>, then the server MUST adhere to the following rules. [...] If there is at least one available resource [...], how the stanza is processed depends on the stanza type. [...] For a presence stanza with no type [...], the server MUST deliver it to all available resources. [...] In all cases, the server MUST NOT rewrite the 'to' attribute (i.e., it MUST leave it as <localpart@domainpart> rather than change it to <localpart@domainpart/resourcepart>).")
+    public void benchmarkPresenceRoutingToBareJid() throws Exception
+    {
+        benchmark(new Scenario("Directed presence routing to bare JID", StanzaTypeFilter.PRESENCE) {
+            @Override
+            Stanza build(final Pair pair, final String id, final long index) {
+                return StanzaBuilder.buildPresence(id)
+                    .to(pair.recipient.getAddress())
+                    .setStatus("Routing load " + id)
+                    .build();
+            }
+
+            @Override
+            void verify(final Tracked t) {
+                final Set<FullJid> missing = new HashSet<>(t.pair.allResources);
+                missing.removeAll(t.receivedBy.keySet());
+                if (!missing.isEmpty()) {
+                    throw new AssertionError("Presence stanza '" + t.stanza.getStanzaId() + "' sent to '" + t.stanza.getTo() + "' was not received by " + missing.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")));
+                }
+                for (final Map.Entry<EntityFullJid, Stanza> received : t.receivedBy.entrySet()) {
+                    if (!t.stanza.getTo().equals(received.getValue().getTo())) {
+                        throw new AssertionError("Presence stanza '" + t.stanza.getStanzaId() + "' sent to '" + t.stanza.getTo() + "' was received by '" + received.getKey() + "' addressed to '" + received.getValue().getTo() + "'");
+                    }
+                }
+            }
+        });
+    }
+
+    @SmackIntegrationTest(section = "8.5.3.1", quote = "If the domainpart of the JID contained in the 'to' attribute of an inbound stanza matches one of the configured domains of the server itself and the JID contained in the 'to' attribute is of the form <localpart@domainpart/resourcepart>, then the server MUST adhere to the following rules. [...] If an available resource or connected resource exactly matches the full JID, how the stanza is processed depends on the stanza type. [...] For a presence stanza with no 'type' attribute [...], the server MUST deliver the stanza to the resource.")
+    public void benchmarkPresenceRoutingToFullJid() throws Exception
+    {
+        benchmark(new Scenario("Directed presence routing to full JID", StanzaTypeFilter.PRESENCE) {
+            @Override
+            Stanza build(final Pair pair, final String id, final long index) {
+                return StanzaBuilder.buildPresence(id)
+                    .to(pair.getResource(index / pairCount))
+                    .setStatus("Routing load " + id)
+                    .build();
+            }
+
+            @Override
+            void verify(final Tracked t) {
+                verifyDeliveredToAddressedResource(t);
+            }
+        });
+    }
+
+    @SmackIntegrationTest(section = "8.5.2.1.3", quote = "If the JID contained in the 'to' attribute is of the form <localpart@domainpart>, then the server MUST adhere to the following rules. [...] If there is at least one available resource [...], how the stanza is processed depends on the stanza type. [...] For an IQ stanza, the server itself MUST reply on behalf of the user with either an IQ result or an IQ error, and MUST NOT deliver the IQ stanza to any of the user's available resources.")
+    public void benchmarkIqRoutingToBareJid() throws Exception
+    {
+        benchmark(new Scenario("IQ routing to bare JID", StanzaTypeFilter.IQ) {
+            @Override
+            Stanza build(final Pair pair, final String id, final long index) {
+                return new Ping(StanzaBuilder.buildIqData(id), pair.recipient.getAddress());
+            }
+
+            @Override
+            void verify(final Tracked t) {
+                if (!t.receivedBy.isEmpty()) {
+                    throw new AssertionError("IQ stanza '" + t.stanza.getStanzaId() + "' sent to '" + t.stanza.getTo() + "' was delivered to " + t.receivedBy.keySet().stream().map(Object::toString).sorted().collect(Collectors.joining(", ")));
+                }
+                if (t.response == null) {
+                    throw new AssertionError("IQ stanza '" + t.stanza.getStanzaId() + "' sent to '" + t.stanza.getTo() + "' was not answered by the server");
+                }
+            }
+        });
+    }
+
+    @SmackIntegrationTest(section = "8.5.3.1", quote = "If the domainpart of the JID contained in the 'to' attribute of an inbound stanza matches one of the configured domains of the server itself and the JID contained in the 'to' attribute is of the form <localpart@domainpart/resourcepart>, then the server MUST adhere to the following rules. [...] If an available resource or connected resource exactly matches the full JID, how the stanza is processed depends on the stanza type. [...] For an IQ stanza of type \"get\" or \"set\", the server MUST deliver the stanza to the resource.")
+    public void benchmarkIqRoutingToFullJid() throws Exception
+    {
+        benchmark(new Scenario("IQ routing to full JID", StanzaTypeFilter.IQ) {
+            @Override
+            Stanza build(final Pair pair, final String id, final long index) {
+                return new Ping(StanzaBuilder.buildIqData(id), pair.getResource(index / pairCount));
+            }
+
+            @Override
+            void verify(final Tracked t) {
+                verifyDeliveredToAddressedResource(t);
+                if (!(t.response instanceof IQ) || ((IQ) t.response).getType() != IQ.Type.result) {
+                    throw new AssertionError("IQ stanza '" + t.stanza.getStanzaId() + "' sent to '" + t.stanza.getTo() + "' was not answered with a result by that resource" + (t.response == null ? "" : " (but with: " + t.response.toXML() + ")"));
+                }
+            }
+        });
+    }
+
+    private void benchmark(final Scenario scenario) throws Exception
+    {
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration))
+        {
+            // Setup test fixture: create the sender/recipient pairs, and log in all of their resources.
+            final List<Callable<Pair>> setupTasks = new ArrayList<>(pairCount);
+            for (int i = 0; i < pairCount; i++) {
+                setupTasks.add(() -> createPair(accounts));
+            }
+            final List<Pair> pairs = BenchmarkUtils.inParallel(accounts.getParallelism(), setupTasks);
+
+            // Setup test fixture: collect everything that is received.
+            final ConcurrentMap<String, Tracked> tracked = new ConcurrentHashMap<>();
+            final String needlePrefix = StringUtils.randomString(9) + "-";
+            final StanzaFilter needleFilter = s -> s.getStanzaId() != null && s.getStanzaId().startsWith(needlePrefix);
+            final List<SmackFuture<IQ, Exception>> responses = new ArrayList<>();
+            final Collection<ListenerHandle> listenerHandles = new ArrayList<>();
+            final Map<AbstractXMPPConnection, IQRequestHandler> oldPingHandlers = new HashMap<>();
+            final boolean isIq = scenario.stanzaFilter == StanzaTypeFilter.IQ;
+            try {
+                for (final Pair pair : pairs) {
+                    final StanzaFilter needleDetector = new AndFilter(FromMatchesFilter.createFull(pair.sender.getUser()), scenario.stanzaFilter, needleFilter);
+                    for (final AbstractXMPPConnection resource : pair.resources) {
+                        final EntityFullJid resourceAddress = resource.getUser();
+                        final Consumer<Stanza> receivedDetector = stanza -> {
+                            final Tracked t = tracked.get(stanza.getStanzaId());
+                            if (t != null) {
+                                t.firstReceived.compareAndSet(0, System.nanoTime());
+                                t.receivedBy.put(resourceAddress, stanza);
+                            }
+                        };
+                        if (isIq) {
+                            // IQ requests are not passed to stanza listeners, but to the IQ request handler (which answers them).
+                            oldPingHandlers.put(resource, resource.registerIQRequestHandler(new AbstractIqRequestHandler(Ping.ELEMENT, Ping.NAMESPACE, IQ.Type.get, IQRequestHandler.Mode.async) {
+                                @Override
+                                public IQ handleIQRequest(final IQ iqRequest) {
+                                    if (needleDetector.accept(iqRequest)) {
+                                        receivedDetector.accept(iqRequest);
+                                    }
+                                    return ((Ping) iqRequest).getPong();
+                                }
+                            }));
+                        } else {
+                            listenerHandles.add(resource.addStanzaListener(receivedDetector::accept, needleDetector));
+                        }
+                    }
+                    listenerHandles.add(pair.sender.addStanzaListener(stanza -> {
+                        final Tracked t = tracked.get(stanza.getStanzaId());
+                        if (t != null) {
+                            t.errorReceived = stanza;
+                        }
+                    }, new AndFilter(new OrFilter(MessageTypeFilter.ERROR, PresenceTypeFilter.ERROR), needleFilter)));
+                }
+
+                // Execute system under test: generate load at the configured rate.
+                final long total = (long) rate * duration;
+                final long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+                final long start = System.nanoTime();
+                for (long i = 0; i < total; i++) {
+                    final Pair pair = pairs.get((int) (i % pairs.size()));
+
+                    final long scheduled = start + i * interval;
+                    final long delay = scheduled - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+
+                    final String needle = needlePrefix + i;
+                    final Tracked t = new Tracked(pair, scenario.build(pair, needle, i));
+                    tracked.put(needle, t);
+                    t.sent = System.nanoTime();
+                    if (t.stanza instanceof IQ) {
+                        // IQ responses are correlated by Smack. Both results and errors are recorded as the response.
+                        final SmackFuture<IQ, Exception> response = pair.sender.sendIqRequestAsync((IQ) t.stanza, benchmarkTimeout);
+                        response.onSuccess(t::respond).onError(e -> {
+                            if (e instanceof XMPPException.XMPPErrorException) {
+                                t.respond(((XMPPException.XMPPErrorException) e).getStanza());
+                            }
+                        });
+                        responses.add(response);
+                    } else {
+                        pair.sender.sendStanza(t.stanza);
+                    }
+                }
+                final long sendDuration = System.nanoTime() - start;
+
+                // Wait for all stanzas (and errors) to have been processed, using the same 'stop' mechanism as the tests.
+                final List<Callable<Void>> drainTasks = new ArrayList<>(pairs.size());
+                for (final Pair pair : pairs) {
+                    drainTasks.add(() -> { drain(pair); return null; });
+                }
+                BenchmarkUtils.inParallel(accounts.getParallelism(), drainTasks);
+                for (final SmackFuture<IQ, Exception> response : responses) {
+                    try {
+                        response.getOrThrow();
+                    } catch (Exception e) {
+                        // Recorded (if it is an error response) or absent (if there was no response). Either is evaluated below.
+                    }
+                }
+
+                // Verify result.
+                final LatencyRecorder latency = new LatencyRecorder();
+                final Map<String, Integer> violationsByType = new TreeMap<>();
+                final List<String> exampleViolations = new ArrayList<>();
+                long deliveries = 0;
+                long lastReceived = start;
+                for (final Tracked t : tracked.values()) {
+                    final long received = t.stanza instanceof IQ ? t.responseReceived : t.firstReceived.get();
+                    if (received != 0) {
+                        latency.record(received - t.sent);
+                        lastReceived = Math.max(lastReceived, received);
+                    }
+                    deliveries += t.stanza instanceof IQ ? (t.response == null ? 0 : 1) : t.receivedBy.size();
+                    try {
+                        scenario.verify(t);
+                    } catch (AssertionError e) {
+                        violationsByType.merge(getTypeName(t.stanza), 1, Integer::sum);
+                        if (exampleViolations.size() < 5) {
+                            exampleViolations.add(e.getMessage());
+                        }
+                    }
+                }
+                final int violations = violationsByType.values().stream().mapToInt(Integer::intValue).sum();
+
+                final BenchmarkReport report = new BenchmarkReport(scenario.title + " under load (" + pairCount + " pairs, resource priorities " + resourcePriorities + (scenario.stanzaFilter == StanzaTypeFilter.MESSAGE ? ", types " + messageTypes : "") + ")");
+                report.add("Stanzas sent", total + " (" + BenchmarkUtils.perSecond(total, sendDuration) + ", target: " + rate + "/s)");
+                report.add(isIq ? "Responses received" : "Stanzas delivered", deliveries + " (" + BenchmarkUtils.perSecond(deliveries, lastReceived - start) + ")");
+                report.add(isIq ? "Round-trip latency" : "Delivery latency", latency);
+                report.add("Routing violations", violations + (violationsByType.isEmpty() ? "" : " " + violationsByType));
+                report.publish();
+
+                assertEquals(0, violations, "Expected all stanzas that were sent under load to be routed as they are when sent in isolation (" + scenario.title + "). Instead, " + violations + " of " + total + " stanzas were routed incorrectly. Examples: " + String.join(" | ", exampleViolations));
+            } finally {
+                // Tear down test fixture.
+                listenerHandles.forEach(ListenerHandle::close);
+                for (final Map.Entry<AbstractXMPPConnection, IQRequestHandler> oldPingHandler : oldPingHandlers.entrySet()) {
+                    if (oldPingHandler.getValue() != null) {
+                        oldPingHandler.getKey().registerIQRequestHandler(oldPingHandler.getValue());
+                    } else {
+                        oldPingHandler.getKey().unregisterIQRequestHandler(Ping.ELEMENT, Ping.NAMESPACE, IQ.Type.get);
+                    }
+                }
+            }
+        }
+    }
+
+    private RFC6121Section8_5_2_1_1_MessageIntegrationTest.Assertions<Set<FullJid>, Set<EntityFullJid>, Map<EntityFullJid, Stanza>, Message, Optional<Stanza>, Void> getAssertions(final Message.Type messageType, final Pair pair)
+    {
+        final Jid sender = pair.sender.getUser();
+        switch (messageType) {
+            case normal:
+            case chat:
+                return RFC6121Section8_5_2_1_1_MessageIntegrationTest.getMessageNormalOrChatAssertions(messageType, sender, pair.recipient.getAddress());
+            case groupchat:
+                return RFC6121Section8_5_2_1_1_MessageIntegrationTest.getMessageGroupchatAssertions(sender, pair.recipient.getAddress());
+            case headline:
+                return RFC6121Section8_5_2_1_1_MessageIntegrationTest.getMessageHeadlineAssertions(sender, pair.recipient.getAddress());
+            case error:
+                return RFC6121Section8_5_2_1_1_MessageIntegrationTest.getMessageErrorAssertions(sender, pair.recipient.getAddress());
+            default:
+                throw new IllegalStateException("Unsupported message type: " + messageType);
+        }
+    }
+
+    /**
+     * Verifies that a stanza that was sent to a full JID was delivered to the resource with that JID, and that no error
+     * was returned to the sender.
+     */
+    private static void verifyDeliveredToAddressedResource(final Tracked t)
+    {
+        if (!t.receivedBy.containsKey(t.stanza.getTo())) {
+            throw new AssertionError(getTypeName(t.stanza) + " stanza '" + t.stanza.getStanzaId() + "' sent to '" + t.stanza.getTo() + "' was not received by that resource");
+        }
+        if (t.errorReceived != null) {
+            throw new AssertionError(getTypeName(t.stanza) + " stanza '" + t.stanza.getStanzaId() + "' sent to '" + t.stanza.getTo() + "' caused an error to be returned: " + t.errorReceived.toXML());
+        }
+    }
+
+    private static String getTypeName(final Stanza stanza)
+    {
+        if (stanza instanceof Message) {
+            return "message " + ((Message) stanza).getType();
+        } else if (stanza instanceof Presence) {
+            return "presence " + ((Presence) stanza).getType();
+        } else {
+            return "iq " + ((IQ) stanza).getType();
+        }
+    }
+
+    /**
+     * Creates a sender and a recipient, logs in the sender and all resources of the recipient, and sets the presence
+     * priority of each of the recipient's resources.
+     */
+    private Pair createPair(final BenchmarkAccounts accounts) throws Exception
+    {
+        final Pair pair = new Pair(accounts.connect(accounts.create()), accounts.create());
+        for (final int resourcePriority : resourcePriorities) {
+            final AbstractXMPPConnection resourceConnection = accounts.connect(pair.recipient);
+
+            final Presence prioritySet = PresenceBuilder.buildPresence(StringUtils.randomString(9)).setPriority(resourcePriority).build();
+            try (final StanzaCollector presenceUpdateDetected = resourceConnection.createStanzaCollectorAndSend(new OrFilter(new StanzaIdFilter(prioritySet), new AndFilter(FromMatchesFilter.createFull(resourceConnection.getUser()), (s -> s instanceof Presence && ((Presence) s).getPriority() == resourcePriority))), prioritySet)) {
+                presenceUpdateDetected.nextResultOrThrow(); // Wait for echo, to be sure that presence update was processed by the server.
+            }
+
+            pair.resources.add(resourceConnection);
+            pair.allResources.add(resourceConnection.getUser());
+            if (resourcePriority >= 0) {
+                pair.allNonNegativeResources.add(resourceConnection.getUser());
+            }
+        }
+        return pair;
+    }
+
+    /**
+     * Sends a 'stop' message stanza to each resource of the recipient, and one back to the sender. As stanzas are
+     * processed in order, all stanzas that were sent before (and any errors) are guaranteed to have been received when
+     * this method returns.
+     */
+    private void drain(final Pair pair) throws Exception
+    {
+        final String stopNeedleRecipients = StringUtils.randomString(7);
+        final SimpleResultSyncPoint recipientsDone = new SimpleResultSyncPoint();
+        final Set<Jid> remaining = ConcurrentHashMap.newKeySet();
+        remaining.addAll(pair.allResources);
+        final Collection<ListenerHandle> listenerHandles = new ArrayList<>();
+        try {
+            for (final AbstractXMPPConnection resource : pair.resources) {
+                listenerHandles.add(resource.addStanzaListener(s -> {
+                    remaining.remove(s.getTo());
+                    if (remaining.isEmpty()) {
+                        recipientsDone.signal();
+                    }
+                }, new AndFilter(StanzaTypeFilter.MESSAGE, new StanzaIdFilter(stopNeedleRecipients))));
+            }
+            for (final FullJid recipient : pair.allResources) {
+                pair.sender.sendStanza(StanzaBuilder.buildMessage(stopNeedleRecipients).setBody("You can stop listening now.").to(recipient).build());
+            }
+            recipientsDone.waitForResult(benchmarkTimeout);
+
+            final String stopNeedleSender = StringUtils.randomString(7);
+            final SimpleResultSyncPoint senderDone = new SimpleResultSyncPoint();
+            listenerHandles.add(pair.sender.addStanzaListener(s -> senderDone.signal(), new AndFilter(StanzaTypeFilter.MESSAGE, new StanzaIdFilter(stopNeedleSender))));
+            pair.resources.get(0).sendStanza(StanzaBuilder.buildMessage(stopNeedleSender).setBody("You can stop listening now, all recipients are done.").to(pair.sender.getUser()).build());
+            senderDone.waitForResult(benchmarkTimeout);
+        } finally {
+            listenerHandles.forEach(ListenerHandle::close);
+        }
+    }
+
+    /**
+     * A routing scenario: the stanzas that are sent, and the verification of how each of them was routed.
+     */
+    private abstract static class Scenario
+    {
+        final String title;
+        final StanzaFilter stanzaFilter;
+
+        Scenario(final String title, final StanzaFilter stanzaFilter)
+        {
+            this.title = title;
+            this.stanzaFilter = stanzaFilter;
+        }
+
+        /**
+         * Builds the stanza with the provided stanza ID, that is to be sent by the sender of the pair.
+         */
+        abstract Stanza build(Pair pair, String id, long index);
+
+        /**
+         * Verifies the routing of a stanza, throwing an AssertionError when it was not routed correctly.
+         */
+        abstract void verify(Tracked t);
+    }
+
+    private static final class Pair
+    {
+        final AbstractXMPPConnection sender;
+        final BenchmarkAccounts.Account recipient;
+        final List<AbstractXMPPConnection> resources = new ArrayList<>();
+        final Set<FullJid> allResources = new HashSet<>();
+        final Set<EntityFullJid> allNonNegativeResources = new HashSet<>();
+
+        Pair(final AbstractXMPPConnection sender, final BenchmarkAccounts.Account recipient)
+        {
+            this.sender = sender;
+            this.recipient = recipient;
+        }
+
+        /**
+         * Returns the full JID of one of the resources of the recipient. Consecutive values rotate through all resources.
+         */
+        EntityFullJid getResource(final long index)
+        {
+            return resources.get((int) (index % resources.size())).getUser();
+        }
+    }
+
+    private static final class Tracked
+    {
+        final Pair pair;
+        final Stanza stanza;
+        final Map<EntityFullJid, Stanza> receivedBy = new ConcurrentHashMap<>();
+        final AtomicLong firstReceived = new AtomicLong();
+        volatile long sent;
+        volatile Stanza errorReceived;
+        volatile Stanza response;
+        volatile long responseReceived;
+
+        Tracked(final Pair pair, final Stanza stanza)
+        {
+            this.pair = pair;
+            this.stanza = stanza;
+        }
+
+        void respond(final Stanza response)
+        {
+            responseReceived = System.nanoTime();
+            this.response = response;
+        }
+    }
+}
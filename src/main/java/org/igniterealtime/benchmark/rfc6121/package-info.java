@@ -0,0 +1,22 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Benchmarks for RFC 6121: Extensible Messaging and Presence Protocol (XMPP): Instant Messaging and Presence
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc6121.html">RFC 6121</a>
+ */
+package org.igniterealtime.benchmark.rfc6121;
@@ -0,0 +1,277 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0045;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.filter.AndFilter;
+import org.jivesoftware.smack.filter.FromMatchesFilter;
+import org.jivesoftware.smack.filter.MessageTypeFilter;
+import org.jivesoftware.smack.packet.Message;
+import org.jivesoftware.smack.packet.StanzaError;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.muc.MucConfigFormManager;
+import org.jivesoftware.smackx.muc.MultiUserChat;
+import org.jivesoftware.smackx.muc.MultiUserChatManager;
+import org.jxmpp.jid.DomainBareJid;
+import org.jxmpp.jid.EntityBareJid;
+import org.jxmpp.jid.impl.JidCreate;
+import org.jxmpp.jid.parts.Localpart;
+import org.jxmpp.jid.parts.Resourcepart;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the latency of the fan-out of groupchat messages in a multi-user chat room, by the amount of occupants in
+ * the room.
+ *
+ * For each configured room size, a room is created (by 'conOne') and filled with occupants that each use a newly
+ * created account. 'conOne' then sends groupchat messages at a controlled rate. For each message, the time until the
+ * first occupant received it, the time until the last occupant received it, and the spread between those are recorded.
+ * Additionally, the mean latency per occupant is recorded, which shows if particular occupants are consistently served
+ * later than others.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.muc.occupants</tt> - comma-separated amounts of occupants, excluding the sender (default: 10,100,1000)</li>
+ * <li><tt>sinttest.benchmark.muc.messages</tt> - the amount of messages that are sent to each room (default: 100)</li>
+ * <li><tt>sinttest.benchmark.muc.rate</tt> - the amount of messages sent per second (default: 10)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0045", version = "1.35.1")
+public class MucFanOutBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final DomainBareJid mucDomain;
+    private final List<Integer> occupantCounts;
+    private final int messageCount;
+    private final int rate;
+    private final long benchmarkTimeout;
+
+    public MucFanOutBenchmark(SmackIntegrationTestEnvironment environment) throws SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException, TestNotPossibleException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        mucDomain = MultiUserChatManager.getInstanceFor(conOne).getMucServiceDomains().stream().findFirst().orElseThrow(() -> new TestNotPossibleException("Unable to find a MUC service domain"));
+
+        occupantCounts = BenchmarkConfiguration.getIntegers("muc.occupants", List.of(10, 100, 1_000));
+        messageCount = BenchmarkConfiguration.getInteger("muc.messages", 100);
+        rate = BenchmarkConfiguration.getInteger("muc.rate", 10);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+    }
+
+    @SmackIntegrationTest(section = "7.4", quote = "If the sender has voice in the room [...] the service MUST change the 'from' attribute to the sender's occupant JID and reflect the message out to the full JID of each occupant.")
+    public void benchmarkGroupchatFanOut() throws Exception
+    {
+        for (final int occupantCount : occupantCounts) {
+            benchmark(occupantCount);
+        }
+    }
+
+    private void benchmark(final int occupantCount) throws Exception
+    {
+        final EntityBareJid roomAddress = JidCreate.entityBareFrom(Localpart.from("bench-fanout-" + occupantCount + "-" + StringUtils.insecureRandomString(6).toLowerCase()), mucDomain);
+        final MultiUserChat ownerRoom = MultiUserChatManager.getInstanceFor(conOne).getMultiUserChat(roomAddress);
+        final BenchmarkReport report = new BenchmarkReport("Groupchat fan-out to " + occupantCount + " occupants");
+
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration))
+        {
+            // Setup test fixture: create a room that can hold all occupants.
+            final MucConfigFormManager configFormManager = ownerRoom.create(Resourcepart.from("sender")).getConfigFormManager();
+            if (configFormManager.supportsMaxUsers()) {
+                final List<Integer> possibleValues = configFormManager.getPossibleMaxUsersValues();
+                if (possibleValues.isEmpty() || possibleValues.contains(0)) {
+                    configFormManager.setMaxUsers(0); // Zero is commonly used to represent 'unlimited'.
+                } else {
+                    final int largest = possibleValues.stream().mapToInt(Integer::intValue).max().getAsInt();
+                    if (largest < occupantCount + 1) {
+                        throw new TestNotPossibleException("Room '" + roomAddress + "' cannot be configured to hold more than " + largest + " occupants, which is less than the " + (occupantCount + 1) + " that are needed.");
+                    }
+                    configFormManager.setMaxUsers(largest);
+                }
+            }
+            configFormManager.submitConfigurationForm();
+
+            // Setup test fixture: have all occupants join the room.
+            final long joinStart = System.nanoTime();
+            final List<AbstractXMPPConnection> occupants = accounts.connect(accounts.create(occupantCount));
+            final List<Callable<Void>> joinTasks = new ArrayList<>(occupantCount);
+            for (int i = 0; i < occupantCount; i++) {
+                final AbstractXMPPConnection occupant = occupants.get(i);
+                final Resourcepart nickname = Resourcepart.from("occupant-" + i);
+                joinTasks.add(() -> {
+                    try {
+                        MultiUserChatManager.getInstanceFor(occupant).getMultiUserChat(roomAddress).join(nickname);
+                    } catch (XMPPException.XMPPErrorException e) {
+                        // XEP-0045 section 7.2.9: the maximum amount of occupants has been reached.
+                        if (e.getStanzaError().getCondition() == StanzaError.Condition.service_unavailable) {
+                            throw new TestNotPossibleException("Room '" + roomAddress + "' cannot hold " + (occupantCount + 1) + " occupants.");
+                        }
+                        throw e;
+                    }
+                    return null;
+                });
+            }
+            BenchmarkUtils.inParallel(accounts.getParallelism(), joinTasks);
+            report.add("Room population (accounts, logins and joins)", LatencyRecorder.toMillis(System.nanoTime() - joinStart));
+
+            // Setup test fixture: record the time at which each occupant receives each message.
+            final String needle = StringUtils.randomString(9) + " ";
+            final List<AtomicLongArray> receipts = new ArrayList<>(occupantCount);
+            final long expectedReceipts = (long) occupantCount * messageCount;
+            final AtomicLong receiptCount = new AtomicLong();
+            final SimpleResultSyncPoint allReceived = new SimpleResultSyncPoint();
+            final List<ListenerHandle> listenerHandles = new ArrayList<>(occupantCount);
+            try {
+                for (int i = 0; i < occupantCount; i++) {
+                    final AtomicLongArray receiptsOfOccupant = new AtomicLongArray(messageCount);
+                    receipts.add(receiptsOfOccupant);
+                    listenerHandles.add(occupants.get(i).addStanzaListener(stanza -> {
+                        final long now = System.nanoTime();
+                        final int index = getMessageIndex(needle, ((Message) stanza).getBody());
+                        if (index < 0 || index >= messageCount) {
+                            return; // Not a message of this benchmark (eg: room history, subject or a notice by the service).
+                        }
+                        if (receiptsOfOccupant.compareAndSet(index, 0, now)) {
+                            if (receiptCount.incrementAndGet() == expectedReceipts) {
+                                allReceived.signal();
+                            }
+                        }
+                    }, new AndFilter(MessageTypeFilter.GROUPCHAT, FromMatchesFilter.createBare(roomAddress))));
+                }
+
+                // Execute system under test.
+                final long[] sent = new long[messageCount];
+                final long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+                final long start = System.nanoTime();
+                for (int i = 0; i < messageCount; i++) {
+                    final long delay = start + i * interval - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                    sent[i] = System.nanoTime();
+                    ownerRoom.sendMessage(needle + i);
+                }
+
+                try {
+                    allReceived.waitForResult(benchmarkTimeout);
+                } catch (TimeoutException e) {
+                    LOGGER.log(Level.WARNING, "Not all occupants received all messages within " + benchmarkTimeout + "ms.");
+                }
+
+                // Verify result.
+                final LatencyRecorder firstReceipt = new LatencyRecorder();
+                final LatencyRecorder lastReceipt = new LatencyRecorder();
+                final LatencyRecorder spread = new LatencyRecorder();
+                final LatencyRecorder occupantMean = new LatencyRecorder();
+                long missing = 0;
+                for (int m = 0; m < messageCount; m++) {
+                    long first = Long.MAX_VALUE;
+                    long last = Long.MIN_VALUE;
+                    for (int o = 0; o < occupantCount; o++) {
+                        final long receipt = receipts.get(o).get(m);
+                        if (receipt == 0) {
+                            missing++;
+                            continue;
+                        }
+                        first = Math.min(first, receipt);
+                        last = Math.max(last, receipt);
+                    }
+                    if (first != Long.MAX_VALUE) {
+                        firstReceipt.record(first - sent[m]);
+                        lastReceipt.record(last - sent[m]);
+                        spread.record(last - first);
+                    }
+                }
+                for (int o = 0; o < occupantCount; o++) {
+                    long total = 0;
+                    int count = 0;
+                    final AtomicLongArray receiptsOfOccupant = receipts.get(o);
+                    for (int m = 0; m < messageCount; m++) {
+                        if (receiptsOfOccupant.get(m) != 0) {
+                            total += receiptsOfOccupant.get(m) - sent[m];
+                            count++;
+                        }
+                    }
+                    if (count > 0) {
+                        occupantMean.record(total / count);
+                    }
+                }
+
+                report.add("Messages sent", messageCount + " (target rate: " + rate + "/s)");
+                report.add("Deliveries", receiptCount.get() + " of " + expectedReceipts + " (" + missing + " missing)");
+                report.add("First receipt latency", firstReceipt);
+                report.add("Last receipt latency", lastReceipt);
+                report.add("Spread (last - first receipt)", spread);
+                report.add("Mean latency per occupant", occupantMean);
+                report.publish();
+
+                assertEquals(0, missing, "Expected each of the " + occupantCount + " occupants of room '" + roomAddress + "' to receive each of the " + messageCount + " groupchat messages sent by '" + conOne.getUser() + "' (but " + missing + " deliveries were missing).");
+            } finally {
+                listenerHandles.forEach(ListenerHandle::close);
+            }
+        } finally {
+            // Tear down test fixture.
+            try {
+                ownerRoom.destroy();
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Unable to destroy room '" + roomAddress + "' that was used by the benchmark.", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of a message that was sent by this benchmark, or -1 if the message body does not start with the
+     * needle that identifies the messages of this benchmark, followed by an index.
+     */
+    private static int getMessageIndex(final String needle, final String body)
+    {
+        if (body == null || !body.startsWith(needle)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(body.substring(needle.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
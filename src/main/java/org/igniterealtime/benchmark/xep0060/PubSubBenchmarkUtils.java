@@ -0,0 +1,204 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0060;
+
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.SmackFuture;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.NamedElement;
+import org.jivesoftware.smack.packet.StandardExtensionElement;
+import org.jivesoftware.smack.packet.Stanza;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.pubsub.EventElement;
+import org.jivesoftware.smackx.pubsub.Item;
+import org.jivesoftware.smackx.pubsub.ItemsExtension;
+import org.jivesoftware.smackx.pubsub.PayloadItem;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jivesoftware.smackx.pubsub.PublishItem;
+import org.jivesoftware.smackx.pubsub.form.FillableConfigureForm;
+import org.jivesoftware.smackx.shim.packet.Header;
+import org.jivesoftware.smackx.shim.packet.HeadersExtension;
+import org.jivesoftware.smackx.pubsub.packet.PubSub;
+import org.jxmpp.jid.Jid;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Various re-usable utility methods for PubSub benchmarks.
+ */
+public class PubSubBenchmarkUtils
+{
+    private static final Logger LOGGER = Logger.getLogger(PubSubBenchmarkUtils.class.getName());
+
+    /**
+     * The namespace of the payload of the items that are published by benchmarks.
+     */
+    public static final String PAYLOAD_NAMESPACE = "urn:xmpp:sinttest:benchmark:0";
+
+    /**
+     * Creates an item with a payload of (approximately) the requested size. The size is that of the text content of
+     * the payload, which excludes the XML of the payload element itself.
+     */
+    public static PayloadItem<StandardExtensionElement> createPayloadItem(final String itemId, final int payloadSize)
+    {
+        final StandardExtensionElement payload = StandardExtensionElement.builder("payload", PAYLOAD_NAMESPACE)
+            .setText(StringUtils.insecureRandomString(Math.max(1, payloadSize)))
+            .build();
+        return new PayloadItem<>(itemId, payload);
+    }
+
+    /**
+     * Creates the IQ request that publishes an item with a payload of (approximately) the requested size.
+     */
+    public static PubSub createPublishRequest(final Jid pubSubService, final String nodeId, final String itemId, final int payloadSize)
+    {
+        return PubSub.createPubsubPacket(pubSubService, IQ.Type.set, new PublishItem<>(nodeId, createPayloadItem(itemId, payloadSize)));
+    }
+
+    /**
+     * Creates the IQ request that publishes to a node without including an item, as required for nodes that are
+     * configured to be both notification-only and transient (XEP-0060 section 7.1.3.6).
+     */
+    public static PubSub createItemlessPublishRequest(final Jid pubSubService, final String nodeId)
+    {
+        return PubSub.createPubsubPacket(pubSubService, IQ.Type.set, new PublishItem<>(nodeId, Collections.<Item>emptyList()));
+    }
+
+    /**
+     * Publishes a number of items to a node, without waiting for the response to a publish request before sending the
+     * next request. At most <tt>windowSize</tt> requests are unanswered at any time.
+     *
+     * The item IDs are the provided prefix, followed by a sequence number (starting at zero).
+     *
+     * @param connection the connection used to publish the items.
+     * @param pubSubService the address of the PubSub service.
+     * @param nodeId the ID of the node to publish to.
+     * @param itemIdPrefix the prefix of the ID of each item.
+     * @param count the amount of items to publish.
+     * @param payloadSize the size (in characters) of the payload of each item.
+     * @param windowSize the maximum amount of unanswered publish requests.
+     * @param timeout the maximum duration (in milliseconds) to wait for each response.
+     * @throws Exception when any of the publish requests failed.
+     */
+    public static void publishPipelined(final XMPPConnection connection, final Jid pubSubService, final String nodeId, final String itemIdPrefix, final int count, final int payloadSize, final int windowSize, final long timeout) throws Exception
+    {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window size must be a positive number, but was: " + windowSize);
+        }
+        final Deque<SmackFuture<IQ, Exception>> inFlight = new ArrayDeque<>(windowSize);
+        for (int i = 0; i < count; i++) {
+            if (inFlight.size() >= windowSize) {
+                inFlight.removeFirst().getOrThrow();
+            }
+            inFlight.addLast(connection.sendIqRequestAsync(createPublishRequest(pubSubService, nodeId, itemIdPrefix + i, payloadSize), timeout));
+        }
+        while (!inFlight.isEmpty()) {
+            inFlight.removeFirst().getOrThrow();
+        }
+    }
+
+    /**
+     * Creates a leaf node, based on the default node configuration of the service, as modified by the provided
+     * configurer.
+     *
+     * @param pubSubManager manager for the service on which the node is to be created.
+     * @param nodeId the ID of the node to create.
+     * @param configurer modifies the default node configuration (can be null).
+     */
+    public static void createLeafNode(final PubSubManager pubSubManager, final String nodeId, final Consumer<FillableConfigureForm> configurer) throws SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        final FillableConfigureForm config = pubSubManager.getDefaultConfiguration().getFillableForm();
+        if (configurer != null) {
+            configurer.accept(config);
+        }
+        pubSubManager.createNode(nodeId, config);
+    }
+
+    /**
+     * Checks if the provided stanza is a notification of items that were published to the node with the provided ID.
+     * Notifications of publications to transient, notification-only nodes do not contain an item, and can only be
+     * identified by the node.
+     */
+    public static boolean isItemsNotification(final Stanza stanza, final String nodeId)
+    {
+        final EventElement event = EventElement.from(stanza);
+        return event != null && event.getEvent() instanceof ItemsExtension && ((ItemsExtension) event.getEvent()).getItemsElementType() == ItemsExtension.ItemsElementType.items && nodeId.equals(((ItemsExtension) event.getEvent()).getNode());
+    }
+
+    /**
+     * Returns the IDs of the items that are included in an event notification, or an empty collection when the
+     * provided stanza is not a notification of published items.
+     */
+    public static List<String> getNotifiedItemIds(final Stanza stanza)
+    {
+        final EventElement event = EventElement.from(stanza);
+        if (event == null || !(event.getEvent() instanceof ItemsExtension)) {
+            return Collections.emptyList();
+        }
+        final List<String> result = new ArrayList<>();
+        for (final NamedElement element : ((ItemsExtension) event.getEvent()).getItems()) {
+            if (element instanceof Item && ((Item) element).getId() != null) {
+                result.add(((Item) element).getId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the amount of subscriptions that caused an event notification to be sent.
+     *
+     * When an entity has multiple subscriptions to a node, a service can send one notification that identifies all
+     * subscriptions that it applies to, by including a 'SubID' header for each of them. This method counts these
+     * headers, and returns one if there are none.
+     */
+    public static int getNotifiedSubscriptionCount(final Stanza stanza)
+    {
+        final HeadersExtension headers = HeadersExtension.from(stanza);
+        if (headers == null) {
+            return 1;
+        }
+        int result = 0;
+        for (final Header header : headers.getHeaders()) {
+            if ("SubID".equals(header.getName())) {
+                result++;
+            }
+        }
+        return Math.max(1, result);
+    }
+
+    /**
+     * Deletes a node, logging (rather than throwing) any errors. This is intended to be used to clean up after a benchmark.
+     */
+    public static void tryDeleteNode(final XMPPConnection connection, final PubSubManager pubSubManager, final String nodeId)
+    {
+        try {
+            if (connection.isConnected()) {
+                pubSubManager.deleteNode(nodeId);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Unable to delete node '" + nodeId + "' that was used by a benchmark.", e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0060;
+
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.xep0060.PubSubUtils;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
+import org.jivesoftware.smackx.disco.packet.DiscoverItems;
+import org.jivesoftware.smackx.pubsub.NodeType;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jxmpp.jid.DomainBareJid;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures service discovery of a hierarchy of PubSub collection nodes, as described in section 5.2 "Discover Nodes"
+ * and section 5.3 "Discover Node Information" of XEP-0060.
+ *
+ * A tree of nodes is generated below a single root collection node: every collection node has the configured amount
+ * of children, up to the configured depth. The nodes at the deepest level are leaf nodes. The nodes of each level are
+ * created in parallel. Then, the latency of disco#items and disco#info requests is measured for a sample of nodes at
+ * each level, and the time it takes to enumerate the entire tree (as a client that browses the service would do, by
+ * issuing disco#items requests from the root downwards) is measured.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.pubsub.tree.depth</tt> - the amount of levels below the root node (default: 4)</li>
+ * <li><tt>sinttest.benchmark.pubsub.tree.fanout</tt> - the amount of children of each collection node (default: 5)</li>
+ * <li><tt>sinttest.benchmark.pubsub.tree.samples</tt> - the maximum amount of nodes per level for which requests are measured (default: 10)</li>
+ * <li><tt>sinttest.benchmark.pubsub.tree.iterations</tt> - how often the full enumeration of the tree is repeated (default: 3)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0060", version = "1.26.0")
+public class PubSubCollectionTreeBenchmark extends AbstractSmackIntegrationTest
+{
+    private final DomainBareJid pubSubService;
+    private final PubSubManager pubSubManagerOne;
+
+    private final int depth;
+    private final int fanout;
+    private final int samples;
+    private final int iterations;
+    private final long benchmarkTimeout;
+
+    public PubSubCollectionTreeBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException, SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+
+        pubSubService = PubSubUtils.getPubSubServiceThatAllowsNodeCreation(conOne);
+        pubSubManagerOne = PubSubManager.getInstanceFor(conOne, pubSubService);
+
+        final DiscoverInfo pubsubServiceInfo = ServiceDiscoveryManager.getInstanceFor(conOne).discoverInfo(pubSubService);
+        if (!pubsubServiceInfo.containsFeature("http://jabber.org/protocol/pubsub#collections")) {
+            throw new TestNotPossibleException("PubSub service does not support collection nodes.");
+        }
+
+        depth = BenchmarkConfiguration.getInteger("pubsub.tree.depth", 4);
+        fanout = BenchmarkConfiguration.getInteger("pubsub.tree.fanout", 5);
+        samples = BenchmarkConfiguration.getInteger("pubsub.tree.samples", 10);
+        iterations = BenchmarkConfiguration.getInteger("pubsub.tree.iterations", 3);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+
+        if (depth < 1 || fanout < 1) {
+            throw new IllegalArgumentException("The depth and fan-out of the collection tree must be positive numbers.");
+        }
+    }
+
+    @SmackIntegrationTest(section = "5.2", quote = "If a service implements a hierarchy of nodes (by means of Collection Nodes), it MUST also enable entities to discover the nodes in that hierarchy by means of the Service Discovery protocol [...]")
+    public void benchmarkCollectionTreeDiscovery() throws Exception
+    {
+        final String rootNodeId = "bench-tree-" + StringUtils.insecureRandomString(8).toLowerCase();
+        final BenchmarkReport report = new BenchmarkReport("Discovery of a collection tree (depth " + depth + ", fan-out " + fanout + ")");
+
+        // Nodes by level. Level zero holds the root node only.
+        final List<List<String>> levels = new ArrayList<>(depth + 1);
+        levels.add(List.of(rootNodeId));
+        try {
+            // Setup test fixture: create the tree, level by level.
+            final long setupStart = System.nanoTime();
+            try {
+                createNode(rootNodeId, null, true);
+            } catch (XMPPException.XMPPErrorException e) {
+                throw new TestNotPossibleException("Unable to create a Collection Node.", e);
+            }
+            for (int level = 1; level <= depth; level++) {
+                final boolean collection = level < depth;
+                final List<String> nodeIds = new ArrayList<>();
+                final List<Callable<Void>> tasks = new ArrayList<>();
+                for (final String parent : levels.get(level - 1)) {
+                    for (int child = 0; child < fanout; child++) {
+                        final String nodeId = parent + "." + child;
+                        nodeIds.add(nodeId);
+                        tasks.add(() -> { createNode(nodeId, parent, collection); return null; });
+                    }
+                }
+                levels.add(nodeIds);
+                BenchmarkUtils.inParallel(BenchmarkConfiguration.getSetupParallelism(), tasks);
+            }
+            final int nodeCount = levels.stream().mapToInt(List::size).sum();
+            report.add("Tree generation", LatencyRecorder.toMillis(System.nanoTime() - setupStart) + " (" + nodeCount + " nodes)");
+
+            // Execute system under test: disco#items and disco#info, per level.
+            final ServiceDiscoveryManager serviceDiscoveryManager = ServiceDiscoveryManager.getInstanceFor(conOne);
+            for (int level = 0; level <= depth; level++) {
+                final List<String> nodeIds = levels.get(level);
+                final LatencyRecorder itemsLatency = new LatencyRecorder();
+                final LatencyRecorder infoLatency = new LatencyRecorder();
+                for (int i = 0; i < Math.min(samples, nodeIds.size()); i++) {
+                    final String nodeId = nodeIds.get(i * nodeIds.size() / Math.min(samples, nodeIds.size())); // Spread the samples over the level.
+
+                    long start = System.nanoTime();
+                    serviceDiscoveryManager.discoverItems(pubSubService, nodeId);
+                    itemsLatency.recordSince(start);
+
+                    start = System.nanoTime();
+                    serviceDiscoveryManager.discoverInfo(pubSubService, nodeId);
+                    infoLatency.recordSince(start);
+                }
+                report.add("Level " + level + " disco#items", itemsLatency);
+                report.add("Level " + level + " disco#info", infoLatency);
+            }
+
+            // Execute system under test: enumerate the whole tree.
+            final LatencyRecorder enumeration = new LatencyRecorder();
+            Set<String> discovered = Collections.emptySet();
+            for (int i = 0; i < iterations; i++) {
+                final long start = System.nanoTime();
+                discovered = enumerate(serviceDiscoveryManager, rootNodeId);
+                enumeration.recordSince(start);
+            }
+            report.add("Full enumeration", enumeration);
+            report.publish();
+
+            // Verify result.
+            assertEquals(nodeCount - 1, discovered.size(), "Expected enumeration of the collection tree below node '" + rootNodeId + "' by '" + conOne.getUser() + "' to find all nodes that were created in that tree.");
+        } finally {
+            // Tear down test fixture: delete the tree from the leaves upwards.
+            for (int level = levels.size() - 1; level >= 0; level--) {
+                final List<Callable<Void>> tasks = new ArrayList<>();
+                for (final String nodeId : levels.get(level)) {
+                    tasks.add(() -> { PubSubBenchmarkUtils.tryDeleteNode(conOne, pubSubManagerOne, nodeId); return null; });
+                }
+                BenchmarkUtils.inParallel(BenchmarkConfiguration.getSetupParallelism(), tasks);
+            }
+        }
+    }
+
+    private void createNode(final String nodeId, final String parent, final boolean collection) throws SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        PubSubBenchmarkUtils.createLeafNode(pubSubManagerOne, nodeId, config -> {
+            if (collection) {
+                config.setNodeType(NodeType.collection);
+            }
+            if (parent != null) {
+                config.setCollection(parent);
+            }
+        });
+    }
+
+    /**
+     * Discovers all nodes below the provided node, by issuing disco#items requests from that node downwards.
+     */
+    private Set<String> enumerate(final ServiceDiscoveryManager serviceDiscoveryManager, final String rootNodeId) throws SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        final Set<String> result = new HashSet<>();
+        final Deque<String> toVisit = new ArrayDeque<>();
+        toVisit.add(rootNodeId);
+        while (!toVisit.isEmpty()) {
+            final DiscoverItems items = serviceDiscoveryManager.discoverItems(pubSubService, toVisit.removeFirst());
+            for (final DiscoverItems.Item item : items.getItems()) {
+                final String nodeId = item.getNode() != null ? item.getNode() : item.getEntityID().getResourceOrEmpty().toString();
+                if (!nodeId.isEmpty() && result.add(nodeId)) {
+                    toVisit.addLast(nodeId);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0060;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
+import org.igniterealtime.smack.inttest.xep0060.PubSubUtils;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.SmackFuture;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.filter.StanzaTypeFilter;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+import org.jivesoftware.smackx.pubsub.Node;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jxmpp.jid.DomainBareJid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures how the fan-out of PubSub event notifications scales with the amount of subscriptions to a node.
+ *
+ * For each configured amount of subscriptions, a leaf node is created by 'conOne', after which newly created accounts
+ * subscribe to it. Each of these accounts uses one connection, which can hold more than one subscription if the
+ * service supports multiple subscriptions (as described in section 6.1.6 of XEP-0060). Then, 'conOne' publishes items at
+ * a controlled rate. For each item, the time until the first and until the last subscription was notified is
+ * recorded, as well as the spread between the two. Notifications that did not arrive are reported as dropped.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.pubsub.subscribers</tt> - comma-separated amounts of subscriptions (default: 1,100,1000,10000)</li>
+ * <li><tt>sinttest.benchmark.pubsub.subscriptionsPerConnection</tt> - the amount of subscriptions held by each connection (default: 1)</li>
+ * <li><tt>sinttest.benchmark.pubsub.fanout.items</tt> - the amount of items published for each amount of subscriptions (default: 20)</li>
+ * <li><tt>sinttest.benchmark.pubsub.fanout.rate</tt> - the amount of items published per second (default: 2)</li>
+ * <li><tt>sinttest.benchmark.pubsub.payloadSize</tt> - the size (in characters) of the payload of each item (default: 256)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0060", version = "1.26.0")
+public class PubSubFanOutBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final DomainBareJid pubSubService;
+    private final PubSubManager pubSubManagerOne;
+
+    private final List<Integer> subscriptionCounts;
+    private final int subscriptionsPerConnection;
+    private final int itemCount;
+    private final int rate;
+    private final int payloadSize;
+    private final long benchmarkTimeout;
+
+    public PubSubFanOutBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException, SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        pubSubService = PubSubUtils.getPubSubServiceThatAllowsNodeCreation(conOne);
+        pubSubManagerOne = PubSubManager.getInstanceFor(conOne, pubSubService);
+
+        subscriptionCounts = BenchmarkConfiguration.getIntegers("pubsub.subscribers", List.of(1, 100, 1_000, 10_000));
+        subscriptionsPerConnection = BenchmarkConfiguration.getInteger("pubsub.subscriptionsPerConnection", 1);
+        itemCount = BenchmarkConfiguration.getInteger("pubsub.fanout.items", 20);
+        rate = BenchmarkConfiguration.getInteger("pubsub.fanout.rate", 2);
+        payloadSize = BenchmarkConfiguration.getInteger("pubsub.payloadSize", 256);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+
+        if (subscriptionsPerConnection < 1) {
+            throw new IllegalArgumentException("The amount of subscriptions per connection must be a positive number, but was: " + subscriptionsPerConnection);
+        }
+        if (subscriptionsPerConnection > 1 && !ServiceDiscoveryManager.getInstanceFor(conOne).supportsFeature(pubSubService, "http://jabber.org/protocol/pubsub#multi-subscribe")) {
+            throw new TestNotPossibleException("PubSub service does not support multiple subscriptions, which is required when using more than one subscription per connection.");
+        }
+    }
+
+    @SmackIntegrationTest(section = "7.1")
+    public void benchmarkNotificationFanOut() throws Exception
+    {
+        for (final int subscriptionCount : subscriptionCounts) {
+            benchmark(subscriptionCount);
+        }
+    }
+
+    private void benchmark(final int subscriptionCount) throws Exception
+    {
+        final String nodeId = "bench-fanout-" + StringUtils.insecureRandomString(8).toLowerCase();
+        final int connectionCount = (subscriptionCount + subscriptionsPerConnection - 1) / subscriptionsPerConnection;
+        final BenchmarkReport report = new BenchmarkReport("Notification fan-out to " + subscriptionCount + " subscriptions (on " + connectionCount + " connections)");
+
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration))
+        {
+            // Setup test fixture: create the node, and subscribe to it.
+            PubSubBenchmarkUtils.createLeafNode(pubSubManagerOne, nodeId, null);
+
+            final long setupStart = System.nanoTime();
+            final List<AbstractXMPPConnection> subscribers = accounts.connect(accounts.create(connectionCount));
+            final List<Callable<Void>> subscribeTasks = new ArrayList<>(subscriptionCount);
+            for (int s = 0; s < subscriptionCount; s++) {
+                final AbstractXMPPConnection subscriber = subscribers.get(s / subscriptionsPerConnection);
+                subscribeTasks.add(() -> {
+                    final Node node = PubSubManager.getInstanceFor(subscriber, pubSubService).getNode(nodeId);
+                    node.subscribe(subscriber.getUser().asEntityBareJid());
+                    return null;
+                });
+            }
+            BenchmarkUtils.inParallel(accounts.getParallelism(), subscribeTasks);
+            report.add("Subscription setup (accounts, logins and subscriptions)", LatencyRecorder.toMillis(System.nanoTime() - setupStart));
+
+            // Setup test fixture: record the time at which each connection receives notifications for each item.
+            final String itemIdPrefix = StringUtils.randomString(7) + "-";
+            final long[][] receipts = new long[connectionCount][itemCount];
+            final AtomicLong notifiedSubscriptions = new AtomicLong();
+            final long expectedNotifiedSubscriptions = (long) subscriptionCount * itemCount;
+            final SimpleResultSyncPoint allNotified = new SimpleResultSyncPoint();
+            final List<ListenerHandle> listenerHandles = new ArrayList<>(connectionCount);
+            try {
+                for (int c = 0; c < connectionCount; c++) {
+                    final long[] receiptsOfConnection = receipts[c];
+                    listenerHandles.add(subscribers.get(c).addStanzaListener(stanza -> {
+                        final long now = System.nanoTime();
+                        for (final String itemId : PubSubBenchmarkUtils.getNotifiedItemIds(stanza)) {
+                            if (!itemId.startsWith(itemIdPrefix)) {
+                                continue;
+                            }
+                            final int index = Integer.parseInt(itemId.substring(itemIdPrefix.length()));
+                            if (receiptsOfConnection[index] == 0) {
+                                receiptsOfConnection[index] = now;
+                            }
+                            if (notifiedSubscriptions.addAndGet(PubSubBenchmarkUtils.getNotifiedSubscriptionCount(stanza)) >= expectedNotifiedSubscriptions) {
+                                allNotified.signal();
+                            }
+                        }
+                    }, StanzaTypeFilter.MESSAGE));
+                }
+
+                // Execute system under test.
+                final long[] sent = new long[itemCount];
+                final List<SmackFuture<IQ, Exception>> responses = new ArrayList<>(itemCount);
+                final long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+                final long start = System.nanoTime();
+                for (int i = 0; i < itemCount; i++) {
+                    final long delay = start + i * interval - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                    sent[i] = System.nanoTime();
+                    responses.add(conOne.sendIqRequestAsync(PubSubBenchmarkUtils.createPublishRequest(pubSubService, nodeId, itemIdPrefix + i, payloadSize), benchmarkTimeout));
+                }
+                SmackFuture.await(responses, benchmarkTimeout);
+                final long publishErrors = responses.stream().filter(r -> !r.wasSuccessful()).count();
+
+                try {
+                    allNotified.waitForResult(benchmarkTimeout);
+                } catch (TimeoutException e) {
+                    LOGGER.log(Level.WARNING, "Not all notifications were received within " + benchmarkTimeout + "ms.");
+                }
+
+                // Verify result.
+                final LatencyRecorder firstNotified = new LatencyRecorder();
+                final LatencyRecorder lastNotified = new LatencyRecorder();
+                final LatencyRecorder spread = new LatencyRecorder();
+                for (int i = 0; i < itemCount; i++) {
+                    long first = Long.MAX_VALUE;
+                    long last = Long.MIN_VALUE;
+                    for (int c = 0; c < connectionCount; c++) {
+                        if (receipts[c][i] != 0) {
+                            first = Math.min(first, receipts[c][i]);
+                            last = Math.max(last, receipts[c][i]);
+                        }
+                    }
+                    if (first != Long.MAX_VALUE) {
+                        firstNotified.record(first - sent[i]);
+                        lastNotified.record(last - sent[i]);
+                        spread.record(last - first);
+                    }
+                }
+                final long dropped = Math.max(0, expectedNotifiedSubscriptions - notifiedSubscriptions.get());
+
+                report.add("Items published", itemCount + " (" + publishErrors + " errors, target rate: " + rate + "/s)");
+                report.add("Time until first subscriber notified", firstNotified);
+                report.add("Time until last subscriber notified", lastNotified);
+                report.add("Spread (last - first notification)", spread);
+                report.add("Notifications", notifiedSubscriptions.get() + " of " + expectedNotifiedSubscriptions + " (" + dropped + " dropped)");
+                report.publish();
+
+                assertEquals(0, dropped, "Expected each of the " + subscriptionCount + " subscriptions to node '" + nodeId + "' to be notified of each of the " + itemCount + " items published by '" + conOne.getUser() + "' (but " + dropped + " notifications were not received).");
+            } finally {
+                listenerHandles.forEach(ListenerHandle::close);
+            }
+        } finally {
+            // Tear down test fixture.
+            PubSubBenchmarkUtils.tryDeleteNode(conOne, pubSubManagerOne, nodeId);
+        }
+    }
+}
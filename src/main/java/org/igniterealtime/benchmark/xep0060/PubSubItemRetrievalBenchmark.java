@@ -0,0 +1,258 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0060;
+
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.xep0060.PubSubUtils;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.XmlElement;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.pubsub.GetItemsRequest;
+import org.jivesoftware.smackx.pubsub.ItemsExtension;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jivesoftware.smackx.pubsub.packet.PubSub;
+import org.jivesoftware.smackx.rsm.packet.RSMSet;
+import org.jxmpp.jid.DomainBareJid;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the retrieval of items from a PubSub node that holds many items.
+ *
+ * 'conOne' creates a leaf node that persists items, and fills it (using pipelined publish requests) with as many items
+ * as configured, or as many as the 'max_items' configuration of the node allows. Then, the items are retrieved:
+ * <ul>
+ * <li>all at once, as described in section 6.5.2 of XEP-0060,</li>
+ * <li>the most recent N items, as described in section 6.5.7 of XEP-0060, and</li>
+ * <li>page by page, using Result Set Management, as described in section 6.5.4 of XEP-0060.</li>
+ * </ul>
+ * The latency of each request (for paging: of each page) and the amount of bytes received per item are reported.
+ * Requests that fail or time out are reported too, as that is a failure mode that this benchmark intends to detect.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.pubsub.retrieval.items</tt> - the amount of items to store in the node, if the node allows it (default: 100000)</li>
+ * <li><tt>sinttest.benchmark.pubsub.retrieval.lastN</tt> - comma-separated amounts of most recent items to request (default: 10,100,1000)</li>
+ * <li><tt>sinttest.benchmark.pubsub.retrieval.pageSizes</tt> - comma-separated page sizes used with Result Set Management (default: 10,100,1000)</li>
+ * <li><tt>sinttest.benchmark.pubsub.retrieval.maxPages</tt> - the maximum amount of pages requested for each page size (default: 1000)</li>
+ * <li><tt>sinttest.benchmark.pubsub.retrieval.iterations</tt> - how often each non-paged request is repeated (default: 3)</li>
+ * <li><tt>sinttest.benchmark.pubsub.payloadSize</tt> - the size (in characters) of the payload of each item (default: 256)</li>
+ * <li><tt>sinttest.benchmark.pubsub.window</tt> - the maximum amount of unanswered publish requests while filling the node (default: 50)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0060", version = "1.26.0")
+public class PubSubItemRetrievalBenchmark extends AbstractSmackIntegrationTest
+{
+    private final DomainBareJid pubSubService;
+    private final PubSubManager pubSubManagerOne;
+
+    private final int requestedItemCount;
+    private final List<Integer> lastNs;
+    private final List<Integer> pageSizes;
+    private final int maxPages;
+    private final int iterations;
+    private final int payloadSize;
+    private final int windowSize;
+    private final long benchmarkTimeout;
+
+    public PubSubItemRetrievalBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException, SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+
+        pubSubService = PubSubUtils.getPubSubServiceThatAllowsNodeCreation(conOne);
+        pubSubManagerOne = PubSubManager.getInstanceFor(conOne, pubSubService);
+
+        requestedItemCount = BenchmarkConfiguration.getInteger("pubsub.retrieval.items", 100_000);
+        lastNs = BenchmarkConfiguration.getIntegers("pubsub.retrieval.lastN", List.of(10, 100, 1_000));
+        pageSizes = BenchmarkConfiguration.getIntegers("pubsub.retrieval.pageSizes", List.of(10, 100, 1_000));
+        maxPages = BenchmarkConfiguration.getInteger("pubsub.retrieval.maxPages", 1_000);
+        iterations = BenchmarkConfiguration.getInteger("pubsub.retrieval.iterations", 3);
+        payloadSize = BenchmarkConfiguration.getInteger("pubsub.payloadSize", 256);
+        windowSize = BenchmarkConfiguration.getInteger("pubsub.window", 50);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+    }
+
+    @SmackIntegrationTest(section = "6.5")
+    public void benchmarkItemRetrieval() throws Exception
+    {
+        final String nodeId = "bench-retrieval-" + StringUtils.insecureRandomString(8).toLowerCase();
+
+        // Setup test fixture: create a node that can hold as many items as possible.
+        try {
+            PubSubBenchmarkUtils.createLeafNode(pubSubManagerOne, nodeId, config -> {
+                config.setPersistentItems(true);
+                config.setMaxItems(requestedItemCount);
+            });
+        } catch (XMPPException.XMPPErrorException e) {
+            try {
+                PubSubBenchmarkUtils.createLeafNode(pubSubManagerOne, nodeId, config -> config.setPersistentItems(true));
+            } catch (XMPPException.XMPPErrorException e2) {
+                throw new TestNotPossibleException("Unable to create a node that persists items.", e2);
+            }
+        }
+
+        try {
+            final String maxItems = pubSubManagerOne.getNode(nodeId).getNodeConfiguration().readFirstValue("pubsub#max_items");
+            final int itemCount;
+            if (maxItems == null || maxItems.isBlank() || "max".equals(maxItems.trim())) {
+                itemCount = requestedItemCount;
+            } else {
+                itemCount = Math.min(requestedItemCount, Integer.parseInt(maxItems.trim()));
+            }
+
+            final BenchmarkReport report = new BenchmarkReport("Item retrieval from a node with " + itemCount + " items of " + payloadSize + " characters");
+            report.add("Node 'max_items'", maxItems == null ? "(not reported)" : maxItems);
+
+            // Setup test fixture: fill the node.
+            final long fillStart = System.nanoTime();
+            PubSubBenchmarkUtils.publishPipelined(conOne, pubSubService, nodeId, "item-", itemCount, payloadSize, windowSize, benchmarkTimeout);
+            final long fillDuration = System.nanoTime() - fillStart;
+            report.add("Filling the node", LatencyRecorder.toMillis(fillDuration) + " (" + BenchmarkUtils.perSecond(itemCount, fillDuration) + ")");
+
+            // Execute system under test: retrieve all items.
+            final Measurement all = new Measurement();
+            for (int i = 0; i < iterations; i++) {
+                all.add(retrieve(PubSub.createPubsubPacket(pubSubService, IQ.Type.get, new GetItemsRequest(nodeId))));
+            }
+            report.add("All items", all);
+
+            // Execute system under test: retrieve the most recent items.
+            for (final int lastN : lastNs) {
+                final Measurement measurement = new Measurement();
+                for (int i = 0; i < iterations; i++) {
+                    measurement.add(retrieve(PubSub.createPubsubPacket(pubSubService, IQ.Type.get, new GetItemsRequest(nodeId, lastN))));
+                }
+                report.add("Last " + lastN + " items", measurement);
+            }
+
+            // Execute system under test: retrieve all items, page by page.
+            for (final int pageSize : pageSizes) {
+                final Measurement measurement = new Measurement();
+                final long start = System.nanoTime();
+                String after = null;
+                String outcome = null;
+                for (int page = 0; page < maxPages; page++) {
+                    final PubSub request = PubSub.createPubsubPacket(pubSubService, IQ.Type.get, new GetItemsRequest(nodeId));
+                    request.addExtension(after == null ? new RSMSet(pageSize) : new RSMSet(pageSize, after, RSMSet.PageDirection.after));
+                    final Retrieval retrieval = retrieve(request);
+                    measurement.add(retrieval);
+                    if (retrieval.failure != null) {
+                        outcome = "failed on page " + (page + 1);
+                        break;
+                    }
+                    if (retrieval.rsm == null) {
+                        outcome = "not supported (response did not include a result set)";
+                        break;
+                    }
+                    if (retrieval.items < pageSize || retrieval.rsm.getLast() == null) {
+                        outcome = "complete";
+                        break;
+                    }
+                    after = retrieval.rsm.getLast();
+                }
+                report.add("Pages of " + pageSize + " items (" + (outcome == null ? "stopped after " + maxPages + " pages" : outcome) + ")", measurement + ", total " + LatencyRecorder.toMillis(System.nanoTime() - start));
+            }
+            report.publish();
+
+            // Verify result.
+            assertEquals(0, all.failures, "Expected the service to return all items of node '" + nodeId + "' (holding " + itemCount + " items) when requested by '" + conOne.getUser() + "' (but " + all.failures + " of " + iterations + " requests failed).");
+        } finally {
+            // Tear down test fixture.
+            PubSubBenchmarkUtils.tryDeleteNode(conOne, pubSubManagerOne, nodeId);
+        }
+    }
+
+    /**
+     * Sends a request for items, and records the latency, size and content of the response. A failure to obtain a
+     * response is recorded, rather than thrown.
+     */
+    private Retrieval retrieve(final PubSub request) throws InterruptedException
+    {
+        final Retrieval result = new Retrieval();
+        final long start = System.nanoTime();
+        try {
+            final IQ response = conOne.sendIqRequestAsync(request, benchmarkTimeout).getOrThrow();
+            result.nanos = System.nanoTime() - start;
+            result.bytes = BenchmarkUtils.getSize(response);
+            for (final XmlElement extension : response.getExtensions()) {
+                if (extension instanceof ItemsExtension) {
+                    result.items += ((ItemsExtension) extension).getItems().size();
+                }
+            }
+            result.rsm = RSMSet.from(response);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            result.nanos = System.nanoTime() - start;
+            result.failure = e;
+        }
+        return result;
+    }
+
+    private static final class Retrieval
+    {
+        long nanos;
+        long bytes;
+        int items;
+        RSMSet rsm;
+        Exception failure;
+    }
+
+    private static final class Measurement
+    {
+        final LatencyRecorder latency = new LatencyRecorder();
+        long bytes;
+        long items;
+        int failures;
+        Exception lastFailure;
+
+        void add(final Retrieval retrieval)
+        {
+            if (retrieval.failure != null) {
+                failures++;
+                lastFailure = retrieval.failure;
+                return;
+            }
+            latency.record(retrieval.nanos);
+            bytes += retrieval.bytes;
+            items += retrieval.items;
+        }
+
+        @Override
+        public String toString()
+        {
+            final StringBuilder sb = new StringBuilder(latency.toString());
+            sb.append(", ").append(items == 0 ? "n/a" : String.valueOf(bytes / items)).append(" bytes/item");
+            if (failures > 0) {
+                sb.append(", ").append(failures).append(" failed (").append(lastFailure).append(')');
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0060;
+
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
+import org.igniterealtime.smack.inttest.xep0060.PubSubUtils;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.SmackFuture;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.filter.StanzaTypeFilter;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jxmpp.jid.DomainBareJid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the throughput and latency of publishing items to a leaf node, and of the notifications that are sent to a
+ * subscriber of that node.
+ *
+ * 'conOne' creates a leaf node, to which 'conTwo' subscribes. 'conOne' then publishes items of a configured size at a
+ * target rate, without waiting for the response to each publish request. The latency of each publish request, the
+ * delay between the publication of an item and the receipt of the corresponding notification by 'conTwo', and the
+ * sustained throughput are reported.
+ *
+ * This is repeated for each combination of the 'deliver payloads' and 'persist items' node configuration options.
+ * Combinations that the service does not allow to be configured are reported as such. For a node that is both
+ * notification-only and transient, publish requests do not include an item, as required by section 7.1.3.6.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.pubsub.items</tt> - the amount of items published in each run (default: 1000)</li>
+ * <li><tt>sinttest.benchmark.pubsub.payloadSize</tt> - the size (in characters) of the payload of each item (default: 256)</li>
+ * <li><tt>sinttest.benchmark.pubsub.rate</tt> - the amount of items published per second (default: 100)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0060", version = "1.26.0")
+public class PubSubPublishBenchmark extends AbstractSmackIntegrationTest
+{
+    private final DomainBareJid pubSubService;
+    private final PubSubManager pubSubManagerOne;
+    private final PubSubManager pubSubManagerTwo;
+
+    private final int itemCount;
+    private final int payloadSize;
+    private final int rate;
+    private final long benchmarkTimeout;
+
+    public PubSubPublishBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException, SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+
+        pubSubService = PubSubUtils.getPubSubServiceThatAllowsNodeCreation(conOne);
+        pubSubManagerOne = PubSubManager.getInstanceFor(conOne, pubSubService);
+        pubSubManagerTwo = PubSubManager.getInstanceFor(conTwo, pubSubService);
+
+        itemCount = BenchmarkConfiguration.getInteger("pubsub.items", 1_000);
+        payloadSize = BenchmarkConfiguration.getInteger("pubsub.payloadSize", 256);
+        rate = BenchmarkConfiguration.getInteger("pubsub.rate", 100);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+    }
+
+    @SmackIntegrationTest(section = "7.1")
+    public void benchmarkPublishToNotify() throws Exception
+    {
+        // Run all combinations before asserting, so that a failure in one does not prevent the others from being measured.
+        final List<String> failures = new ArrayList<>();
+        for (final boolean deliverPayloads : new boolean[] { true, false }) {
+            for (final boolean persistItems : new boolean[] { true, false }) {
+                failures.addAll(benchmark(deliverPayloads, persistItems));
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join(" ", failures));
+    }
+
+    /**
+     * Runs the benchmark for one node configuration, returning a description of each failed expectation.
+     */
+    private List<String> benchmark(final boolean deliverPayloads, final boolean persistItems) throws Exception
+    {
+        // A publish request to a transient, notification-only node must not include an item (XEP-0060 section 7.1.3.6).
+        // The notifications that are sent for such a node do not include an item either, and are correlated with the
+        // publish requests by the order in which they are received.
+        final boolean itemless = !deliverPayloads && !persistItems;
+        final List<String> failures = new ArrayList<>();
+        final String nodeId = "bench-publish-" + StringUtils.insecureRandomString(8).toLowerCase();
+        final BenchmarkReport report = new BenchmarkReport("Publish to notify (" + itemCount + " items of " + payloadSize + " characters, deliver payloads: " + deliverPayloads + ", persist items: " + persistItems + ")");
+
+        // Setup test fixture.
+        try {
+            PubSubBenchmarkUtils.createLeafNode(pubSubManagerOne, nodeId, config -> {
+                config.setDeliverPayloads(deliverPayloads);
+                config.setPersistentItems(persistItems);
+            });
+        } catch (XMPPException.XMPPErrorException e) {
+            report.add("Skipped", "The service did not allow a node with this configuration to be created: " + e.getStanzaError().getCondition()).publish();
+            return failures;
+        }
+
+        try {
+            pubSubManagerTwo.getNode(nodeId).subscribe(conTwo.getUser().asEntityBareJid());
+
+            // Setup test fixture: record when each notification is received.
+            final String itemIdPrefix = StringUtils.randomString(7) + "-";
+            final AtomicLongArray notified = new AtomicLongArray(itemCount);
+            final AtomicInteger notificationCount = new AtomicInteger();
+            final SimpleResultSyncPoint allNotified = new SimpleResultSyncPoint();
+            final ListenerHandle listenerHandle = conTwo.addStanzaListener(stanza -> {
+                final long now = System.nanoTime();
+                if (itemless) {
+                    if (PubSubBenchmarkUtils.isItemsNotification(stanza, nodeId)) {
+                        final int index = notificationCount.getAndIncrement();
+                        if (index < itemCount) {
+                            notified.set(index, now);
+                        }
+                        if (index + 1 == itemCount) {
+                            allNotified.signal();
+                        }
+                    }
+                    return;
+                }
+                for (final String itemId : PubSubBenchmarkUtils.getNotifiedItemIds(stanza)) {
+                    if (itemId.startsWith(itemIdPrefix) && notified.compareAndSet(Integer.parseInt(itemId.substring(itemIdPrefix.length())), 0, now)) {
+                        if (notificationCount.incrementAndGet() == itemCount) {
+                            allNotified.signal();
+                        }
+                    }
+                }
+            }, StanzaTypeFilter.MESSAGE);
+
+            try {
+                // Execute system under test.
+                final long[] sent = new long[itemCount];
+                final LatencyRecorder publishLatency = new LatencyRecorder();
+                final AtomicInteger publishErrors = new AtomicInteger();
+                final List<SmackFuture<IQ, Exception>> responses = new ArrayList<>(itemCount);
+                final long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+                final long start = System.nanoTime();
+                for (int i = 0; i < itemCount; i++) {
+                    final long delay = start + i * interval - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                    final long publishStart = System.nanoTime();
+                    sent[i] = publishStart;
+                    final SmackFuture<IQ, Exception> response = conOne.sendIqRequestAsync(itemless ? PubSubBenchmarkUtils.createItemlessPublishRequest(pubSubService, nodeId) : PubSubBenchmarkUtils.createPublishRequest(pubSubService, nodeId, itemIdPrefix + i, payloadSize), benchmarkTimeout);
+                    response.onSuccess(result -> publishLatency.recordSince(publishStart));
+                    response.onError(exception -> publishErrors.incrementAndGet());
+                    responses.add(response);
+                }
+
+                SmackFuture.await(responses, benchmarkTimeout);
+                try {
+                    allNotified.waitForResult(benchmarkTimeout);
+                } catch (TimeoutException e) {
+                    LOGGER.log(Level.WARNING, "Not all notifications were received within " + benchmarkTimeout + "ms.");
+                }
+
+                // Verify result.
+                final LatencyRecorder notifyLatency = new LatencyRecorder();
+                long lastNotified = start;
+                for (int i = 0; i < itemCount; i++) {
+                    if (notified.get(i) != 0) {
+                        notifyLatency.record(notified.get(i) - sent[i]);
+                        lastNotified = Math.max(lastNotified, notified.get(i));
+                    }
+                }
+
+                report.add("Items published", itemCount + " (" + publishErrors.get() + " errors, target rate: " + rate + "/s)");
+                report.add("Publish latency", publishLatency);
+                report.add("Publish to notification latency", notifyLatency);
+                report.add("Notifications received", notificationCount.get() + " (" + BenchmarkUtils.perSecond(notificationCount.get(), lastNotified - start) + " sustained)");
+                report.publish();
+
+                final String configuration = " (deliver payloads: " + deliverPayloads + ", persist items: " + persistItems + ")";
+                if (publishErrors.get() != 0) {
+                    failures.add("Expected all " + itemCount + " items that were published by '" + conOne.getUser() + "' to node '" + nodeId + "'" + configuration + " to be accepted by the service (but " + publishErrors.get() + " were not).");
+                }
+                if (notificationCount.get() != itemCount) {
+                    failures.add("Expected '" + conTwo.getUser() + "' that is subscribed to node '" + nodeId + "'" + configuration + " to receive a notification for each of the " + itemCount + " items that were published (but " + notificationCount.get() + " were received).");
+                }
+                return failures;
+            } finally {
+                listenerHandle.close();
+            }
+        } finally {
+            // Tear down test fixture.
+            PubSubBenchmarkUtils.tryDeleteNode(conOne, pubSubManagerOne, nodeId);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0115;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkRosterUtil;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.StanzaListener;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.filter.AndFilter;
+import org.jivesoftware.smack.filter.FromMatchesFilter;
+import org.jivesoftware.smack.filter.StanzaTypeFilter;
+import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.packet.PresenceBuilder;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.caps.EntityCapsManager;
+import org.jivesoftware.smackx.caps.packet.CapsExtension;
+import org.jivesoftware.smackx.disco.ServiceDiscoveryManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the amount of data that a server saves by applying caps optimization, as described in section 8.4 of
+ * XEP-0115, when a user with many subscribers repeatedly changes its presence without changing its capabilities.
+ *
+ * A newly created account (the 'publisher') is subscribed to by a number of other newly created accounts. The
+ * publisher then sends a number of presence updates at a controlled rate, that differ only in their status text. Smack
+ * adds the (unchanged) entity capabilities annotation to each of them. For each subscriber, the presence updates that
+ * are received are recorded, as well as the amount of bytes of the annotations that they contain. The data that was
+ * saved is calculated by comparing that with the amount of bytes that would have been received if the server had
+ * forwarded the annotation as-is with every update. Finally, the publisher changes its capabilities, and the time it
+ * takes for the changed 'ver' attribute to reach every subscriber is recorded.
+ *
+ * The amount of bytes is an approximation, based on the serialization of the stanzas by Smack. This benchmark also
+ * runs against servers that do not advertise support for caps optimization, in which case the savings are expected to
+ * be zero.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.caps.subscribers</tt> - comma-separated amounts of subscribers (default: 10,100,1000)</li>
+ * <li><tt>sinttest.benchmark.caps.updates</tt> - the amount of presence updates that are sent (default: 50)</li>
+ * <li><tt>sinttest.benchmark.caps.rate</tt> - the amount of presence updates sent per second (default: 10)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0115", version = "1.6.0")
+public class CapsOptimizationBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final boolean optimizationAdvertised;
+    private final List<Integer> subscriberCounts;
+    private final int updateCount;
+    private final int rate;
+    private final long benchmarkTimeout;
+
+    public CapsOptimizationBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException, SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        if (!EntityCapsManager.getInstanceFor(conOne).areEntityCapsSupportedByServer()) {
+            throw new TestNotPossibleException("Domain does not seem support XEP-0115 Entity Capabilities.");
+        }
+        optimizationAdvertised = ServiceDiscoveryManager.getInstanceFor(conOne).supportsFeature(conOne.getXMPPServiceDomain(), "http://jabber.org/protocol/caps#optimize");
+
+        subscriberCounts = BenchmarkConfiguration.getIntegers("caps.subscribers", List.of(10, 100, 1_000));
+        updateCount = BenchmarkConfiguration.getInteger("caps.updates", 50);
+        rate = BenchmarkConfiguration.getInteger("caps.rate", 10);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+
+        if (updateCount < 1 || rate < 1) {
+            throw new IllegalArgumentException("The caps optimization benchmark requires at least one update and a positive rate.");
+        }
+    }
+
+    @SmackIntegrationTest(section = "8.4", quote = "The server MUST [...] ensure that any changes in the caps information (e.g., an updated 'ver' attribute) are sent to all subscribers.")
+    public void benchmarkCapsOptimization() throws Exception
+    {
+        for (final int subscriberCount : subscriberCounts) {
+            benchmark(subscriberCount);
+        }
+    }
+
+    private void benchmark(final int subscriberCount) throws Exception
+    {
+        final BenchmarkReport report = new BenchmarkReport("Caps optimization with " + subscriberCount + " subscribers");
+
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration))
+        {
+            // Setup test fixture: create the publisher, and have all subscribers subscribe to its presence.
+            final AbstractXMPPConnection publisher = accounts.connect(accounts.create());
+            final long setupStart = System.nanoTime();
+            final List<AbstractXMPPConnection> subscribers = accounts.connect(accounts.create(subscriberCount));
+            BenchmarkRosterUtil.ensureAllAreSubscribedTo(subscribers, publisher, benchmarkTimeout, accounts.getParallelism());
+            report.add("Subscription setup (accounts, logins and subscriptions)", LatencyRecorder.toMillis(System.nanoTime() - setupStart));
+
+            // Setup test fixture: record the size of the annotation as sent by the publisher.
+            final AtomicLong sentCapsBytes = new AtomicLong();
+            final StanzaListener sendingListener = stanza -> {
+                final CapsExtension caps = CapsExtension.from(stanza);
+                if (caps != null) {
+                    sentCapsBytes.set(BenchmarkUtils.getSize(caps));
+                }
+            };
+            publisher.addStanzaSendingListener(sendingListener, StanzaTypeFilter.PRESENCE);
+
+            // Setup test fixture: record what each subscriber receives.
+            final String needle = StringUtils.randomString(9) + " ";
+            final String originalVer = EntityCapsManager.getInstanceFor(publisher).getCapsVersionAndHash().version;
+            final AtomicLong updatesReceived = new AtomicLong();
+            final AtomicLong updatesWithCaps = new AtomicLong();
+            final AtomicLong presenceBytes = new AtomicLong();
+            final AtomicLong capsBytes = new AtomicLong();
+            final AtomicLong allUpdatesReceivedCount = new AtomicLong();
+            final long expectedUpdates = (long) subscriberCount * updateCount;
+            final SimpleResultSyncPoint allUpdatesReceived = new SimpleResultSyncPoint();
+            final AtomicLongArray verChangeReceipts = new AtomicLongArray(subscriberCount);
+            final AtomicInteger verChangeCount = new AtomicInteger();
+            final SimpleResultSyncPoint allVerChangesReceived = new SimpleResultSyncPoint();
+            final List<ListenerHandle> listenerHandles = new ArrayList<>(subscriberCount);
+            try {
+                for (int s = 0; s < subscriberCount; s++) {
+                    final int subscriberIndex = s;
+                    listenerHandles.add(subscribers.get(s).addStanzaListener(stanza -> {
+                        final long now = System.nanoTime();
+                        final Presence presence = (Presence) stanza;
+                        final CapsExtension caps = CapsExtension.from(presence);
+                        if (caps != null && !originalVer.equals(caps.getVer())) {
+                            if (verChangeReceipts.compareAndSet(subscriberIndex, 0, now) && verChangeCount.incrementAndGet() == subscriberCount) {
+                                allVerChangesReceived.signal();
+                            }
+                            return;
+                        }
+                        if (presence.getStatus() == null || !presence.getStatus().startsWith(needle)) {
+                            return;
+                        }
+                        updatesReceived.incrementAndGet();
+                        presenceBytes.addAndGet(BenchmarkUtils.getSize(presence));
+                        if (caps != null) {
+                            updatesWithCaps.incrementAndGet();
+                            capsBytes.addAndGet(BenchmarkUtils.getSize(caps));
+                        }
+                        if (allUpdatesReceivedCount.incrementAndGet() == expectedUpdates) {
+                            allUpdatesReceived.signal();
+                        }
+                    }, new AndFilter(StanzaTypeFilter.PRESENCE, FromMatchesFilter.createFull(publisher.getUser()))));
+                }
+
+                // Execute system under test: repeated presence updates that do not change the capabilities.
+                final long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+                final long start = System.nanoTime();
+                for (int i = 0; i < updateCount; i++) {
+                    final long delay = start + i * interval - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                    publisher.sendStanza(PresenceBuilder.buildPresence()
+                        .ofType(Presence.Type.available)
+                        .setMode(i % 2 == 0 ? Presence.Mode.away : Presence.Mode.available)
+                        .setStatus(needle + i)
+                        .build());
+                }
+                try {
+                    allUpdatesReceived.waitForResult(benchmarkTimeout);
+                } catch (TimeoutException e) {
+                    LOGGER.log(Level.WARNING, "Not all presence updates were received by all subscribers within " + benchmarkTimeout + "ms.");
+                }
+
+                // Execute system under test: change the capabilities.
+                final long verChangeStart = System.nanoTime();
+                ServiceDiscoveryManager.getInstanceFor(publisher).addFeature("urn:example:xmppinteroptesting:" + StringUtils.randomString(17));
+                try {
+                    allVerChangesReceived.waitForResult(benchmarkTimeout);
+                } catch (TimeoutException e) {
+                    LOGGER.log(Level.WARNING, "Not all subscribers received the changed 'ver' attribute within " + benchmarkTimeout + "ms.");
+                }
+
+                // Verify result.
+                final long capsBytesIfForwarded = updatesReceived.get() * sentCapsBytes.get();
+                final long saved = capsBytesIfForwarded - capsBytes.get();
+                final LatencyRecorder verChangeLatency = new LatencyRecorder();
+                for (int s = 0; s < subscriberCount; s++) {
+                    if (verChangeReceipts.get(s) != 0) {
+                        verChangeLatency.record(verChangeReceipts.get(s) - verChangeStart);
+                    }
+                }
+
+                report.add("Caps optimization advertised", optimizationAdvertised);
+                report.add("Presence updates received", updatesReceived.get() + " of " + expectedUpdates + " (" + updatesWithCaps.get() + " with annotation)");
+                report.add("Size of annotation", sentCapsBytes.get() + " bytes");
+                report.add("Presence bytes received", presenceBytes.get());
+                report.add("Annotation bytes received", capsBytes.get() + " (" + capsBytesIfForwarded + " if forwarded as-is)");
+                report.add("Bytes saved", saved + (presenceBytes.get() + saved > 0 ? String.format(" (%.1f%% of presence traffic)", saved * 100.0 / (presenceBytes.get() + saved)) : ""));
+                report.add("Changed 'ver' received by", verChangeCount.get() + " of " + subscriberCount + " subscribers");
+                report.add("Changed 'ver' latency", verChangeLatency);
+                report.publish();
+
+                assertEquals(subscriberCount, verChangeCount.get(), "Expected all " + subscriberCount + " subscribers of '" + publisher.getUser() + "' to receive the changed 'ver' attribute of its entity capabilities (but only " + verChangeCount.get() + " did).");
+            } finally {
+                listenerHandles.forEach(ListenerHandle::close);
+                publisher.removeStanzaSendingListener(sendingListener);
+            }
+        }
+    }
+}
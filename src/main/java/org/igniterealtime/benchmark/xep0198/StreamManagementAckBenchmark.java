@@ -0,0 +1,351 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0198;
+
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackSpecificLowLevelIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.StanzaListener;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.filter.AndFilter;
+import org.jivesoftware.smack.filter.FromMatchesFilter;
+import org.jivesoftware.smack.filter.MessageTypeFilter;
+import org.jivesoftware.smack.packet.Message;
+import org.jivesoftware.smack.packet.StanzaBuilder;
+import org.jivesoftware.smack.sm.predicates.AfterXStanzas;
+import org.jivesoftware.smack.tcp.XMPPTCPConnection;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jxmpp.jid.Jid;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the acknowledgement mechanism of XEP-0198: Stream Management, as described in section 4 "Acks".
+ *
+ * Each benchmark uses two connections: one that has Stream Management enabled (the connection that is measured) and
+ * a peer, that does not use Stream Management, which serves as the recipient or the origin of stanzas that are used
+ * to generate traffic.
+ *
+ * The round-trip time of an acknowledgement is measured by sending a single 'probe' stanza, immediately followed by
+ * an &lt;r/&gt; element, and recording the time until the &lt;a/&gt; element that acknowledges the probe is received.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.sm.rtt.samples</tt> - the amount of acknowledgement round-trips that are measured (default: 100)</li>
+ * <li><tt>sinttest.benchmark.sm.load.rate</tt> - the amount of stanzas per second that are sent in the background while measuring under load (default: 500)</li>
+ * <li><tt>sinttest.benchmark.sm.throughput.stanzas</tt> - the amount of stanzas that are sent for each acknowledgement interval (default: 10000)</li>
+ * <li><tt>sinttest.benchmark.sm.ackIntervals</tt> - comma-separated amounts of stanzas after which an acknowledgement is requested (default: 1,10,100,250)</li>
+ * <li><tt>sinttest.benchmark.sm.backlogs</tt> - comma-separated amounts of stanzas that are left unacknowledged by the measured connection (default: 100,1000,10000)</li>
+ * <li><tt>sinttest.benchmark.sm.backlog.probeInterval</tt> - the interval (in milliseconds) between acknowledgement round-trips while a backlog is being received (default: 50)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0198", version = "1.6.1")
+public class StreamManagementAckBenchmark extends AbstractSmackSpecificLowLevelIntegrationTest<XMPPTCPConnection>
+{
+    private final int rttSamples;
+    private final int loadRate;
+    private final int throughputStanzas;
+    private final List<Integer> ackIntervals;
+    private final List<Integer> backlogs;
+    private final long probeInterval;
+    private final long benchmarkTimeout;
+
+    public StreamManagementAckBenchmark(final SmackIntegrationTestEnvironment environment) throws XMPPException, SmackException, InterruptedException, IOException, TestNotPossibleException
+    {
+        super(environment, XMPPTCPConnection.class);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+
+        final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
+        try {
+            connection.connect().login();
+            if (!connection.isSmAvailable()) {
+                throw new TestNotPossibleException("Domain does not seem support XEP-0198 Stream Management.");
+            }
+        } finally {
+            recycle(connection);
+        }
+
+        rttSamples = BenchmarkConfiguration.getInteger("sm.rtt.samples", 100);
+        loadRate = BenchmarkConfiguration.getInteger("sm.load.rate", 500);
+        throughputStanzas = BenchmarkConfiguration.getInteger("sm.throughput.stanzas", 10_000);
+        ackIntervals = BenchmarkConfiguration.getIntegers("sm.ackIntervals", List.of(1, 10, 100, 250));
+        backlogs = BenchmarkConfiguration.getIntegers("sm.backlogs", List.of(100, 1_000, 10_000));
+        probeInterval = BenchmarkConfiguration.getLong("sm.backlog.probeInterval", 50L);
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+    }
+
+    /**
+     * Measures the round-trip time of acknowledgements on an otherwise idle stream, and on a stream on which stanzas
+     * are sent at a constant rate in the background.
+     */
+    @SmackIntegrationTest(section = "4", quote = "When an <r/> element (\"request\") is received, the recipient MUST acknowledge it by sending an <a/> element to the sender")
+    public void benchmarkAckRoundTrip() throws Exception
+    {
+        // Setup test fixture.
+        final List<XMPPTCPConnection> connections = getSpecificUnconnectedConnections(2);
+        final XMPPTCPConnection connection = connections.get(0);
+        final XMPPTCPConnection peer = connections.get(1);
+        final ExecutorService backgroundSender = Executors.newSingleThreadExecutor();
+        try {
+            connectAndLogin(connection, peer);
+            final BenchmarkReport report = new BenchmarkReport("Stream Management acknowledgement round-trip time");
+
+            // Execute system under test: idle stream.
+            final LatencyRecorder idle = new LatencyRecorder();
+            for (int i = 0; i < rttSamples; i++) {
+                idle.record(measureAckRoundTrip(connection, peer.getUser()));
+            }
+            report.add("Idle", idle);
+
+            // Execute system under test: stream with background traffic.
+            final AtomicBoolean stop = new AtomicBoolean(false);
+            final Future<Long> load = backgroundSender.submit(() -> {
+                final long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, loadRate);
+                final long start = System.nanoTime();
+                long i = 0;
+                while (!stop.get()) {
+                    final long delay = start + i * interval - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                    connection.sendStanza(createMessage(connection, peer.getUser(), "Background load " + i));
+                    i++;
+                }
+                return i;
+            });
+            final LatencyRecorder underLoad = new LatencyRecorder();
+            final long loadStart = System.nanoTime();
+            try {
+                for (int i = 0; i < rttSamples; i++) {
+                    underLoad.record(measureAckRoundTrip(connection, peer.getUser()));
+                }
+            } finally {
+                stop.set(true);
+            }
+            final long backgroundStanzas = load.get();
+            report.add("Under load", underLoad);
+            report.add("Background stanzas sent", backgroundStanzas + " (" + BenchmarkUtils.perSecond(backgroundStanzas, System.nanoTime() - loadStart) + ", target: " + loadRate + "/s)");
+            report.publish();
+        } finally {
+            backgroundSender.shutdownNow();
+            connections.forEach(this::recycle);
+        }
+    }
+
+    /**
+     * Measures the maximum rate at which stanzas can be sent (and be acknowledged by the server) when an
+     * acknowledgement is requested after every N stanzas.
+     *
+     * Note that Smack itself also requests an acknowledgement when its queue of unacknowledged stanzas fills up, which
+     * effectively caps the interval between acknowledgement requests.
+     */
+    @SmackIntegrationTest(section = "4", quote = "Either party MAY send an <r/> element at any time (e.g., after it has received a certain number of stanzas, or after a certain period of time)")
+    public void benchmarkThroughputByAckInterval() throws Exception
+    {
+        // Setup test fixture.
+        final List<XMPPTCPConnection> connections = getSpecificUnconnectedConnections(2);
+        final XMPPTCPConnection connection = connections.get(0);
+        final XMPPTCPConnection peer = connections.get(1);
+        try {
+            connectAndLogin(connection, peer);
+            final BenchmarkReport report = new BenchmarkReport("Stream Management throughput by acknowledgement interval (" + throughputStanzas + " stanzas)");
+
+            for (final int ackInterval : ackIntervals) {
+                final String needle = StringUtils.randomString(9) + "-";
+                final AtomicLong acknowledged = new AtomicLong();
+                final SimpleResultSyncPoint allAcknowledged = new SimpleResultSyncPoint();
+                final StanzaListener ackListener = stanza -> {
+                    if (stanza.getStanzaId() != null && stanza.getStanzaId().startsWith(needle) && acknowledged.incrementAndGet() == throughputStanzas) {
+                        allAcknowledged.signal();
+                    }
+                };
+                final AfterXStanzas ackPredicate = new AfterXStanzas(Math.max(1, ackInterval));
+                connection.addStanzaAcknowledgedListener(ackListener);
+                connection.addRequestAckPredicate(ackPredicate);
+                try {
+                    // Execute system under test.
+                    final long start = System.nanoTime();
+                    for (int i = 0; i < throughputStanzas; i++) {
+                        connection.sendStanza(StanzaBuilder.buildMessage(needle + i).ofType(Message.Type.headline).to(peer.getUser()).setBody("Throughput " + i).build());
+                    }
+                    final long sendDuration = System.nanoTime() - start;
+                    connection.requestSmAcknowledgement(); // Acknowledge the remainder (if any).
+                    try {
+                        allAcknowledged.waitForResult(benchmarkTimeout);
+                    } catch (TimeoutException e) {
+                        LOGGER.log(Level.WARNING, "Not all stanzas were acknowledged within " + benchmarkTimeout + "ms (ack interval: " + ackInterval + ").");
+                    }
+                    final long ackDuration = System.nanoTime() - start;
+
+                    report.add("Every " + ackInterval + " stanza(s)", "sent " + BenchmarkUtils.perSecond(throughputStanzas, sendDuration) + ", acknowledged " + acknowledged.get() + " (" + BenchmarkUtils.perSecond(acknowledged.get(), ackDuration) + ")");
+                } finally {
+                    connection.removeRequestAckPredicate(ackPredicate);
+                    connection.removeStanzaAcknowledgedListener(ackListener);
+                }
+
+                // Verify result.
+                assertEquals(throughputStanzas, acknowledged.get(), "Expected the server to acknowledge all stanzas that were sent by '" + connection.getUser() + "' when requesting an acknowledgement after every " + ackInterval + " stanza(s).");
+            }
+            report.publish();
+        } finally {
+            connections.forEach(this::recycle);
+        }
+    }
+
+    /**
+     * Measures the round-trip time of acknowledgements while the measured connection receives a large amount of
+     * stanzas that it does not acknowledge of its own accord. A server needs to retain each of these stanzas until it
+     * is acknowledged. An increase in round-trip time as the backlog grows is an indication of the cost that this
+     * imposes on the server.
+     *
+     * Note that Smack does respond to &lt;r/&gt; elements sent by the server. The amount of stanzas that is retained
+     * by the server is therefore bounded by the server's own policy of requesting acknowledgements.
+     */
+    @SmackIntegrationTest(section = "4", quote = "When an <r/> element (\"request\") is received, the recipient MUST acknowledge it by sending an <a/> element to the sender")
+    public void benchmarkAckRoundTripWithUnacknowledgedBacklog() throws Exception
+    {
+        // Setup test fixture.
+        final List<XMPPTCPConnection> connections = getSpecificUnconnectedConnections(2);
+        final XMPPTCPConnection connection = connections.get(0);
+        final XMPPTCPConnection peer = connections.get(1);
+        final ExecutorService backgroundSender = Executors.newSingleThreadExecutor();
+        try {
+            connectAndLogin(connection, peer);
+            final BenchmarkReport report = new BenchmarkReport("Stream Management acknowledgement round-trip time with unacknowledged backlog");
+
+            for (final int backlog : backlogs) {
+                final String needle = StringUtils.randomString(9) + "-";
+                final AtomicLong received = new AtomicLong();
+                final SimpleResultSyncPoint allReceived = new SimpleResultSyncPoint();
+                final StanzaListener receiptListener = stanza -> {
+                    if (stanza.getStanzaId() != null && stanza.getStanzaId().startsWith(needle) && received.incrementAndGet() == backlog) {
+                        allReceived.signal();
+                    }
+                };
+                connection.addStanzaListener(receiptListener, new AndFilter(MessageTypeFilter.HEADLINE, FromMatchesFilter.createFull(peer.getUser())));
+                try {
+                    // Execute system under test: have the peer send the backlog, while probing the measured connection.
+                    final long start = System.nanoTime();
+                    final Future<?> flood = backgroundSender.submit(() -> {
+                        for (int i = 0; i < backlog; i++) {
+                            peer.sendStanza(StanzaBuilder.buildMessage(needle + i).ofType(Message.Type.headline).to(connection.getUser()).setBody("Backlog " + i).build());
+                        }
+                        return null;
+                    });
+                    final LatencyRecorder duringBacklog = new LatencyRecorder();
+                    long deliveryDuration = -1;
+                    final long deadline = start + TimeUnit.MILLISECONDS.toNanos(benchmarkTimeout);
+                    while (System.nanoTime() < deadline) {
+                        duringBacklog.record(measureAckRoundTrip(connection, peer.getUser()));
+                        try {
+                            allReceived.waitForResult(probeInterval);
+                            deliveryDuration = System.nanoTime() - start;
+                            break;
+                        } catch (TimeoutException e) {
+                            // Not all stanzas have been received yet. Probe again.
+                        }
+                    }
+                    flood.get();
+                    if (deliveryDuration < 0) {
+                        LOGGER.log(Level.WARNING, "Not all " + backlog + " stanzas were received within " + benchmarkTimeout + "ms.");
+                    }
+
+                    final LatencyRecorder afterBacklog = new LatencyRecorder();
+                    for (int i = 0; i < Math.min(10, rttSamples); i++) {
+                        afterBacklog.record(measureAckRoundTrip(connection, peer.getUser()));
+                    }
+
+                    report.add("Backlog of " + backlog + ": delivery", deliveryDuration < 0 ? "incomplete (" + received.get() + " received)" : LatencyRecorder.toMillis(deliveryDuration) + " (" + BenchmarkUtils.perSecond(backlog, deliveryDuration) + ")");
+                    report.add("Backlog of " + backlog + ": round-trip while receiving", duringBacklog);
+                    report.add("Backlog of " + backlog + ": round-trip after receiving", afterBacklog);
+                } finally {
+                    connection.removeStanzaListener(receiptListener);
+                }
+
+                // Verify result.
+                assertEquals(backlog, received.get(), "Expected '" + connection.getUser() + "' to receive all stanzas that were sent to it by '" + peer.getUser() + "'.");
+            }
+            report.publish();
+        } finally {
+            backgroundSender.shutdownNow();
+            connections.forEach(this::recycle);
+        }
+    }
+
+    /**
+     * Logs in both connections. Stream Management is enabled on the first (measured) connection and disabled on the
+     * peer. Requests for acknowledgements on the measured connection are only sent when explicitly requested by a
+     * benchmark.
+     */
+    private void connectAndLogin(final XMPPTCPConnection connection, final XMPPTCPConnection peer) throws XMPPException, SmackException, InterruptedException, IOException, TestNotPossibleException
+    {
+        connection.setUseStreamManagement(true);
+        connection.setUseStreamManagementResumption(false);
+        connection.connect().login();
+        if (!connection.isSmEnabled()) {
+            throw new TestNotPossibleException("Unable to enable stream management with the service.");
+        }
+        connection.removeAllRequestAckPredicates();
+
+        peer.setUseStreamManagement(false);
+        peer.connect().login();
+    }
+
+    private static Message createMessage(final XMPPTCPConnection connection, final Jid to, final String body)
+    {
+        return connection.getStanzaFactory().buildMessageStanza().ofType(Message.Type.headline).to(to).setBody(body).build();
+    }
+
+    /**
+     * Sends a probe stanza, followed by a request for acknowledgement, and returns the time (in nanoseconds) until the
+     * probe is acknowledged.
+     */
+    private long measureAckRoundTrip(final XMPPTCPConnection connection, final Jid to) throws Exception
+    {
+        final Message probe = createMessage(connection, to, "Acknowledgement probe");
+        final SimpleResultSyncPoint acknowledged = new SimpleResultSyncPoint();
+        connection.addStanzaIdAcknowledgedListener(probe.getStanzaId(), stanza -> acknowledged.signal());
+        try {
+            final long start = System.nanoTime();
+            connection.sendStanza(probe);
+            connection.requestSmAcknowledgement();
+            acknowledged.waitForResult(benchmarkTimeout);
+            return System.nanoTime() - start;
+        } finally {
+            connection.removeStanzaIdAcknowledgedListener(probe.getStanzaId());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0198;
+
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.smack.inttest.AbstractSmackSpecificLowLevelIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.igniterealtime.smack.inttest.util.SimpleResultSyncPoint;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.filter.AndFilter;
+import org.jivesoftware.smack.filter.FromMatchesFilter;
+import org.jivesoftware.smack.filter.MessageTypeFilter;
+import org.jivesoftware.smack.packet.Message;
+import org.jivesoftware.smack.packet.StanzaBuilder;
+import org.jivesoftware.smack.tcp.XMPPTCPConnection;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jxmpp.jid.EntityBareJid;
+import org.jxmpp.jid.EntityFullJid;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the resumption of a stream that has a backlog of stanzas, as described in section 5 "Resumption" of
+ * XEP-0198: Stream Management.
+ *
+ * A connection that has Stream Management (with resumption) enabled has its network connection cut off, without it
+ * closing the stream. While the connection is 'gone', a peer sends a number of stanzas to it. Then, the stream is
+ * resumed. The benchmark measures the duration of the resumption, and the time until the entire backlog of stanzas
+ * has been delivered. It verifies that all stanzas are delivered exactly once, in the order in which they were sent.
+ *
+ * Smack does not expose the moment at which the &lt;resume/&gt; element is sent. The reported resumption duration
+ * therefore is that of the entire login (which includes authentication). The duration of the initial login of the
+ * connection (which includes authentication, resource binding and enabling Stream Management) is reported as a
+ * point of reference.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.sm.resumption.backlogs</tt> - comma-separated amounts of stanzas that are sent while the connection is gone (default: 10,100,1000,10000,100000)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0198", version = "1.6.1")
+public class StreamResumptionBenchmark extends AbstractSmackSpecificLowLevelIntegrationTest<XMPPTCPConnection>
+{
+    private final List<Integer> backlogs;
+    private final long benchmarkTimeout;
+
+    public StreamResumptionBenchmark(final SmackIntegrationTestEnvironment environment) throws XMPPException, SmackException, InterruptedException, IOException, TestNotPossibleException
+    {
+        super(environment, XMPPTCPConnection.class);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+
+        final XMPPTCPConnection connection = getSpecificUnconnectedConnection();
+        try {
+            connection.connect().login();
+            if (!connection.isSmAvailable()) {
+                throw new TestNotPossibleException("Domain does not seem support XEP-0198 Stream Management.");
+            }
+        } finally {
+            recycle(connection);
+        }
+
+        backlogs = BenchmarkConfiguration.getIntegers("sm.resumption.backlogs", List.of(10, 100, 1_000, 10_000, 100_000));
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+    }
+
+    @SmackIntegrationTest(section = "5", quote = "If the server can resume the former stream, it MUST return a <resumed/> element [...] If the server does not support session resumption, it MUST return a <failed/> element")
+    public void benchmarkResumptionWithBacklog() throws Exception
+    {
+        // Setup test fixture.
+        final List<XMPPTCPConnection> connections = getSpecificUnconnectedConnections(2);
+        final XMPPTCPConnection connection = connections.get(0);
+        final XMPPTCPConnection peer = connections.get(1);
+        try {
+            connection.setUseStreamManagement(true);
+            connection.setUseStreamManagementResumption(true);
+            final long loginStart = System.nanoTime();
+            connection.connect().login();
+            final long initialLogin = System.nanoTime() - loginStart;
+            if (!connection.isSmResumptionPossible()) {
+                throw new TestNotPossibleException("Service does not allow streams to be resumed.");
+            }
+            final EntityBareJid account = connection.getUser().asEntityBareJid();
+
+            peer.setUseStreamManagement(false);
+            peer.connect().login();
+
+            final BenchmarkReport report = new BenchmarkReport("Stream resumption with a backlog of stanzas");
+            report.add("Initial login (for reference)", LatencyRecorder.toMillis(initialLogin));
+
+            final List<Integer> notResumed = new ArrayList<>();
+            long totalLost = 0;
+            long totalDuplicates = 0;
+            long totalOutOfOrder = 0;
+
+            for (final int backlog : backlogs) {
+                // When a previous resumption failed, Smack bound a new session, which has a different full JID.
+                final EntityFullJid address = connection.getUser();
+
+                // Setup test fixture: record the order in which the stanzas of the backlog are received.
+                final String needle = StringUtils.randomString(9) + "-";
+                final int[] receiptCounts = new int[backlog];
+                final AtomicInteger lastReceived = new AtomicInteger(-1);
+                final AtomicInteger outOfOrder = new AtomicInteger();
+                final AtomicLong distinctReceived = new AtomicLong();
+                final AtomicLong lastReceipt = new AtomicLong();
+                final SimpleResultSyncPoint allReceived = new SimpleResultSyncPoint();
+                final ListenerHandle listenerHandle = connection.addStanzaListener(stanza -> {
+                    final String id = stanza.getStanzaId();
+                    if (id == null || !id.startsWith(needle)) {
+                        return;
+                    }
+                    final int index = Integer.parseInt(id.substring(needle.length()));
+                    if (index < lastReceived.getAndSet(index)) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    if (receiptCounts[index]++ == 0 && distinctReceived.incrementAndGet() == backlog) {
+                        lastReceipt.set(System.nanoTime());
+                        allReceived.signal();
+                    }
+                }, new AndFilter(MessageTypeFilter.NORMAL, FromMatchesFilter.createFull(peer.getUser())));
+                try {
+                    // Setup test fixture: cut off the connection, leaving the stream in a resumable state.
+                    connection.instantShutdown();
+                    if (!connection.isDisconnectedButSmResumptionPossible()) {
+                        throw new TestNotPossibleException("Service does not allow streams to be resumed.");
+                    }
+
+                    // Setup test fixture: have the peer send the backlog to the connection that is gone.
+                    final long backlogStart = System.nanoTime();
+                    for (int i = 0; i < backlog; i++) {
+                        peer.sendStanza(StanzaBuilder.buildMessage(needle + i).ofType(Message.Type.normal).to(address).setBody("Backlog " + i).build());
+                    }
+                    BenchmarkUtils.roundTrip(peer); // Ensures that the server has processed all stanzas of the backlog.
+                    final long backlogDuration = System.nanoTime() - backlogStart;
+                    if (connection.getMaxSmResumptionTime() > 0 && backlogDuration > connection.getMaxSmResumptionTime() * 1_000_000_000L) {
+                        LOGGER.log(Level.WARNING, "Sending a backlog of " + backlog + " stanzas took longer than the maximum resumption time of the stream (" + connection.getMaxSmResumptionTime() + "s). Resumption is likely to fail.");
+                    }
+
+                    // Execute system under test.
+                    connection.connect();
+                    final long resumeStart = System.nanoTime();
+                    connection.login(); // Smack will attempt resumption.
+                    final long resumeDuration = System.nanoTime() - resumeStart;
+                    try {
+                        allReceived.waitForResult(benchmarkTimeout);
+                    } catch (TimeoutException e) {
+                        LOGGER.log(Level.WARNING, "Not all " + backlog + " stanzas of the backlog were received within " + benchmarkTimeout + "ms after resumption.");
+                    }
+
+                    // Verify result.
+                    if (!connection.streamWasResumed()) {
+                        notResumed.add(backlog);
+                    }
+                    int lost = 0;
+                    int duplicates = 0;
+                    for (final int receiptCount : receiptCounts) {
+                        if (receiptCount == 0) {
+                            lost++;
+                        } else {
+                            duplicates += receiptCount - 1;
+                        }
+                    }
+                    final String prefix = "Backlog of " + backlog + ": ";
+                    report.add(prefix + "resumption (login)", LatencyRecorder.toMillis(resumeDuration));
+                    report.add(prefix + "until fully delivered", lastReceipt.get() == 0 ? "incomplete" : LatencyRecorder.toMillis(lastReceipt.get() - resumeStart) + " (" + BenchmarkUtils.perSecond(backlog, lastReceipt.get() - resumeStart) + ")");
+                    report.add(prefix + "lost / duplicated / out of order", lost + " / " + duplicates + " / " + outOfOrder.get());
+                    totalLost += lost;
+                    totalDuplicates += duplicates;
+                    totalOutOfOrder += outOfOrder.get();
+                } finally {
+                    listenerHandle.close();
+                }
+            }
+            report.publish();
+
+            assertTrue(notResumed.isEmpty(), "Expected the stream of '" + account + "' to be resumed after its connection was cut off (but it was not, for backlogs of " + notResumed + " stanzas).");
+            assertEquals(0, totalLost, "Expected all stanzas that were sent by '" + peer.getUser() + "' to '" + account + "' while its connection was gone to be delivered after the stream was resumed, but " + totalLost + " were not.");
+            assertEquals(0, totalDuplicates, "Expected none of the stanzas that were sent by '" + peer.getUser() + "' to '" + account + "' while its connection was gone to be delivered more than once after the stream was resumed, but " + totalDuplicates + " duplicates were received.");
+            assertEquals(0, totalOutOfOrder, "Expected the stanzas that were sent by '" + peer.getUser() + "' to '" + account + "' while its connection was gone to be delivered in the order in which they were sent, but " + totalOutOfOrder + " were received out of order.");
+        } finally {
+            connections.forEach(this::recycle);
+        }
+    }
+}
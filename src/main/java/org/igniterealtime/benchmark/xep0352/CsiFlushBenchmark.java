@@ -0,0 +1,200 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0352;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.benchmark.xep0352.CsiTrafficGenerator.Traffic;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smackx.csi.ClientStateIndicationManager;
+import org.jxmpp.jid.EntityFullJid;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the burst of traffic that a server delivers when a client that has been inactive for a while, and for which
+ * the server has held back many stanzas, becomes active again.
+ *
+ * A newly created account (the 'observer') is made inactive, after which a number of peers generate traffic for it
+ * (see {@link CsiTrafficGenerator}). When all of that traffic has been processed by the server, the observer remains
+ * inactive for a configurable period, and then becomes active. For each amount of queued stanzas, the report shows how
+ * many stanzas were delivered while the observer was inactive anyway, how long it took for the backlog to arrive after
+ * becoming active, how many of the queued stanzas were delivered at all, and the largest burst (in stanzas and bytes).
+ * A burst is a sequence of stanzas that arrive without a gap larger than a configured threshold between them; the
+ * amount of bytes is an approximation, based on the serialization of the received stanzas by Smack.
+ *
+ * Additionally, the order in which the backlog is delivered is verified. XMPP guarantees ordering per sender (the
+ * peers, the multi-user chat room and the PubSub service each being a sender), which is what this benchmark checks.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.csi.flush.backlogs</tt> - comma-separated amounts of stanzas that are queued while inactive (default: 10,100,1000,10000)</li>
+ * <li><tt>sinttest.benchmark.csi.flush.peers</tt> - the amount of peers that generate traffic (default: 10)</li>
+ * <li><tt>sinttest.benchmark.csi.flush.traffic</tt> - comma-separated kinds of traffic that are queued, from: presence, chat, groupchat, pubsub (default: presence,groupchat,pubsub)</li>
+ * <li><tt>sinttest.benchmark.csi.flush.inactivity</tt> - the time (in milliseconds) that the observer remains inactive after the last stanza was processed by the server (default: 10000)</li>
+ * <li><tt>sinttest.benchmark.csi.settle</tt> - the time without traffic (in milliseconds) after which the delivery of the backlog is considered complete (default: 5000)</li>
+ * <li><tt>sinttest.benchmark.csi.burstGap</tt> - the largest time (in milliseconds) between stanzas that are considered to be part of the same burst (default: 20)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0352", version = "1.0.0")
+public class CsiFlushBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final CsiTrafficGenerator generator;
+    private final List<Integer> backlogs;
+    private final int peerCount;
+    private final long inactivityNanos;
+    private final long settleNanos;
+    private final long burstGapNanos;
+    private final long benchmarkTimeout;
+
+    public CsiFlushBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException, SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        if (!ClientStateIndicationManager.isSupported(conOne)) {
+            throw new TestNotPossibleException("Domain does not seem support XEP-0352 Client State Indication.");
+        }
+
+        backlogs = BenchmarkConfiguration.getIntegers("csi.flush.backlogs", List.of(10, 100, 1_000, 10_000));
+        peerCount = BenchmarkConfiguration.getInteger("csi.flush.peers", 10);
+        inactivityNanos = TimeUnit.MILLISECONDS.toNanos(BenchmarkConfiguration.getLong("csi.flush.inactivity", 10_000));
+        settleNanos = TimeUnit.MILLISECONDS.toNanos(BenchmarkConfiguration.getLong("csi.settle", 5_000));
+        burstGapNanos = TimeUnit.MILLISECONDS.toNanos(BenchmarkConfiguration.getLong("csi.burstGap", 20));
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+
+        if (peerCount < 1) {
+            throw new IllegalArgumentException("The Client State Indication flush benchmark requires at least one peer.");
+        }
+
+        generator = new CsiTrafficGenerator(conOne, BenchmarkConfiguration.getString("csi.flush.traffic", "presence,groupchat,pubsub"));
+    }
+
+    @SmackIntegrationTest(section = "4.2", quote = "[...] when the client is active again it sends an <active/> element.")
+    public void benchmarkFlushOnActive() throws Exception
+    {
+        int outOfOrderTotal = 0;
+        int missingChatMessages = 0;
+        final EntityFullJid observerAddress;
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration))
+        {
+            try {
+                // Setup test fixture.
+                generator.setUp(accounts, peerCount, benchmarkTimeout);
+                final AbstractXMPPConnection observer = generator.getObserver();
+                observerAddress = observer.getUser();
+
+                final ReceivedTraffic received = new ReceivedTraffic();
+                try (final ListenerHandle ignored = received.record(observer)) {
+                    for (final int backlog : backlogs) {
+                        final BenchmarkReport report = new BenchmarkReport("Client State Indication flush of " + backlog + " queued stanzas");
+                        final String tag = CsiTrafficGenerator.newTag();
+
+                        // Execute system under test.
+                        ClientStateIndicationManager.inactive(observer);
+                        // The server processes this request after the change of state, which ensures that the change is in effect.
+                        BenchmarkUtils.roundTrip(observer);
+                        final int from = received.size();
+                        final long queueStart = System.nanoTime();
+                        for (int i = 0; i < backlog; i++) {
+                            generator.send(tag, i);
+                        }
+                        generator.awaitSent();
+                        report.add("Queueing", LatencyRecorder.toMillis(System.nanoTime() - queueStart));
+                        LockSupport.parkNanos(inactivityNanos);
+
+                        final int held = received.size();
+                        final long activation = System.nanoTime();
+                        ClientStateIndicationManager.active(observer);
+                        if (!CsiTrafficGenerator.awaitDelivery(received, from, tag, backlog, settleNanos, TimeUnit.MILLISECONDS.toNanos(benchmarkTimeout))) {
+                            LOGGER.log(Level.WARNING, "Not all queued traffic was delivered to '" + observer.getUser() + "' (which can be expected for traffic that is superseded while a client is inactive).");
+                        }
+                        final List<ReceivedTraffic.Arrival> whileInactive = received.get(from, held);
+                        final List<ReceivedTraffic.Arrival> flush = received.get(held, received.size());
+
+                        // Verify result.
+                        final Set<Integer> delivered = new HashSet<>();
+                        final Map<String, Integer> lastIndexPerSender = new HashMap<>();
+                        int outOfOrder = 0;
+                        long lastQueuedArrival = 0;
+                        for (final ReceivedTraffic.Arrival arrival : received.get(from, received.size())) {
+                            final int index = CsiTrafficGenerator.getIndex(arrival.stanza, tag);
+                            if (index < 0 || !delivered.add(index)) {
+                                continue;
+                            }
+                            lastQueuedArrival = arrival.time;
+                            final String sender = generator.getKind(index) + "/" + generator.getSender(index);
+                            final Integer previous = lastIndexPerSender.put(sender, index);
+                            if (previous != null && previous > index) {
+                                outOfOrder++;
+                            }
+                        }
+                        outOfOrderTotal += outOfOrder;
+                        int chatMessages = 0;
+                        for (final int index : delivered) {
+                            if (generator.getKind(index) == Traffic.CHAT) {
+                                chatMessages++;
+                            }
+                        }
+                        missingChatMessages += generator.getCount(Traffic.CHAT, backlog) - chatMessages;
+
+                        final List<ReceivedTraffic.Burst> bursts = ReceivedTraffic.getBursts(flush, burstGapNanos);
+                        report.add("Delivered while inactive", whileInactive.size() + " stanzas, " + ReceivedTraffic.getBytes(whileInactive) + " bytes");
+                        report.add("Delivered on becoming active", flush.size() + " stanzas, " + ReceivedTraffic.getBytes(flush) + " bytes");
+                        report.add("Queued stanzas delivered", delivered.size() + " of " + backlog);
+                        if (!flush.isEmpty()) {
+                            report.add("Time until first stanza", LatencyRecorder.toMillis(flush.get(0).time - activation));
+                            report.add("Time until whole backlog", lastQueuedArrival > activation ? LatencyRecorder.toMillis(lastQueuedArrival - activation) : "n/a");
+                            report.add("Flush throughput", BenchmarkUtils.perSecond(flush.size(), flush.get(flush.size() - 1).time - activation));
+                        }
+                        report.add("Bursts", ReceivedTraffic.describe(bursts));
+                        report.add("Out-of-order deliveries (per sender)", outOfOrder);
+                        report.publish();
+                    }
+                }
+            } finally {
+                // Tear down test fixture.
+                generator.tearDown();
+            }
+        }
+
+        assertEquals(0, outOfOrderTotal, "Expected the stanzas that were queued while '" + observerAddress + "' was inactive to be delivered in the order in which each sender sent them (but " + outOfOrderTotal + " were delivered out of order).");
+        assertEquals(0, missingChatMessages, "Expected all chat messages that were queued while '" + observerAddress + "' was inactive to be delivered (but " + missingChatMessages + " were not).");
+    }
+}
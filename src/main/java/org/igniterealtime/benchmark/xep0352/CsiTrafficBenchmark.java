@@ -0,0 +1,299 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0352;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkConfiguration;
+import org.igniterealtime.benchmark.BenchmarkReport;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.LatencyRecorder;
+import org.igniterealtime.benchmark.xep0352.CsiTrafficGenerator.Traffic;
+import org.igniterealtime.smack.inttest.AbstractSmackIntegrationTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestEnvironment;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smackx.csi.ClientStateIndicationManager;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures how effective the optimizations are that a server applies to the traffic for clients that have indicated
+ * to be inactive.
+ *
+ * A newly created account (the 'observer') is subscribed to the presence of a number of peers, joins a multi-user chat
+ * room in which the peers are occupants, and subscribes to a PubSub node to which one of the peers publishes. The
+ * peers then generate a mix of traffic for the observer at a controlled rate: presence changes, chat messages,
+ * groupchat messages and PubSub notifications. This is done twice: first while the observer is active (the baseline),
+ * and then while the observer is inactive. After the inactive period, the observer becomes active again, causing the
+ * server to deliver anything that it held back.
+ *
+ * For both periods, the amount of stanzas and bytes that the observer received are reported, as well as the delay
+ * with which each kind of traffic was delivered, and how many of the stanzas were delivered at all (servers can drop
+ * stanzas that are superseded, like outdated presence). As a client cannot observe when a server writes data,
+ * flushes are approximated by bursts: stanzas that arrive without a gap larger than a configured threshold between
+ * them. The amount of bursts and the time between them are reported, as well as the size of the flush that is caused
+ * by becoming active again.
+ *
+ * Responses to requests of the observer itself are not counted. The amount of bytes is an approximation, based on the serialization of the received stanzas by Smack.
+ *
+ * This benchmark can be configured with these properties:
+ * <ul>
+ * <li><tt>sinttest.benchmark.csi.peers</tt> - the amount of peers that generate traffic (default: 5)</li>
+ * <li><tt>sinttest.benchmark.csi.stanzas</tt> - the amount of stanzas that are sent in each period (default: 200)</li>
+ * <li><tt>sinttest.benchmark.csi.rate</tt> - the combined amount of stanzas that the peers send per second (default: 20)</li>
+ * <li><tt>sinttest.benchmark.csi.traffic</tt> - comma-separated kinds of traffic that are generated, from: presence, chat, groupchat, pubsub (default: all)</li>
+ * <li><tt>sinttest.benchmark.csi.settle</tt> - the time (in milliseconds) that the observer remains inactive after the last stanza was sent, and the time without traffic after which a delivery is considered complete (default: 5000)</li>
+ * <li><tt>sinttest.benchmark.csi.burstGap</tt> - the largest time (in milliseconds) between stanzas that are considered to be part of the same burst (default: 20)</li>
+ * </ul>
+ */
+@SpecificationReference(document = "XEP-0352", version = "1.0.0")
+public class CsiTrafficBenchmark extends AbstractSmackIntegrationTest
+{
+    private final SmackIntegrationTestEnvironment environment;
+
+    private final CsiTrafficGenerator generator;
+    private final int peerCount;
+    private final int stanzaCount;
+    private final int rate;
+    private final long settleNanos;
+    private final long burstGapNanos;
+    private final long benchmarkTimeout;
+
+    public CsiTrafficBenchmark(SmackIntegrationTestEnvironment environment) throws TestNotPossibleException, SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        super(environment);
+        BenchmarkConfiguration.ensureBenchmarksAreSelected(sinttestConfiguration);
+        this.environment = environment;
+
+        if (!ClientStateIndicationManager.isSupported(conOne)) {
+            throw new TestNotPossibleException("Domain does not seem support XEP-0352 Client State Indication.");
+        }
+
+        peerCount = BenchmarkConfiguration.getInteger("csi.peers", 5);
+        stanzaCount = BenchmarkConfiguration.getInteger("csi.stanzas", 200);
+        rate = BenchmarkConfiguration.getInteger("csi.rate", 20);
+        settleNanos = TimeUnit.MILLISECONDS.toNanos(BenchmarkConfiguration.getLong("csi.settle", 5_000));
+        burstGapNanos = TimeUnit.MILLISECONDS.toNanos(BenchmarkConfiguration.getLong("csi.burstGap", 20));
+        benchmarkTimeout = BenchmarkConfiguration.getTimeout(timeout);
+
+        if (peerCount < 1 || stanzaCount < 1 || rate < 1) {
+            throw new IllegalArgumentException("The Client State Indication traffic benchmark requires at least one peer, one stanza and a positive rate.");
+        }
+
+        generator = new CsiTrafficGenerator(conOne, BenchmarkConfiguration.getString("csi.traffic", "presence,chat,groupchat,pubsub"));
+    }
+
+    @SmackIntegrationTest(section = "4.2", quote = "If a client wishes to inform the server that it has become inactive, it sends an <inactive/> element in the 'urn:xmpp:csi:0' namespace")
+    public void benchmarkInactiveTraffic() throws Exception
+    {
+        final BenchmarkReport report = new BenchmarkReport("Client State Indication traffic reduction (" + peerCount + " peers, " + stanzaCount + " stanzas per period)");
+        final List<Traffic> traffic = generator.getTraffic();
+
+        try (final BenchmarkAccounts accounts = new BenchmarkAccounts(environment, sinttestConfiguration))
+        {
+            try {
+                // Setup test fixture.
+                generator.setUp(accounts, peerCount, benchmarkTimeout);
+                final AbstractXMPPConnection observer = generator.getObserver();
+
+                // Execute system under test.
+                final ReceivedTraffic received = new ReceivedTraffic();
+                final Period active;
+                final Period inactive;
+                try (final ListenerHandle ignored = received.record(observer)) {
+                    active = run(false, observer, received);
+                    inactive = run(true, observer, received);
+                }
+
+                // Verify result.
+                report.add("Traffic", traffic.toString().toLowerCase(Locale.ROOT) + " at " + rate + " stanzas/s");
+                final long activeBytes = ReceivedTraffic.getBytes(active.getDuring(received));
+                final int activeStanzas = active.getDuring(received).size();
+                final long inactiveBytes = ReceivedTraffic.getBytes(inactive.getDuring(received));
+                final int inactiveStanzas = inactive.getDuring(received).size();
+                report.add("Active: received", activeStanzas + " stanzas, " + activeBytes + " bytes");
+                report.add("Inactive: received while inactive", inactiveStanzas + " stanzas, " + inactiveBytes + " bytes");
+                report.add("Inactive: received on becoming active", inactive.getAfterActivation(received).size() + " stanzas, " + ReceivedTraffic.getBytes(inactive.getAfterActivation(received)) + " bytes");
+                report.add("Reduction while inactive", percentage(activeStanzas - inactiveStanzas, activeStanzas) + " of stanzas, " + percentage(activeBytes - inactiveBytes, activeBytes) + " of bytes");
+                report.add("Reduction in total", percentage(activeStanzas - inactive.getAll(received).size(), activeStanzas) + " of stanzas, " + percentage(activeBytes - ReceivedTraffic.getBytes(inactive.getAll(received)), activeBytes) + " of bytes");
+
+                final List<ReceivedTraffic.Burst> activeBursts = ReceivedTraffic.getBursts(active.getDuring(received), burstGapNanos);
+                final List<ReceivedTraffic.Burst> inactiveBursts = ReceivedTraffic.getBursts(inactive.getDuring(received), burstGapNanos);
+                report.add("Active: bursts", ReceivedTraffic.describe(activeBursts));
+                report.add("Inactive: bursts (flushes) while inactive", ReceivedTraffic.describe(inactiveBursts));
+                report.add("Inactive: time between flushes", getTimeBetween(inactiveBursts));
+
+                final List<ReceivedTraffic.Arrival> flush = inactive.getAfterActivation(received);
+                if (!flush.isEmpty()) {
+                    report.add("Flush on becoming active", "first stanza after " + LatencyRecorder.toMillis(flush.get(0).time - inactive.activation) + ", last stanza after " + LatencyRecorder.toMillis(flush.get(flush.size() - 1).time - inactive.activation) + ", " + ReceivedTraffic.describe(ReceivedTraffic.getBursts(flush, burstGapNanos)));
+                }
+
+                final Map<Traffic, Set<Integer>> activeDelivered = new EnumMap<>(Traffic.class);
+                final Map<Traffic, Set<Integer>> inactiveDelivered = new EnumMap<>(Traffic.class);
+                final Map<Traffic, LatencyRecorder> activeDelays = getDeliveryDelays(active, active.getAll(received), activeDelivered);
+                final Map<Traffic, LatencyRecorder> inactiveDelays = getDeliveryDelays(inactive, inactive.getAll(received), inactiveDelivered);
+                for (final Traffic kind : traffic) {
+                    final String name = kind.name().toLowerCase(Locale.ROOT);
+                    final int sent = generator.getCount(kind, stanzaCount);
+                    report.add("Active: delivered " + name, activeDelivered.get(kind).size() + " of " + sent + ", delay: " + activeDelays.get(kind));
+                    report.add("Inactive: delivered " + name, inactiveDelivered.get(kind).size() + " of " + sent + ", delay: " + inactiveDelays.get(kind));
+                }
+                report.publish();
+
+                for (final Traffic kind : traffic) {
+                    assertEquals(generator.getCount(kind, stanzaCount), activeDelivered.get(kind).size(), "Expected '" + observer.getUser() + "' to receive all " + kind.name().toLowerCase(Locale.ROOT) + " traffic that was generated by its peers while it was active (but not all of it was received).");
+                }
+                if (traffic.contains(Traffic.CHAT)) {
+                    assertEquals(generator.getCount(Traffic.CHAT, stanzaCount), inactiveDelivered.get(Traffic.CHAT).size(), "Expected '" + observer.getUser() + "' to eventually receive all chat messages that were sent to it while it was inactive (but not all of them were received).");
+                }
+            } finally {
+                // Tear down test fixture.
+                generator.tearDown();
+            }
+        }
+    }
+
+    /**
+     * Generates traffic for the observer, either while it is active or while it is inactive. In the latter case, the
+     * observer is made active again after the period of inactivity.
+     */
+    private Period run(final boolean inactive, final AbstractXMPPConnection observer, final ReceivedTraffic received) throws Exception
+    {
+        final Period period = new Period(CsiTrafficGenerator.newTag(), stanzaCount);
+        if (inactive) {
+            ClientStateIndicationManager.inactive(observer);
+        }
+        // The server processes this request after the change of state, which ensures that the change is in effect.
+        BenchmarkUtils.roundTrip(observer);
+        period.from = received.size();
+
+        final long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        final long start = System.nanoTime();
+        for (int i = 0; i < stanzaCount; i++) {
+            final long delay = start + i * interval - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            period.sent[i] = System.nanoTime();
+            generator.send(period.tag, i);
+        }
+        generator.awaitSent();
+
+        if (inactive) {
+            LockSupport.parkNanos(settleNanos);
+            period.activation = System.nanoTime();
+            period.held = received.size();
+            ClientStateIndicationManager.active(observer);
+        }
+        if (!CsiTrafficGenerator.awaitDelivery(received, period.from, period.tag, stanzaCount, settleNanos, TimeUnit.MILLISECONDS.toNanos(benchmarkTimeout))) {
+            LOGGER.log(Level.WARNING, "Not all traffic was delivered to '" + observer.getUser() + "' (which can be expected for traffic that is superseded while a client is inactive).");
+        }
+        period.to = received.size();
+        if (!inactive) {
+            period.held = period.to;
+        }
+        return period;
+    }
+
+    private Map<Traffic, LatencyRecorder> getDeliveryDelays(final Period period, final List<ReceivedTraffic.Arrival> arrivals, final Map<Traffic, Set<Integer>> delivered)
+    {
+        final Map<Traffic, LatencyRecorder> result = new EnumMap<>(Traffic.class);
+        for (final Traffic kind : generator.getTraffic()) {
+            result.put(kind, new LatencyRecorder());
+            delivered.put(kind, new HashSet<>());
+        }
+        for (final ReceivedTraffic.Arrival arrival : arrivals) {
+            final int index = CsiTrafficGenerator.getIndex(arrival.stanza, period.tag);
+            if (index >= 0 && delivered.get(generator.getKind(index)).add(index)) {
+                result.get(generator.getKind(index)).record(arrival.time - period.sent[index]);
+            }
+        }
+        return result;
+    }
+
+    private static LatencyRecorder getTimeBetween(final List<ReceivedTraffic.Burst> bursts)
+    {
+        final LatencyRecorder result = new LatencyRecorder();
+        for (int i = 1; i < bursts.size(); i++) {
+            result.record(bursts.get(i).first - bursts.get(i - 1).last);
+        }
+        return result;
+    }
+
+    private static String percentage(final long part, final long total)
+    {
+        if (total == 0) {
+            return "n/a";
+        }
+        return String.format("%.1f%%", part * 100.0 / total);
+    }
+
+    /**
+     * The traffic that was generated in one period, which is identified by a tag that is included in each stanza.
+     */
+    private static final class Period
+    {
+        final String tag;
+        final long[] sent;
+        int from;
+        int held;
+        int to;
+        long activation;
+
+        Period(final String tag, final int stanzaCount)
+        {
+            this.tag = tag;
+            this.sent = new long[stanzaCount];
+        }
+
+        /**
+         * Returns the stanzas that were received while traffic was generated (and, for an inactive period, before the
+         * observer became active again).
+         */
+        List<ReceivedTraffic.Arrival> getDuring(final ReceivedTraffic received)
+        {
+            return received.get(from, held);
+        }
+
+        /**
+         * Returns the stanzas that were received after the observer became active again.
+         */
+        List<ReceivedTraffic.Arrival> getAfterActivation(final ReceivedTraffic received)
+        {
+            return received.get(held, to);
+        }
+
+        List<ReceivedTraffic.Arrival> getAll(final ReceivedTraffic received)
+        {
+            return received.get(from, to);
+        }
+    }
+}
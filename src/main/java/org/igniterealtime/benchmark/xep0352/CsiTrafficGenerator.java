@@ -0,0 +1,357 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0352;
+
+import org.igniterealtime.benchmark.BenchmarkAccounts;
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.igniterealtime.benchmark.xep0060.PubSubBenchmarkUtils;
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.igniterealtime.smack.inttest.util.IntegrationTestRosterUtil;
+import org.igniterealtime.smack.inttest.xep0060.PubSubUtils;
+import org.jivesoftware.smack.AbstractXMPPConnection;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.XMPPException;
+import org.jivesoftware.smack.packet.Message;
+import org.jivesoftware.smack.packet.MessageBuilder;
+import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.packet.PresenceBuilder;
+import org.jivesoftware.smack.packet.Stanza;
+import org.jivesoftware.smack.util.StringUtils;
+import org.jivesoftware.smackx.muc.MultiUserChat;
+import org.jivesoftware.smackx.muc.MultiUserChatManager;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jxmpp.jid.DomainBareJid;
+import org.jxmpp.jid.EntityBareJid;
+import org.jxmpp.jid.impl.JidCreate;
+import org.jxmpp.jid.parts.Localpart;
+import org.jxmpp.jid.parts.Resourcepart;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates a mix of traffic for one client (the 'observer'), as sent by a number of peers: presence changes, chat
+ * messages, groupchat messages and PubSub notifications. This is the kind of traffic for which servers apply
+ * optimizations when the observer indicates to be inactive.
+ *
+ * The observer is a newly created account. It is subscribed to the presence of each of the peers, joins a multi-user
+ * chat room in which the peers are occupants, and subscribes to a PubSub node to which the first peer publishes. Each
+ * generated stanza contains a tag (identifying a series of traffic) followed by a sequence number, which allows the
+ * receipt of each stanza to be identified.
+ */
+class CsiTrafficGenerator
+{
+    private static final Logger LOGGER = Logger.getLogger(CsiTrafficGenerator.class.getName());
+
+    /**
+     * The size (in characters) of the payload of the items that are published to the PubSub node.
+     */
+    private static final int PAYLOAD_SIZE = 64;
+
+    enum Traffic
+    {
+        PRESENCE, CHAT, GROUPCHAT, PUBSUB
+    }
+
+    private final List<Traffic> traffic = new ArrayList<>();
+    private final DomainBareJid mucDomain;
+    private final DomainBareJid pubSubService;
+    private final String nodeId = "bench-csi-" + StringUtils.insecureRandomString(8).toLowerCase();
+
+    private AbstractXMPPConnection observer;
+    private List<AbstractXMPPConnection> peers;
+    private final List<MultiUserChat> rooms = new ArrayList<>();
+    private PubSubManager publisherManager;
+
+    /**
+     * Creates a generator for the configured kinds of traffic. Kinds of traffic that cannot be generated on the domain
+     * (as it lacks a multi-user chat or PubSub service) are omitted.
+     *
+     * @param connection a connection to the domain that is benchmarked.
+     * @param configuredTraffic comma-separated kinds of traffic (any of: presence, chat, groupchat, pubsub).
+     * @throws TestNotPossibleException when none of the kinds of traffic can be generated.
+     */
+    CsiTrafficGenerator(final XMPPConnection connection, final String configuredTraffic) throws TestNotPossibleException, SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        for (final String kind : configuredTraffic.split("\\s*,\\s*")) {
+            traffic.add(Traffic.valueOf(kind.trim().toUpperCase(Locale.ROOT)));
+        }
+
+        if (traffic.contains(Traffic.GROUPCHAT)) {
+            mucDomain = MultiUserChatManager.getInstanceFor(connection).getMucServiceDomains().stream().findFirst().orElse(null);
+            if (mucDomain == null) {
+                LOGGER.log(Level.INFO, "Unable to find a MUC service domain. No groupchat traffic will be generated.");
+                traffic.remove(Traffic.GROUPCHAT);
+            }
+        } else {
+            mucDomain = null;
+        }
+
+        DomainBareJid service = null;
+        if (traffic.contains(Traffic.PUBSUB)) {
+            try {
+                service = PubSubUtils.getPubSubServiceThatAllowsNodeCreation(connection);
+            } catch (TestNotPossibleException e) {
+                LOGGER.log(Level.INFO, "Unable to find a PubSub service that allows node creation. No PubSub traffic will be generated.");
+                traffic.remove(Traffic.PUBSUB);
+            }
+        }
+        pubSubService = service;
+
+        if (traffic.isEmpty()) {
+            throw new TestNotPossibleException("None of the configured kinds of traffic can be generated on this domain.");
+        }
+    }
+
+    List<Traffic> getTraffic()
+    {
+        return traffic;
+    }
+
+    AbstractXMPPConnection getObserver()
+    {
+        return observer;
+    }
+
+    /**
+     * Creates the observer and its peers, and sets up everything that is needed for the peers to generate traffic for
+     * the observer.
+     *
+     * @param accounts used to create the accounts (which are removed when it is closed).
+     * @param peerCount the amount of peers that generate traffic.
+     * @param timeout the maximum duration (in milliseconds) to wait for a subscription to be established.
+     */
+    void setUp(final BenchmarkAccounts accounts, final int peerCount, final long timeout) throws Exception
+    {
+        final List<BenchmarkAccounts.Account> created = accounts.create(peerCount + 1);
+        observer = accounts.connect(created.get(0));
+        peers = accounts.connect(created.subList(1, created.size()));
+
+        if (traffic.contains(Traffic.PRESENCE)) {
+            final List<Callable<Void>> subscribeTasks = new ArrayList<>(peerCount);
+            for (final AbstractXMPPConnection peer : peers) {
+                subscribeTasks.add(() -> {
+                    IntegrationTestRosterUtil.ensureSubscribedTo(observer, peer, timeout);
+                    return null;
+                });
+            }
+            BenchmarkUtils.inParallel(accounts.getParallelism(), subscribeTasks);
+        }
+        if (traffic.contains(Traffic.GROUPCHAT)) {
+            final EntityBareJid roomAddress = JidCreate.entityBareFrom(Localpart.from("bench-csi-" + StringUtils.insecureRandomString(6).toLowerCase()), mucDomain);
+            for (int i = 0; i < peerCount; i++) {
+                final MultiUserChat room = MultiUserChatManager.getInstanceFor(peers.get(i)).getMultiUserChat(roomAddress);
+                if (i == 0) {
+                    room.create(Resourcepart.from("peer-" + i)).makeInstant();
+                } else {
+                    room.join(Resourcepart.from("peer-" + i));
+                }
+                rooms.add(room);
+            }
+            MultiUserChatManager.getInstanceFor(observer).getMultiUserChat(roomAddress).join(Resourcepart.from("observer"));
+        }
+        if (traffic.contains(Traffic.PUBSUB)) {
+            publisherManager = PubSubManager.getInstanceFor(peers.get(0), pubSubService);
+            PubSubBenchmarkUtils.createLeafNode(publisherManager, nodeId, null);
+            PubSubManager.getInstanceFor(observer, pubSubService).getNode(nodeId).subscribe(observer.getUser().asEntityBareJid());
+        }
+    }
+
+    /**
+     * Removes the multi-user chat room and PubSub node that were created by {@link #setUp(BenchmarkAccounts, int, long)},
+     * logging (rather than throwing) any errors.
+     */
+    void tearDown()
+    {
+        if (!rooms.isEmpty()) {
+            try {
+                rooms.get(0).destroy();
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Unable to destroy room '" + rooms.get(0).getRoom() + "' that was used by a benchmark.", e);
+            }
+            rooms.clear();
+        }
+        if (publisherManager != null) {
+            PubSubBenchmarkUtils.tryDeleteNode(peers.get(0), publisherManager, nodeId);
+            publisherManager = null;
+        }
+    }
+
+    /**
+     * Returns the kind of the traffic that is generated as the stanza with the provided sequence number.
+     */
+    Traffic getKind(final int index)
+    {
+        return traffic.get(index % traffic.size());
+    }
+
+    /**
+     * Returns the index of the peer that sends the stanza with the provided sequence number.
+     */
+    int getSender(final int index)
+    {
+        // Only the owner of the PubSub node (the first peer) is allowed to publish to it.
+        return getKind(index) == Traffic.PUBSUB ? 0 : (index / traffic.size()) % peers.size();
+    }
+
+    /**
+     * Returns how many of the first <tt>count</tt> stanzas are of the provided kind.
+     */
+    int getCount(final Traffic kind, final int count)
+    {
+        final int position = traffic.indexOf(kind);
+        return position < 0 ? 0 : (count - position + traffic.size() - 1) / traffic.size();
+    }
+
+    /**
+     * Has a peer send the stanza with the provided sequence number, in the series that is identified by the provided tag.
+     */
+    void send(final String tag, final int index) throws Exception
+    {
+        final int sender = getSender(index);
+        final AbstractXMPPConnection peer = peers.get(sender);
+        final String value = tag + index;
+        switch (getKind(index)) {
+            case PRESENCE:
+                peer.sendStanza(PresenceBuilder.buildPresence().ofType(Presence.Type.available).setStatus(value).build());
+                break;
+            case CHAT:
+                peer.sendStanza(MessageBuilder.buildMessage().ofType(Message.Type.chat).to(observer.getUser()).setBody(value).build());
+                break;
+            case GROUPCHAT:
+                rooms.get(sender).sendMessage(value);
+                break;
+            case PUBSUB:
+                peer.sendIqRequestAsync(PubSubBenchmarkUtils.createPublishRequest(pubSubService, nodeId, value, PAYLOAD_SIZE));
+                break;
+        }
+    }
+
+    /**
+     * Waits until the server has processed all stanzas that were sent by the peers.
+     */
+    void awaitSent() throws Exception
+    {
+        for (final AbstractXMPPConnection peer : peers) {
+            BenchmarkUtils.roundTrip(peer);
+        }
+    }
+
+    /**
+     * Waits until the observer has received all stanzas of a series, or until it did not receive anything for the
+     * provided quiet period (servers can legitimately drop some traffic for inactive clients, such as outdated
+     * presence).
+     *
+     * @return true if all stanzas of the series were received.
+     */
+    static boolean awaitDelivery(final ReceivedTraffic received, final int from, final String tag, final int count, final long quietNanos, final long timeoutNanos)
+    {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        int lastSize = -1;
+        long lastChange = System.nanoTime();
+        while (System.nanoTime() < deadline) {
+            final int size = received.size();
+            if (size != lastSize) {
+                lastSize = size;
+                lastChange = System.nanoTime();
+                final Set<Integer> tagged = new HashSet<>();
+                for (final ReceivedTraffic.Arrival arrival : received.get(from, size)) {
+                    final int index = getIndex(arrival.stanza, tag);
+                    if (index >= 0) {
+                        tagged.add(index);
+                    }
+                }
+                if (tagged.size() >= count) {
+                    return true;
+                }
+            } else if (System.nanoTime() - lastChange > quietNanos) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return false;
+    }
+
+    /**
+     * Returns the kind of traffic that a received stanza represents, or null if it does not represent any of the
+     * kinds of traffic that are generated.
+     */
+    static Traffic getKind(final Stanza stanza)
+    {
+        if (stanza instanceof Presence) {
+            return Traffic.PRESENCE;
+        }
+        if (!(stanza instanceof Message)) {
+            return null;
+        }
+        if (!PubSubBenchmarkUtils.getNotifiedItemIds(stanza).isEmpty()) {
+            return Traffic.PUBSUB;
+        }
+        switch (((Message) stanza).getType()) {
+            case chat:
+                return Traffic.CHAT;
+            case groupchat:
+                return Traffic.GROUPCHAT;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the sequence number of the traffic that is represented by a received stanza, or -1 if the stanza was
+     * not generated as part of the series that is identified by the provided tag.
+     */
+    static int getIndex(final Stanza stanza, final String tag)
+    {
+        final Traffic kind = getKind(stanza);
+        if (kind == null) {
+            return -1;
+        }
+        final String value;
+        switch (kind) {
+            case PRESENCE:
+                value = ((Presence) stanza).getStatus();
+                break;
+            case PUBSUB:
+                value = PubSubBenchmarkUtils.getNotifiedItemIds(stanza).get(0);
+                break;
+            default:
+                value = ((Message) stanza).getBody();
+                break;
+        }
+        if (value == null || !value.startsWith(tag)) {
+            return -1;
+        }
+        return Integer.parseInt(value.substring(tag.length()));
+    }
+
+    /**
+     * Creates a new tag, that identifies a series of traffic.
+     */
+    static String newTag()
+    {
+        return StringUtils.insecureRandomString(9) + "-";
+    }
+}
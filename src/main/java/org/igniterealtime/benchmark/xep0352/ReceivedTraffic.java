@@ -0,0 +1,150 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark.xep0352;
+
+import org.igniterealtime.benchmark.BenchmarkUtils;
+import org.jivesoftware.smack.ListenerHandle;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.Stanza;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the stanzas that are received by a connection, with the time of their arrival and their (approximate) size.
+ *
+ * Servers that implement Client State Indication typically hold back stanzas for inactive clients, and deliver them in
+ * bulk at a later time (a 'flush'). As a client cannot observe when a server writes data, flushes are detected based on
+ * the arrival times of stanzas: stanzas that arrive without a gap larger than a configured threshold between them are
+ * considered to be part of the same burst.
+ */
+class ReceivedTraffic
+{
+    private final List<Arrival> arrivals = new ArrayList<>();
+
+    /**
+     * Starts recording the stanzas that are received by the provided connection. Responses to requests of the client
+     * itself are not recorded, as these are not subject to the optimizations that a server applies for inactive clients.
+     *
+     * @return a handle that stops the recording when closed.
+     */
+    ListenerHandle record(final XMPPConnection connection)
+    {
+        return connection.addStanzaListener(stanza -> {
+            final long now = System.nanoTime();
+            final Arrival arrival = new Arrival(now, stanza, BenchmarkUtils.getSize(stanza));
+            synchronized (this) {
+                arrivals.add(arrival);
+            }
+        }, stanza -> !(stanza instanceof IQ && ((IQ) stanza).isResponseIQ()));
+    }
+
+    /**
+     * Returns the amount of stanzas that have been recorded so far. This can be used as a marker to obtain the
+     * stanzas that were received after a particular moment.
+     */
+    synchronized int size()
+    {
+        return arrivals.size();
+    }
+
+    /**
+     * Returns the stanzas that were recorded from (inclusive) and to (exclusive) the provided markers, in order of
+     * arrival.
+     */
+    synchronized List<Arrival> get(final int from, final int to)
+    {
+        return new ArrayList<>(arrivals.subList(from, to));
+    }
+
+    /**
+     * Returns the total (approximate) amount of bytes of the provided stanzas.
+     */
+    static long getBytes(final List<Arrival> arrivals)
+    {
+        long result = 0;
+        for (final Arrival arrival : arrivals) {
+            result += arrival.size;
+        }
+        return result;
+    }
+
+    /**
+     * Groups stanzas in bursts: consecutive stanzas are part of the same burst, unless the time between their arrivals
+     * is larger than the provided gap.
+     *
+     * @param arrivals stanzas, in order of arrival.
+     * @param gapNanos the largest time (in nanoseconds) between stanzas that are considered to be part of one burst.
+     */
+    static List<Burst> getBursts(final List<Arrival> arrivals, final long gapNanos)
+    {
+        final List<Burst> result = new ArrayList<>();
+        Burst current = null;
+        for (final Arrival arrival : arrivals) {
+            if (current == null || arrival.time - current.last > gapNanos) {
+                current = new Burst(arrival.time);
+                result.add(current);
+            }
+            current.last = arrival.time;
+            current.stanzas++;
+            current.bytes += arrival.size;
+        }
+        return result;
+    }
+
+    /**
+     * Summarizes bursts, for human consumption.
+     */
+    static String describe(final List<Burst> bursts)
+    {
+        int largestStanzas = 0;
+        long largestBytes = 0;
+        for (final Burst burst : bursts) {
+            largestStanzas = Math.max(largestStanzas, burst.stanzas);
+            largestBytes = Math.max(largestBytes, burst.bytes);
+        }
+        return bursts.size() + " bursts, largest: " + largestStanzas + " stanzas, " + largestBytes + " bytes";
+    }
+
+    static final class Arrival
+    {
+        final long time;
+        final Stanza stanza;
+        final int size;
+
+        Arrival(final long time, final Stanza stanza, final int size)
+        {
+            this.time = time;
+            this.stanza = stanza;
+            this.size = size;
+        }
+    }
+
+    static final class Burst
+    {
+        final long first;
+        long last;
+        int stanzas;
+        long bytes;
+
+        Burst(final long first)
+        {
+            this.first = first;
+            this.last = first;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.igniterealtime.smack.inttest.rfc6121.section2;
 
 import org.igniterealtime.smack.inttest.util.ResultSyncPoint;
+import org.jivesoftware.smack.SmackFuture;
 import org.jivesoftware.smack.XMPPConnection;
 import org.jivesoftware.smack.iqrequest.AbstractIqRequestHandler;
 import org.jivesoftware.smack.iqrequest.IQRequestHandler;
@@ -9,21 +10,35 @@ import org.jivesoftware.smack.roster.packet.RosterPacket;
 import org.jxmpp.jid.BareJid;
 import org.jxmpp.jid.Jid;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A Smack AbstractIqRequestHandler that intends to replace the handler that is used by Smack internally, to manage
  * its 'Roster' implementation. This replacement should delegate to the original (as to not break Smack functionality)
  * but can also be used to register a syncpoint that is triggered when any roster push for an item that has a particular
  * JID is sent by the server.
+ *
+ * More than one syncpoint can be registered at the same time (even for the same JID). Each syncpoint is triggered by
+ * (only) the first roster push for its JID that is received after all syncpoints that were registered earlier for that
+ * same JID have been triggered. This allows for roster changes to be pipelined.
  */
-final class RosterPushListenerWithTarget extends AbstractIqRequestHandler
+public final class RosterPushListenerWithTarget extends AbstractIqRequestHandler
 {
+    /**
+     * The maximum amount of roster changes that are sent, without having received their IQ result and roster push, by
+     * {@link #sendRosterChangesPipelinedAndWaitForResultAndPush(XMPPConnection, long, RosterPacket...)}.
+     */
+    public static final int DEFAULT_PIPELINE_WINDOW_SIZE = 50;
+
     private IQRequestHandler delegate;
 
-    private ResultSyncPoint<RosterPacket, Exception> syncPoint;
-    private Jid target;
+    private final ConcurrentMap<Jid, Queue<ResultSyncPoint<RosterPacket, Exception>>> pendingTargets = new ConcurrentHashMap<>();
 
     RosterPushListenerWithTarget()
     {
@@ -39,10 +54,9 @@ final class RosterPushListenerWithTarget extends AbstractIqRequestHandler
         this.delegate = delegate;
     }
 
-    public synchronized void registerSyncPointFor(final ResultSyncPoint<RosterPacket, Exception> syncPoint, final Jid target)
+    public void registerSyncPointFor(final ResultSyncPoint<RosterPacket, Exception> syncPoint, final Jid target)
     {
-        this.syncPoint = syncPoint;
-        this.target = target;
+        pendingTargets.computeIfAbsent(target, jid -> new ConcurrentLinkedQueue<>()).add(syncPoint);
     }
 
     @Override
@@ -50,14 +64,14 @@ final class RosterPushListenerWithTarget extends AbstractIqRequestHandler
     {
         final IQ result = delegate.handleIQRequest(iqRequest);
 
-        synchronized (this) {
-            if (target != null) {
-                final RosterPacket rosterPacket = (RosterPacket) iqRequest;
-                for (RosterPacket.Item rosterItem : rosterPacket.getRosterItems()) {
-                    if (rosterItem.getJid().equals(target)) {
-                        syncPoint.signal(rosterPacket);
-                        break;
-                    }
+        final RosterPacket rosterPacket = (RosterPacket) iqRequest;
+        for (RosterPacket.Item rosterItem : rosterPacket.getRosterItems()) {
+            final Queue<ResultSyncPoint<RosterPacket, Exception>> syncPoints = pendingTargets.get(rosterItem.getJid());
+            if (syncPoints != null) {
+                final ResultSyncPoint<RosterPacket, Exception> syncPoint = syncPoints.poll();
+                if (syncPoint != null) {
+                    syncPoint.signal(rosterPacket);
+                    break;
                 }
             }
         }
@@ -77,11 +91,7 @@ final class RosterPushListenerWithTarget extends AbstractIqRequestHandler
      */
     public static RosterPacket sendRosterChangeAndWaitForResultAndPush(final XMPPConnection connection, final long timeout, final RosterPacket rosterPacket) throws Exception
     {
-        if (rosterPacket == null || rosterPacket.getRosterItems().size() != 1 || rosterPacket.getType() != IQ.Type.set) {
-            throw new IllegalArgumentException();
-        }
-
-        final BareJid target = rosterPacket.getRosterItems().iterator().next().getJid();
+        final BareJid target = getTarget(rosterPacket);
 
         final RosterPushListenerWithTarget rosterPushHandler = new RosterPushListenerWithTarget();
         final IQRequestHandler oldHandler = connection.registerIQRequestHandler(rosterPushHandler);
@@ -124,4 +134,106 @@ final class RosterPushListenerWithTarget extends AbstractIqRequestHandler
         }
         return result;
     }
+
+    /**
+     * Sends on the provided connection a series of roster packets that are expected to change the roster (they should be 'set' requests).
+     *
+     * Unlike {@link #sendRosterChangesAndWaitForResultAndPush(XMPPConnection, long, RosterPacket...)}, this method does
+     * not wait for the IQ response and roster push of one change before sending the next. Instead, up to
+     * {@link #DEFAULT_PIPELINE_WINDOW_SIZE} changes are 'in flight' at any time. The roster pushes are correlated to
+     * the requests by the JID of the roster item that is being changed.
+     *
+     * The associated roster pushes that are sent from the server back to the client are returned by this method (in the
+     * same order as the requests were sent).
+     *
+     * @param connection The connection on which XMPP stanzas are exchanged.
+     * @param timeout The time (in milliseconds) to wait for each IQ response and each roster push.
+     * @param rosterPackets The stanzas that will be sent (should represent roster change requests).
+     * @return The roster pushes that are received for each change.
+     * @throws IllegalArgumentException if a stanza is not a roster 'set' request that changes exactly one roster item.
+     * @throws Exception if a change is rejected by the server, or when its IQ response or roster push is not received in time.
+     */
+    public static List<RosterPacket> sendRosterChangesPipelinedAndWaitForResultAndPush(final XMPPConnection connection, final long timeout, final RosterPacket... rosterPackets) throws Exception
+    {
+        return sendRosterChangesPipelinedAndWaitForResultAndPush(connection, timeout, DEFAULT_PIPELINE_WINDOW_SIZE, rosterPackets);
+    }
+
+    /**
+     * Sends on the provided connection a series of roster packets that are expected to change the roster (they should be 'set' requests).
+     *
+     * Unlike {@link #sendRosterChangesAndWaitForResultAndPush(XMPPConnection, long, RosterPacket...)}, this method does
+     * not wait for the IQ response and roster push of one change before sending the next. Instead, up to
+     * <tt>windowSize</tt> changes are 'in flight' at any time. The roster pushes are correlated to the requests by the
+     * JID of the roster item that is being changed.
+     *
+     * The associated roster pushes that are sent from the server back to the client are returned by this method (in the
+     * same order as the requests were sent).
+     *
+     * @param connection The connection on which XMPP stanzas are exchanged.
+     * @param timeout The time (in milliseconds) to wait for each IQ response and each roster push.
+     * @param windowSize The maximum amount of changes for which an IQ response or roster push has not yet been received.
+     * @param rosterPackets The stanzas that will be sent (should represent roster change requests).
+     * @return The roster pushes that are received for each change.
+     * @throws IllegalArgumentException if the window size is not positive, or if a stanza is not a roster 'set' request that changes exactly one roster item.
+     * @throws Exception if a change is rejected by the server, or when its IQ response or roster push is not received in time.
+     */
+    public static List<RosterPacket> sendRosterChangesPipelinedAndWaitForResultAndPush(final XMPPConnection connection, final long timeout, final int windowSize, final RosterPacket... rosterPackets) throws Exception
+    {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window size must be a positive number, but was: " + windowSize);
+        }
+
+        final List<BareJid> targets = new ArrayList<>(rosterPackets.length);
+        for (final RosterPacket rosterPacket : rosterPackets) {
+            targets.add(getTarget(rosterPacket));
+        }
+
+        final RosterPushListenerWithTarget rosterPushHandler = new RosterPushListenerWithTarget();
+        final IQRequestHandler oldHandler = connection.registerIQRequestHandler(rosterPushHandler);
+        rosterPushHandler.setDelegate(oldHandler); // Allows Smack internal classes (like Roster) to keep on processing roster changes.
+        try
+        {
+            final List<SmackFuture<IQ, Exception>> responses = new ArrayList<>(rosterPackets.length);
+            final List<ResultSyncPoint<RosterPacket, Exception>> pushes = new ArrayList<>(rosterPackets.length);
+            final List<RosterPacket> result = new ArrayList<>(rosterPackets.length);
+            for (int i = 0; i < rosterPackets.length; i++) {
+                if (i >= windowSize) {
+                    // The window is full: wait for the oldest change to have completed before sending the next one.
+                    result.add(waitForResultAndPush(responses.get(result.size()), pushes.get(result.size()), timeout));
+                }
+
+                final ResultSyncPoint<RosterPacket, Exception> rosterPushReceived = new ResultSyncPoint<>();
+                rosterPushHandler.registerSyncPointFor(rosterPushReceived, targets.get(i));
+                pushes.add(rosterPushReceived);
+                responses.add(connection.sendIqRequestAsync(rosterPackets[i], timeout));
+            }
+
+            while (result.size() < rosterPackets.length) {
+                result.add(waitForResultAndPush(responses.get(result.size()), pushes.get(result.size()), timeout));
+            }
+            return result;
+        }
+        finally
+        {
+            if (oldHandler != null) {
+                connection.registerIQRequestHandler(oldHandler);
+            } else {
+                connection.unregisterIQRequestHandler(rosterPushHandler);
+            }
+        }
+    }
+
+    private static RosterPacket waitForResultAndPush(final SmackFuture<IQ, Exception> response, final ResultSyncPoint<RosterPacket, Exception> push, final long timeout) throws Exception
+    {
+        response.getOrThrow();
+        return push.waitForResult(timeout);
+    }
+
+    private static BareJid getTarget(final RosterPacket rosterPacket)
+    {
+        if (rosterPacket == null || rosterPacket.getRosterItems().size() != 1 || rosterPacket.getType() != IQ.Type.set) {
+            throw new IllegalArgumentException();
+        }
+        return rosterPacket.getRosterItems().iterator().next().getJid();
+    }
 }
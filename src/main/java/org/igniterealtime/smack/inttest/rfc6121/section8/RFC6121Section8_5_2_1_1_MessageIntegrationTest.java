@@ -25,6 +25,7 @@ import org.jivesoftware.smack.*;
 import org.jivesoftware.smack.filter.*;
 import org.jivesoftware.smack.packet.*;
 import org.jivesoftware.smack.util.StringUtils;
+import org.jxmpp.jid.BareJid;
 import org.jxmpp.jid.EntityFullJid;
 import org.jxmpp.jid.FullJid;
 import org.jxmpp.jid.Jid;
@@ -428,11 +429,25 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
      * @param resourcePriorities the presence priority value for each of conTwo's resources.
      */
     public void doTestMessageNormalOrChat(final Message.Type messageType, final List<Integer> resourcePriorities) throws Exception
+    {
+        doTest(messageType, resourcePriorities, getMessageNormalOrChatAssertions(messageType, conOne.getUser(), conTwo.getUser().asBareJid()));
+    }
+
+    /**
+     * Returns the assertions that verify the routing of a message stanza of type 'normal' or 'chat' that was sent by
+     * the sender to the bare JID of the recipient.
+     *
+     * @param messageType the type of the message stanza that was sent.
+     * @param sender the entity that sent the message stanza.
+     * @param recipient the bare JID to which the message stanza was addressed.
+     * @see #doTest(Message.Type, List, Assertions)
+     */
+    public static Assertions<Set<FullJid>, Set<EntityFullJid>, Map<EntityFullJid, Stanza>, Message, Optional<Stanza>, Void> getMessageNormalOrChatAssertions(final Message.Type messageType, final Jid sender, final BareJid recipient)
     {
         if (!Set.of(Message.Type.normal, Message.Type.chat).contains(messageType)) {
             throw new IllegalArgumentException("Invalid 'messageType' argument value: " + messageType);
         }
-        doTest(messageType, resourcePriorities, (allRecipientResources, allNonNegativeRecipientResources, stanzasReceivedByRecipient, testStanza, errorReceivedBySender) ->
+        return (allRecipientResources, allNonNegativeRecipientResources, stanzasReceivedByRecipient, testStanza, errorReceivedBySender) ->
         {
             final Set<EntityFullJid> nonNegativeRecipients = stanzasReceivedByRecipient.keySet().stream().filter(allNonNegativeRecipientResources::contains).collect(Collectors.toSet());
             final Set<EntityFullJid> negativeRecipients = stanzasReceivedByRecipient.keySet().stream().filter(o -> allRecipientResources.contains(o) && !allNonNegativeRecipientResources.contains(o)).collect(Collectors.toSet());
@@ -442,26 +457,26 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
                     // Do nothing to assert.
                     break;
                 case 1:
-                    assertEquals(1, nonNegativeRecipients.size(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to the bare JID of '" + conTwo.getUser().asBareJid() +"' to have been received by the single resource that had a non-negative resource: [" + allNonNegativeRecipientResources.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "]. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().map(Object::toString).sorted().collect(Collectors.joining(", "))+ "]" );
+                    assertEquals(1, nonNegativeRecipients.size(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + sender + "' to the bare JID of '" + recipient +"' to have been received by the single resource that had a non-negative resource: [" + allNonNegativeRecipientResources.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "]. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().map(Object::toString).sorted().collect(Collectors.joining(", "))+ "]" );
                     break;
                 default:
                     if (messageType == Message.Type.chat) {
                         // Message stanza type 'chat' can be influenced by an unspecified (and for the purpose of this test, undetectable) 'opt-in' mechanism. When such an opt-in mechanism is _not_ offered, then the message stanza should be sent to either the highest priority, or _all_ resources that are non-negative. When such an opt-in is offered, it could also be sent to all those that opted-in (which may be zero resources). See https://logs.xmpp.org/xsf/2025-06-06#2025-06-06-44f4ded1943dad29 for more context.
-                        assertTrue(nonNegativeRecipients.isEmpty() || nonNegativeRecipients.size() == 1 || nonNegativeRecipients.size() == allNonNegativeRecipientResources.size(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to the bare JID of '" + conTwo.getUser().asBareJid() +"' to have been received by either exactly one, zero (in case an opt-in mechanism is provided by the server, but not used by any of the clients), or all (in case no opt-in mechanism is provided by the server) resources that have non-negative presence: [" + allNonNegativeRecipientResources.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "]. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().sorted().collect(Collectors.joining(", "))+ "]"  );
+                        assertTrue(nonNegativeRecipients.isEmpty() || nonNegativeRecipients.size() == 1 || nonNegativeRecipients.size() == allNonNegativeRecipientResources.size(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + sender + "' to the bare JID of '" + recipient +"' to have been received by either exactly one, zero (in case an opt-in mechanism is provided by the server, but not used by any of the clients), or all (in case no opt-in mechanism is provided by the server) resources that have non-negative presence: [" + allNonNegativeRecipientResources.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "]. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().sorted().collect(Collectors.joining(", "))+ "]"  );
                     } else {
-                        assertTrue(nonNegativeRecipients.size() == 1 || nonNegativeRecipients.size() == allNonNegativeRecipientResources.size(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to the bare JID of '" + conTwo.getUser().asBareJid() +"' to have been received by either exactly one, or all resources that have non-negative presence: [" + allNonNegativeRecipientResources.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "]. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().sorted().collect(Collectors.joining(", "))+ "]"  );
+                        assertTrue(nonNegativeRecipients.size() == 1 || nonNegativeRecipients.size() == allNonNegativeRecipientResources.size(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + sender + "' to the bare JID of '" + recipient +"' to have been received by either exactly one, or all resources that have non-negative presence: [" + allNonNegativeRecipientResources.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "]. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().sorted().collect(Collectors.joining(", "))+ "]"  );
                     }
                     break;
             }
 
-            assertTrue(negativeRecipients.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to the bare JID of '" + conTwo.getUser().asBareJid() +"' to NOT have been received by resources that have a negative priority. Instead, it was received by this/these resource(s) that had a negative priority: [" + negativeRecipients.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "].");
+            assertTrue(negativeRecipients.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + sender + "' to the bare JID of '" + recipient +"' to NOT have been received by resources that have a negative priority. Instead, it was received by this/these resource(s) that had a negative priority: [" + negativeRecipients.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "].");
 
             final Map<EntityFullJid, Jid> invalidAddressees = stanzasReceivedByRecipient.entrySet().stream().filter((entry) -> !entry.getValue().getTo().equals(testStanza.getTo())).collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getTo()));
             final String errorMessage = invalidAddressees.entrySet().stream().map(entry -> "resource '" + entry.getKey() + "' received a stanza addressed to '" + entry.getValue() + "'").collect(Collectors.joining(", "));
-            assertTrue(invalidAddressees.isEmpty(), "Expected the 'to' attribute of the message stanza sent by '" + conOne.getUser() + "' to remain unchanged ('" + testStanza.getTo() + "'). Instead, these resources received attribute values that were modified: " + errorMessage + ".");
+            assertTrue(invalidAddressees.isEmpty(), "Expected the 'to' attribute of the message stanza sent by '" + sender + "' to remain unchanged ('" + testStanza.getTo() + "'). Instead, these resources received attribute values that were modified: " + errorMessage + ".");
 
             return null;
-        });
+        };
     }
 
     /**
@@ -472,13 +487,26 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
      */
     public void doTestMessageGroupchat(final List<Integer> resourcePriorities) throws Exception
     {
-        doTest(Message.Type.groupchat, resourcePriorities, (allRecipientResources, allNonNegativeRecipientResources, stanzasReceivedByRecipient, testStanza, errorReceivedBySender) ->
+        doTest(Message.Type.groupchat, resourcePriorities, getMessageGroupchatAssertions(conOne.getUser(), conTwo.getUser().asBareJid()));
+    }
+
+    /**
+     * Returns the assertions that verify the routing of a message stanza of type 'groupchat' that was sent by the sender
+     * to the bare JID of the recipient.
+     *
+     * @param sender the entity that sent the message stanza.
+     * @param recipient the bare JID to which the message stanza was addressed.
+     * @see #doTest(Message.Type, List, Assertions)
+     */
+    public static Assertions<Set<FullJid>, Set<EntityFullJid>, Map<EntityFullJid, Stanza>, Message, Optional<Stanza>, Void> getMessageGroupchatAssertions(final Jid sender, final BareJid recipient)
+    {
+        return (allRecipientResources, allNonNegativeRecipientResources, stanzasReceivedByRecipient, testStanza, errorReceivedBySender) ->
         {
-            assertTrue(stanzasReceivedByRecipient.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to the bare JID of '" + conTwo.getUser().asBareJid() +"' to NOT have been received by by any resource. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().map(Object::toString).sorted().collect(Collectors.joining(", "))+ "]" );
-            assertTrue(errorReceivedBySender.isPresent(), "Expected '" + conOne.getUser() + "' to receive an error after trying to send a message stanza of type '" + testStanza.getType() + "' to the bare JID of '" + conTwo.getUser().asBareJid() +"' (but no error was received)." );
+            assertTrue(stanzasReceivedByRecipient.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + sender + "' to the bare JID of '" + recipient +"' to NOT have been received by by any resource. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().map(Object::toString).sorted().collect(Collectors.joining(", "))+ "]" );
+            assertTrue(errorReceivedBySender.isPresent(), "Expected '" + sender + "' to receive an error after trying to send a message stanza of type '" + testStanza.getType() + "' to the bare JID of '" + recipient +"' (but no error was received)." );
 
             return null;
-        });
+        };
     }
 
     /**
@@ -488,13 +516,26 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
      * @param resourcePriorities the presence priority value for each of conTwo's resources.
      */
     public void doTestMessageError(final List<Integer> resourcePriorities) throws Exception {
-        doTest(Message.Type.error,  resourcePriorities, (allRecipientResources, allNonNegativeRecipientResources, stanzasReceivedByRecipient, testStanza, errorReceivedBySender) ->
+        doTest(Message.Type.error, resourcePriorities, getMessageErrorAssertions(conOne.getUser(), conTwo.getUser().asBareJid()));
+    }
+
+    /**
+     * Returns the assertions that verify the routing of a message stanza of type 'error' that was sent by the sender
+     * to the bare JID of the recipient.
+     *
+     * @param sender the entity that sent the message stanza.
+     * @param recipient the bare JID to which the message stanza was addressed.
+     * @see #doTest(Message.Type, List, Assertions)
+     */
+    public static Assertions<Set<FullJid>, Set<EntityFullJid>, Map<EntityFullJid, Stanza>, Message, Optional<Stanza>, Void> getMessageErrorAssertions(final Jid sender, final BareJid recipient)
+    {
+        return (allRecipientResources, allNonNegativeRecipientResources, stanzasReceivedByRecipient, testStanza, errorReceivedBySender) ->
         {
-            assertTrue(stanzasReceivedByRecipient.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to the bare JID of '" + conTwo.getUser().asBareJid() +"' to NOT have been received by by any resource. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().map(Object::toString).sorted().collect(Collectors.joining(", "))+ "]" );
-            assertFalse(errorReceivedBySender.isPresent(), "After '" + conOne.getUser() + "' sent a message stanza of type '" + testStanza.getType() + "' to the bare JID of '" + testStanza.getTo() + "', it was expected that the server would silently ignore the stanza. Instead, '" + conOne.getUser() + "' received an error: ");
+            assertTrue(stanzasReceivedByRecipient.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + sender + "' to the bare JID of '" + recipient +"' to NOT have been received by by any resource. Instead the message stanza was received by: [" + stanzasReceivedByRecipient.keySet().stream().map(Object::toString).sorted().collect(Collectors.joining(", "))+ "]" );
+            assertFalse(errorReceivedBySender.isPresent(), "After '" + sender + "' sent a message stanza of type '" + testStanza.getType() + "' to the bare JID of '" + testStanza.getTo() + "', it was expected that the server would silently ignore the stanza. Instead, '" + sender + "' received an error: ");
 
             return null;
-        });
+        };
     }
 
     /**
@@ -504,25 +545,38 @@ public class RFC6121Section8_5_2_1_1_MessageIntegrationTest extends AbstractSmac
      * @param resourcePriorities the presence priority value for each of conTwo's resources.
      */
     public void doTestMessageHeadline(final List<Integer> resourcePriorities) throws Exception {
-        doTest(Message.Type.headline, resourcePriorities, (allRecipientResources, allNonNegativeRecipientResources, stanzasReceivedByRecipient, testStanza, errorReceivedBySender) ->
+        doTest(Message.Type.headline, resourcePriorities, getMessageHeadlineAssertions(conOne.getUser(), conTwo.getUser().asBareJid()));
+    }
+
+    /**
+     * Returns the assertions that verify the routing of a message stanza of type 'headline' that was sent by the sender
+     * to the bare JID of the recipient.
+     *
+     * @param sender the entity that sent the message stanza.
+     * @param recipient the bare JID to which the message stanza was addressed.
+     * @see #doTest(Message.Type, List, Assertions)
+     */
+    public static Assertions<Set<FullJid>, Set<EntityFullJid>, Map<EntityFullJid, Stanza>, Message, Optional<Stanza>, Void> getMessageHeadlineAssertions(final Jid sender, final BareJid recipient)
+    {
+        return (allRecipientResources, allNonNegativeRecipientResources, stanzasReceivedByRecipient, testStanza, errorReceivedBySender) ->
         {
             final Set<EntityFullJid> missing = new HashSet<>(allNonNegativeRecipientResources);
             stanzasReceivedByRecipient.keySet().forEach(missing::remove);
             final Set<EntityFullJid> negativeRecipients = stanzasReceivedByRecipient.keySet().stream().filter(o -> allRecipientResources.contains(o) && !allNonNegativeRecipientResources.contains(o)).collect(Collectors.toSet());
 
-            assertTrue(missing.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to the bare JID of '" + conTwo.getUser().asBareJid() + "' to have been received by all resources of that user that have a non-negative presence priority. However, it was not received by [" + missing.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "]");
-            assertTrue(negativeRecipients.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + conOne.getUser() + "' to the bare JID of '" + conTwo.getUser().asBareJid() +"' to NOT have been received by resources that have a negative priority. Instead, it was received by this/these resource(s) that had a negative priority: [" + negativeRecipients.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "].");
+            assertTrue(missing.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + sender + "' to the bare JID of '" + recipient + "' to have been received by all resources of that user that have a non-negative presence priority. However, it was not received by [" + missing.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "]");
+            assertTrue(negativeRecipients.isEmpty(), "Expected the message stanza of type '" + testStanza.getType() + "' that was sent by '" + sender + "' to the bare JID of '" + recipient +"' to NOT have been received by resources that have a negative priority. Instead, it was received by this/these resource(s) that had a negative priority: [" + negativeRecipients.stream().map(Object::toString).sorted().collect(Collectors.joining(", ")) + "].");
 
             final Map<EntityFullJid, Jid> invalidAddressees = stanzasReceivedByRecipient.entrySet().stream().filter((entry) -> !entry.getValue().getTo().equals(testStanza.getTo())).collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getTo()));
             final String errorMessage = invalidAddressees.entrySet().stream().map(entry -> "resource '" + entry.getKey() + "' received a stanza addressed to '" + entry.getValue() + "'").collect(Collectors.joining(", "));
-            assertTrue(invalidAddressees.isEmpty(), "Expected the 'to' attribute of the message stanza sent by '" + conOne.getUser() + "' to remain unchanged ('" + testStanza.getTo() + "'). Instead, these resources received attribute values that were modified: " + errorMessage + ".");
+            assertTrue(invalidAddressees.isEmpty(), "Expected the 'to' attribute of the message stanza sent by '" + sender + "' to remain unchanged ('" + testStanza.getTo() + "'). Instead, these resources received attribute values that were modified: " + errorMessage + ".");
 
             // Asserts that a message stanza is not responded to with an error (is silently dropped) when it is _not_ delivered.
             if (allNonNegativeRecipientResources.isEmpty()) {
-                assertFalse(errorReceivedBySender.isPresent(), "After '" + conOne.getUser() + "' sent a message stanza of type '" + testStanza.getType() + "' to the bare JID of '" + testStanza.getTo() + "', a user that had only resources online that have negative presence priority, it was expected that the server would silently ignore the stanza. Instead, '" + conOne.getUser() + "' received an error.");
+                assertFalse(errorReceivedBySender.isPresent(), "After '" + sender + "' sent a message stanza of type '" + testStanza.getType() + "' to the bare JID of '" + testStanza.getTo() + "', a user that had only resources online that have negative presence priority, it was expected that the server would silently ignore the stanza. Instead, '" + sender + "' received an error.");
             }
             return null;
-        });
+        };
     }
 
     /**
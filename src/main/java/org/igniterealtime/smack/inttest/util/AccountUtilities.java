@@ -110,6 +110,23 @@ public class AccountUtilities
      */
     // FIXME A method like this aught to be provided by SINT's XmppConnectionManager class.
     public static AbstractXMPPConnection spawnNewConnection(final SmackIntegrationTestEnvironment environment, final Configuration sinttestConfiguration) throws InvocationTargetException, InstantiationException, IllegalAccessException
+    {
+        return spawnNewConnection(environment, sinttestConfiguration, List.of());
+    }
+
+    /**
+     * Creates a new (unconnected) XMPP connection, applying additional configuration to it.
+     */
+    public static AbstractXMPPConnection spawnNewConnection(final SmackIntegrationTestEnvironment environment, final Configuration sinttestConfiguration, final List<ConnectionConfigurationBuilderApplier> customConnectionConfigurationAppliers) throws InvocationTargetException, InstantiationException, IllegalAccessException
+    {
+        return spawnNewConnection(environment, sinttestConfiguration, environment.connectionManager.getDefaultConnectionDescriptor(), customConnectionConfigurationAppliers);
+    }
+
+    /**
+     * Creates a new (unconnected) XMPP connection using a specific connection descriptor, applying additional
+     * configuration to it.
+     */
+    public static AbstractXMPPConnection spawnNewConnection(final SmackIntegrationTestEnvironment environment, final Configuration sinttestConfiguration, final XmppConnectionDescriptor<?, ?, ?> connectionDescriptor, final List<ConnectionConfigurationBuilderApplier> customConnectionConfigurationAppliers) throws InvocationTargetException, InstantiationException, IllegalAccessException
     {
         List<ConnectionConfigurationBuilderApplier> connectionConfigurationAppliers = new ArrayList<>();
 
@@ -141,7 +158,8 @@ public class AccountUtilities
             var applier = sinttestDebugger.getConnectionConfigurationBuilderApplier();
             connectionConfigurationAppliers.add(applier);
         }
+        connectionConfigurationAppliers.addAll(customConnectionConfigurationAppliers);
 
-        return connectionManager.getDefaultConnectionDescriptor().construct(sinttestConfiguration, connectionConfigurationAppliers);
+        return connectionDescriptor.construct(sinttestConfiguration, connectionConfigurationAppliers);
     }
 }
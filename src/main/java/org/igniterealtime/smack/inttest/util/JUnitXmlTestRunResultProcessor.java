@@ -15,6 +15,7 @@
  */
 package org.igniterealtime.smack.inttest.util;
 
+import org.igniterealtime.benchmark.BenchmarkReport;
 import org.igniterealtime.smack.inttest.FailedTest;
 import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
 import org.igniterealtime.smack.inttest.TestNotPossible;
@@ -57,6 +58,11 @@ import java.util.stream.Collectors;
  */
 public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFramework.TestRunResultProcessor {
 
+    /**
+     * The name of the test suite that holds the results of benchmarks (as properties) rather than test cases.
+     */
+    public static final String BENCHMARK_SUITE_NAME = "Benchmark results";
+
     private final Properties specifications;
     private final Path logFile;
 
@@ -80,13 +86,13 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
         }
         System.out.println("Saving JUnit-compatible XML file with results to " + logFile.toAbsolutePath());
 
-        specifications = new Properties();
-        specifications.load(JUnitXmlTestRunResultProcessor.class.getResourceAsStream("/specifications.properties"));
+        specifications = TestRunResultIndex.getSpecificationTitles();
     }
     @Override
     public void process(SmackIntegrationTestFramework.TestRunResult testRunResult)
     {
         // TODO Consider splitting up 'failures' in 'failures' and 'errors', by determining if the corresponding Throwable inherits from AssertionError or not.
+        final TestRunResultIndex index = TestRunResultIndex.of(testRunResult);
         try {
             DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
@@ -115,8 +121,7 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
             rootElement.setAttribute("timestamp", Instant.now().atOffset(ZoneOffset.UTC).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) );
             doc.appendChild(rootElement);
 
-            final Map<String, List<TestResult>> testResultsBySpecification = aggregateTestResultsBySpecification(testRunResult);
-            for (final Map.Entry<String, List<TestResult>> entry : testResultsBySpecification.entrySet()) {
+            for (final Map.Entry<String, List<TestResult>> entry : index.getBySpecification().entrySet()) {
                 // <testsuite> A test suite usually represents a class, folder or group of tests.
                 // There can be many test suites in an XML file, and there can be test suites under other
                 // test suites.
@@ -145,8 +150,9 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
                     }
                 }
                 final Collection<TestResult> testResults = entry.getValue();
-                final long failedTestCount = testResults.stream().filter(testResult -> testResult instanceof FailedTest).count();
-                final long notPossibleTestCount = testResults.stream().filter(testResult -> testResult instanceof TestNotPossible).count();
+                final TestRunResultIndex.Counts counts = index.getCounts(specification);
+                final long failedTestCount = counts.getFailed();
+                final long notPossibleTestCount = counts.getNotPossible();
 
                 final Element testsuiteElement = doc.createElement("testsuite");
                 testsuiteElement.setAttribute("name", name);
@@ -156,6 +162,12 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
                 testsuiteElement.setAttribute("time", String.valueOf(getAggregatedTime(testResults).toMillis() / 1000.0));
                 rootElement.appendChild(testsuiteElement);
 
+                if (TrafficAccounting.isEnabled()) {
+                    final Element suitePropertiesElement = doc.createElement("properties");
+                    appendTrafficProperties(doc, suitePropertiesElement, TrafficAccounting.getTotal(testResults));
+                    testsuiteElement.appendChild(suitePropertiesElement);
+                }
+
                 for (final TestResult testResult : testResults) {
                     // <testcase> There are one or more test cases in a test suite. A test passed
                     // if there isn't an additional result element (skipped, failure, error).
@@ -210,7 +222,8 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
                         propertiesElement.appendChild(specificationSectionTitleElement);
                     }
 
-                    final String specificationSection = getSpecificationSection(testResult.concreteTest.getMethod());
+                    final TestRunResultIndex.TestMetadata metadata = index.getMetadata(testResult);
+                    final String specificationSection = metadata.section;
                     if (specificationSection != null) {
                         final Element specificationSectionElement = doc.createElement("property");
                         specificationSectionElement.setAttribute("name", "specification section");
@@ -218,7 +231,7 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
                         propertiesElement.appendChild(specificationSectionElement);
                     }
 
-                    final String specificationQuote = getSpecificationQuote(testResult.concreteTest.getMethod());
+                    final String specificationQuote = metadata.quote;
                     if (specificationQuote != null) {
                         final Element specificationQuoteElement = doc.createElement("property");
                         specificationQuoteElement.setAttribute("name", "specification quote");
@@ -232,6 +245,10 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
                         specificationUrlElement.setAttribute("value", generateLink(specification, specificationSection).toString());
                         propertiesElement.appendChild(specificationUrlElement);
                     }
+                    final TrafficCounters traffic = TrafficAccounting.get(testResult.concreteTest);
+                    if (traffic != null) {
+                        appendTrafficProperties(doc, propertiesElement, traffic);
+                    }
                     testcaseElement.appendChild(propertiesElement);
 
                     // Seems to always be null.
@@ -245,6 +262,25 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
                 }
             }
 
+            // Benchmark results are not tests, but are added as the properties of a separate test suite, to allow them to be compared between test runs.
+            final List<BenchmarkReport> benchmarkReports = BenchmarkReport.getPublished();
+            if (!benchmarkReports.isEmpty()) {
+                final Element benchmarkSuiteElement = doc.createElement("testsuite");
+                benchmarkSuiteElement.setAttribute("name", BENCHMARK_SUITE_NAME);
+                benchmarkSuiteElement.setAttribute("tests", "0");
+                final Element propertiesElement = doc.createElement("properties");
+                for (final BenchmarkReport benchmarkReport : benchmarkReports) {
+                    for (final Map.Entry<String, String> measurement : benchmarkReport.getMeasurements().entrySet()) {
+                        final Element propertyElement = doc.createElement("property");
+                        propertyElement.setAttribute("name", benchmarkReport.getTitle() + " | " + measurement.getKey());
+                        propertyElement.setAttribute("value", measurement.getValue());
+                        propertiesElement.appendChild(propertyElement);
+                    }
+                }
+                benchmarkSuiteElement.appendChild(propertiesElement);
+                rootElement.appendChild(benchmarkSuiteElement);
+            }
+
             // write dom document to a file
 //            try {
 //                Files.createDirectories(logFile.getParent()); // TODO move creation of this directory back to the constructor when possible. As a work-around, this code delays creating this directory, as its existence will cause StandardSinttestDebugger to fail (With Smack 4.5.0-beta6 it needs to be able to _create_ the directory, see https://github.com/igniterealtime/Smack/pull/656 )
@@ -261,6 +297,23 @@ public class JUnitXmlTestRunResultProcessor implements SmackIntegrationTestFrame
         }
     }
 
+    /**
+     * Adds properties that describe the traffic that was exchanged by the connections that were used by a test (or a
+     * group of tests).
+     */
+    static void appendTrafficProperties(final Document doc, final Element propertiesElement, final TrafficCounters traffic)
+    {
+        final Element incomingElement = doc.createElement("property");
+        incomingElement.setAttribute("name", "traffic in");
+        incomingElement.setAttribute("value", traffic.describeIncoming());
+        propertiesElement.appendChild(incomingElement);
+
+        final Element outgoingElement = doc.createElement("property");
+        outgoingElement.setAttribute("name", "traffic out");
+        outgoingElement.setAttribute("value", traffic.describeOutgoing());
+        propertiesElement.appendChild(outgoingElement);
+    }
+
     public static URI generateLink(final String specification, final String specificationSection) {
         if (specification == null || specification.isBlank()) {
             return null;
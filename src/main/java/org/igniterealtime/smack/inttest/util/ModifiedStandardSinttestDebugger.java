@@ -5,6 +5,7 @@ import org.igniterealtime.smack.inttest.debugger.SinttestDebugger;
 import org.jivesoftware.smack.XMPPConnection;
 import org.jivesoftware.smack.debugger.SimpleAbstractDebugger;
 import org.jivesoftware.smack.debugger.SmackDebuggerFactory;
+import org.jivesoftware.smack.packet.TopLevelStreamElement;
 import org.jivesoftware.smack.util.ExceptionUtil;
 
 import java.io.File;
@@ -15,6 +16,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,6 +31,9 @@ import java.util.logging.Logger;
  *
  * It also appends to pre-existing files, rather than failing to run if those already exist.
  *
+ * Additionally, it counts the traffic of each connection. At the end of each test, the traffic of each connection
+ * during the test is logged, and the traffic of all connections is recorded in {@link TrafficAccounting}.
+ *
  * Ideally, this entire implementation is replaced with usage of the StandardSinttestDebugger once its bugs are fixed.
  */
 public class ModifiedStandardSinttestDebugger implements SinttestDebugger
@@ -46,6 +53,8 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
     private final Writer testsWriter;
     private final boolean console;
 
+    private final Set<ModifiedStandardSinttestSmackDebugger> debuggers = ConcurrentHashMap.newKeySet();
+
     public ModifiedStandardSinttestDebugger(ZonedDateTime restRunStart, String testRunId, String options) {
         String tmpdir = System.getProperty("java.io.tmpdir");
         if ("/tmp".equals(tmpdir)) {
@@ -136,10 +145,70 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
             super(connection);
         }
 
+        private final AtomicReference<TrafficCounters> traffic = new AtomicReference<>(new TrafficCounters());
+
         @Override
         protected void logSink(String logMessage) {
             ModifiedStandardSinttestDebugger.this.logSink(logMessage);
         }
+
+        @Override
+        public void incomingStreamSink(CharSequence incomingCharSequence) {
+            traffic.get().onIncoming(incomingCharSequence);
+            super.incomingStreamSink(incomingCharSequence);
+        }
+
+        @Override
+        public void outgoingStreamSink(CharSequence outgoingCharSequence) {
+            traffic.get().onOutgoing(outgoingCharSequence);
+            super.outgoingStreamSink(outgoingCharSequence);
+        }
+
+        @Override
+        public void onIncomingStreamElement(TopLevelStreamElement streamElement) {
+            traffic.get().onIncoming(streamElement);
+            super.onIncomingStreamElement(streamElement);
+        }
+
+        @Override
+        public void onOutgoingStreamElement(TopLevelStreamElement streamElement) {
+            traffic.get().onOutgoing(streamElement);
+            super.onOutgoingStreamElement(streamElement);
+        }
+
+        XMPPConnection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Returns the traffic that was counted since the last invocation of this method.
+         */
+        TrafficCounters harvestTraffic() {
+            return traffic.getAndSet(new TrafficCounters());
+        }
+    }
+
+    /**
+     * Logs the traffic of each connection since the last invocation of this method, and records the combined traffic
+     * of all connections as that of the provided test (unless it's null).
+     */
+    private void recordTraffic(SmackIntegrationTestFramework.ConcreteTest test) {
+        final TrafficCounters total = new TrafficCounters();
+        for (final ModifiedStandardSinttestSmackDebugger debugger : debuggers) {
+            final TrafficCounters traffic = debugger.harvestTraffic();
+            if (test != null && !traffic.isEmpty()) {
+                logSink("TRAFFIC of " + debugger.getConnection() + ": " + traffic);
+            }
+            total.add(traffic);
+            if (!debugger.getConnection().isConnected()) {
+                // The connection will not produce any more traffic. This prevents debuggers from accumulating.
+                debuggers.remove(debugger);
+            }
+        }
+        if (test != null) {
+            logSink("TRAFFIC of all connections: " + total);
+            TrafficAccounting.put(test, total);
+        }
     }
 
     private void logSink(String logMessage) {
@@ -181,11 +250,18 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
 
     @Override
     public SmackDebuggerFactory getSmackDebuggerFactory() {
-        return c -> new ModifiedStandardSinttestDebugger.ModifiedStandardSinttestSmackDebugger(c);
+        return c -> {
+            final ModifiedStandardSinttestSmackDebugger debugger = new ModifiedStandardSinttestDebugger.ModifiedStandardSinttestSmackDebugger(c);
+            debuggers.add(debugger);
+            return debugger;
+        };
     }
 
     @Override
     public void onTestStart(SmackIntegrationTestFramework.ConcreteTest test, ZonedDateTime startTime) throws IOException {
+        // Traffic that occurred outside of tests is not attributed to any test.
+        recordTraffic(null);
+
         if (basePath == null) {
             return;
         }
@@ -255,6 +331,7 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
 
     @Override
     public void onTestSuccess(SmackIntegrationTestFramework.ConcreteTest test, ZonedDateTime endTime) throws IOException {
+        recordTraffic(test);
         logSink("TEST SUCCESSFUL: " + test);
 
         createTestMarkerFile("successful");
@@ -266,6 +343,7 @@ public class ModifiedStandardSinttestDebugger implements SinttestDebugger
     public void onTestFailure(SmackIntegrationTestFramework.ConcreteTest test, ZonedDateTime endTime, Throwable throwable) throws IOException {
         String stacktrace = ExceptionUtil.getStackTrace(throwable);
 
+        recordTraffic(test);
         logSink("TEST FAILED: " + test + "\n" + stacktrace);
 
         Path markerFile = createTestMarkerFile("failed");
@@ -15,10 +15,10 @@
  */
 package org.igniterealtime.smack.inttest.util;
 
+import org.igniterealtime.benchmark.BenchmarkReport;
 import org.igniterealtime.smack.inttest.*;
 import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
 
-import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -31,66 +31,57 @@ public class StdOutTestRunResultProcessor implements SmackIntegrationTestFramewo
     @Override
     public void process(final SmackIntegrationTestFramework.TestRunResult testRunResult)
     {
-        final int successfulTests = testRunResult.getSuccessfulTests().size();
-        final int failedTests = testRunResult.getFailedTests().size();
-        final int impossibleTests = testRunResult.getNotPossibleTests().size() + getMethodsInImpossibleTestClasses(testRunResult.getImpossibleTestClasses().keySet()).size();
+        final TestRunResultIndex index = TestRunResultIndex.of(testRunResult);
+        final int successfulTests = index.getTotal().getSuccessful();
+        final int failedTests = index.getTotal().getFailed();
+        final int impossibleTests = index.getTotal().getNotPossible() + index.getTotal().getInImpossibleTestClasses();
 
         System.out.println();
         System.out.println("Test run (id: " + testRunResult.testRunId + ") finished! " + successfulTests + " tests were successful (✔), " + failedTests + " failed (\uD83D\uDC80), and " + impossibleTests + " were impossible to run (✖).");
         System.out.println();
         System.out.println("Results aggregated by specification:");
 
-        final Properties specTitles = new Properties();
-        try {
-            specTitles.load(JUnitXmlTestRunResultProcessor.class.getResourceAsStream("/specifications.properties"));
-        } catch (IOException e) {
-            System.err.println("Unable to load specifications.properties");
-        }
-
-        final SortedMap<String, Collection<SuccessfulTest>> successFulTestsBySpec = aggregateBySpecification(testRunResult.getSuccessfulTests());
-        final SortedMap<String, Collection<FailedTest>> failedTestsBySpec = aggregateBySpecification(testRunResult.getFailedTests());
-        final SortedMap<String, Collection<TestNotPossible>> impossibleTestsBySpec = aggregateBySpecification(testRunResult.getNotPossibleTests());
-        final SortedMap<String, Collection<Class<? extends AbstractSmackIntTest>>> impossibleTestClassesBySpec = aggregateBySpecification(testRunResult.getImpossibleTestClasses().keySet());
+        final Properties specTitles = TestRunResultIndex.getSpecificationTitles();
 
         final SortedSet<String> specifications = new TreeSet<>();
-        specifications.addAll(successFulTestsBySpec.keySet());
-        specifications.addAll(failedTestsBySpec.keySet());
-        specifications.addAll(impossibleTestsBySpec.keySet());
-        specifications.addAll(impossibleTestClassesBySpec.keySet());
+        specifications.addAll(index.getBySpecification().keySet());
+        specifications.addAll(index.getImpossibleTestClassesBySpecification().keySet());
         final Map<String, String> titleBySpec = new HashMap<>();
         titleBySpec.put("", "(noname)");
         for (final String specification : specifications) {
-            titleBySpec.put(specification, findTitle(specTitles, specification, 81));
+            titleBySpec.put(specification, findTitle(specTitles, humanReadibleSpec(specification), 81));
         }
         final int longestSpecCharCount = titleBySpec.values().stream().map(String::length).max(Integer::compareTo).orElse(0);
-        final int longestSuccCharCount = successFulTestsBySpec.values().stream().map(Collection::size).map(i->i.toString().length()).max(Integer::compareTo).orElse(1);
-        final int longestFailCharCount = failedTestsBySpec.values().stream().map(Collection::size).map(i->i.toString().length()).max(Integer::compareTo).orElse(1);
+        final int longestSuccCharCount = specifications.stream().map(index::getCounts).map(TestRunResultIndex.Counts::getSuccessful).filter(i -> i > 0).map(i->i.toString().length()).max(Integer::compareTo).orElse(1);
+        final int longestFailCharCount = specifications.stream().map(index::getCounts).map(TestRunResultIndex.Counts::getFailed).filter(i -> i > 0).map(i->i.toString().length()).max(Integer::compareTo).orElse(1);
         for (final String specification : specifications) {
-            final int success = successFulTestsBySpec.getOrDefault(specification, Collections.emptySet()).size();
-            final int fail = failedTestsBySpec.getOrDefault(specification, Collections.emptySet()).size();
-            final int impossible = impossibleTestsBySpec.getOrDefault(specification, Collections.emptySet()).size() + getMethodsInImpossibleTestClasses(impossibleTestClassesBySpec.getOrDefault(specification, Collections.emptySet())).size();
+            final TestRunResultIndex.Counts counts = index.getCounts(specification);
             final String title = titleBySpec.get(specification);
-            System.out.println("• " + String.format("%-" + Math.max(1, longestSpecCharCount)+"s", title) + " " + String.format("%"+longestSuccCharCount+"s", success) + " ✔  " + String.format("%"+longestFailCharCount+"s", fail) + " \uD83D\uDC80 " + String.format("%3s", impossible) + " ✖");
+            System.out.println("• " + String.format("%-" + Math.max(1, longestSpecCharCount)+"s", title) + " " + String.format("%"+longestSuccCharCount+"s", counts.getSuccessful()) + " ✔  " + String.format("%"+longestFailCharCount+"s", counts.getFailed()) + " \uD83D\uDC80 " + String.format("%3s", counts.getNotPossible() + counts.getInImpossibleTestClasses()) + " ✖");
         }
 
-        if (!impossibleTestsBySpec.isEmpty() || !impossibleTestClassesBySpec.isEmpty()) {
+        if (!testRunResult.getNotPossibleTests().isEmpty() || !testRunResult.getImpossibleTestClasses().isEmpty()) {
             System.out.println();
             System.out.println("✖ The following tests were impossible to run! ✖");
 
-            for (final Map.Entry<String, Collection<TestNotPossible>> entry : impossibleTestsBySpec.entrySet()) {
-                final String title = (entry.getKey().isEmpty() ? "(noname)" : entry.getKey());
-                final Map<String, Long> reasonCount = entry.getValue().stream().collect(Collectors.groupingBy(t -> t.testNotPossibleException.getMessage(), Collectors.counting()));
+            for (final String specification : index.getBySpecification().keySet()) {
+                final List<TestNotPossible> notPossibleTests = index.getBySpecification(specification, TestNotPossible.class);
+                if (notPossibleTests.isEmpty()) {
+                    continue;
+                }
+                final String title = (specification.isEmpty() ? "(noname)" : humanReadibleSpec(specification));
+                final Map<String, Long> reasonCount = notPossibleTests.stream().collect(Collectors.groupingBy(t -> t.testNotPossibleException.getMessage(), Collectors.counting()));
                 for (final Map.Entry<String, Long> reasonEntry : reasonCount.entrySet()) {
                     System.out.println("• " + title + ": could not run " + reasonEntry.getValue() + " test(s) because: " + reasonEntry.getKey());
                 }
             }
-            for (final Map.Entry<String, Collection<Class<? extends AbstractSmackIntTest>>> entry : impossibleTestClassesBySpec.entrySet()) {
-                final String title = (entry.getKey().isEmpty() ? "(noname)" : entry.getKey());
+            for (final Map.Entry<String, List<Class<? extends AbstractSmackIntTest>>> entry : index.getImpossibleTestClassesBySpecification().entrySet()) {
+                final String title = (entry.getKey().isEmpty() ? "(noname)" : humanReadibleSpec(entry.getKey()));
                 final Collection<Class<? extends AbstractSmackIntTest>> classes = entry.getValue();
                 final SortedMap<String, Integer> counts = new TreeMap<>();
                 for (final Class<? extends AbstractSmackIntTest> clazz : classes) {
                     final String reason = testRunResult.getImpossibleTestClasses().get(clazz).getLocalizedMessage();
-                    final int count = getMethodsInImpossibleTestClass(clazz).size();
+                    final int count = index.getMethodsInImpossibleTestClass(clazz).size();
                     int c = counts.getOrDefault(reason, 0);
                     c += count;
                     counts.put(reason, c);
@@ -102,20 +93,21 @@ public class StdOutTestRunResultProcessor implements SmackIntegrationTestFramewo
         }
 
 
-        if (!failedTestsBySpec.isEmpty()) {
+        if (failedTests > 0) {
             System.out.println();
             System.out.println("💀 The following " + failedTests + " tests failed! 💀");
 
-            final SortedMap<String, Collection<FailedTest>> sortedFailedTestBySpec = new TreeMap<>(failedTestsBySpec);
-            for (final Map.Entry<String, Collection<FailedTest>> entry : sortedFailedTestBySpec.entrySet()) {
-                final String title = entry.getKey();
+            final Path logDir = Paths.get(System.getProperty("logDir"));
+            for (final String specification : index.getBySpecification().keySet()) {
+                final String title = humanReadibleSpec(specification);
 
                 final SortedMap<String, String> sortedBlobs = new TreeMap<>();
-                for (final FailedTest failedTest : entry.getValue()) {
-                    final String sectionReference = JUnitXmlTestRunResultProcessor.getSpecificationSection(failedTest.concreteTest.getMethod());
-                    final String quote = JUnitXmlTestRunResultProcessor.getSpecificationQuote(failedTest.concreteTest.getMethod());
+                for (final FailedTest failedTest : index.getBySpecification(specification, FailedTest.class)) {
+                    final TestRunResultIndex.TestMetadata metadata = index.getMetadata(failedTest);
+                    final String sectionReference = metadata.section;
+                    final String quote = metadata.quote;
 //                    final Path logPath = getLog(getLogFromSmackDebuggerConfig(System.getProperty("sinttest.debugger")), failedTest.concreteTest);
-                    final Path logPath = getLog(Paths.get(System.getProperty("logDir")), failedTest.concreteTest);
+                    final Path logPath = getLog(logDir, failedTest.concreteTest);
 
                     final StringBuilder blob = new StringBuilder();
                     blob.append("• ").append(findTitle(specTitles, title, -1)).append(sectionReference != null ? ", Section " + sectionReference : "").append(System.lineSeparator());
@@ -133,6 +125,26 @@ public class StdOutTestRunResultProcessor implements SmackIntegrationTestFramewo
                 sortedBlobs.values().forEach(System.out::print);
             }
         }
+
+        if (TrafficAccounting.isEnabled()) {
+            System.out.println();
+            System.out.println("Traffic aggregated by specification:");
+            for (final Map.Entry<String, List<TestResult>> entry : index.getBySpecification().entrySet()) {
+                final TrafficCounters traffic = TrafficAccounting.getTotal(entry.getValue());
+                System.out.println("• " + findTitle(specTitles, entry.getKey().isEmpty() ? "(noname)" : humanReadibleSpec(entry.getKey()), 81));
+                System.out.println("      in : " + traffic.describeIncoming());
+                System.out.println("      out: " + traffic.describeOutgoing());
+            }
+        }
+
+        final List<BenchmarkReport> benchmarkReports = BenchmarkReport.getPublished();
+        if (!benchmarkReports.isEmpty()) {
+            System.out.println();
+            System.out.println("Benchmark results:");
+            for (final BenchmarkReport benchmarkReport : benchmarkReports) {
+                System.out.print("• " + benchmarkReport);
+            }
+        }
     }
 
     public static List<Method> getMethodsInImpossibleTestClasses(Collection<Class<? extends AbstractSmackIntTest>> testClasses)
@@ -166,17 +178,6 @@ public class StdOutTestRunResultProcessor implements SmackIntegrationTestFramewo
         return result;
     }
 
-    private SortedMap<String, Collection<Class<? extends AbstractSmackIntTest>>> aggregateBySpecification(Set<Class<? extends AbstractSmackIntTest>> classes)
-    {
-        final SortedMap<String, Collection<Class<? extends AbstractSmackIntTest>>> result = new ConcurrentSkipListMap<>();
-        for (final Class<? extends AbstractSmackIntTest> clazz : classes) {
-            String specificationReference = JUnitXmlTestRunResultProcessor.getSpecificationReference(clazz);
-            specificationReference = humanReadibleSpec(specificationReference);
-            result.computeIfAbsent(specificationReference, s -> new LinkedList<>()).add(clazz);
-        }
-        return result;
-    }
-
     public static String humanReadibleSpec(final String spec) {
         return spec.replaceFirst("^XEP", "XEP-");
     }
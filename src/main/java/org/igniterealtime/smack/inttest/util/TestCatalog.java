@@ -0,0 +1,248 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * A catalog of all integration tests (test methods and their metadata) that are packaged with this project, which is
+ * generated at build time by {@link TestCatalogGenerator}.
+ *
+ * The catalog allows the tests that match a particular configuration to be determined without scanning the classpath,
+ * and the metadata of a test to be obtained without reading its annotations.
+ *
+ * The catalog is stored in a resource ({@link #RESOURCE}) that contains one line per test method. Each line holds the
+ * name of the test class, the name of the method, the (normalized) specification, the section and the quote, separated
+ * by tab characters.
+ */
+public class TestCatalog
+{
+    private static final Logger LOGGER = Logger.getLogger(TestCatalog.class.getName());
+
+    public static final String RESOURCE = "META-INF/sinttest-catalog.tsv";
+
+    private static TestCatalog instance;
+    private static boolean loaded;
+
+    /**
+     * A test method in the catalog.
+     */
+    public static final class Entry
+    {
+        public final String className;
+        public final String methodName;
+
+        /**
+         * The normalized identifier of the specification (eg: <tt>XEP0030</tt>), or an empty string if the test does
+         * not reference a specification.
+         */
+        public final String specification;
+
+        /**
+         * The section of the specification that is tested, or null.
+         */
+        public final String section;
+
+        /**
+         * The quote from the specification that is tested, or null.
+         */
+        public final String quote;
+
+        Entry(final String className, final String methodName, final String specification, final String section, final String quote)
+        {
+            this.className = className;
+            this.methodName = methodName;
+            this.specification = specification;
+            this.section = section;
+            this.quote = quote;
+        }
+
+        public String getPackageName()
+        {
+            final int index = className.lastIndexOf('.');
+            return index < 0 ? "" : className.substring(0, index);
+        }
+
+        public String getSimpleClassName()
+        {
+            return className.substring(className.lastIndexOf('.') + 1);
+        }
+    }
+
+    private final List<Entry> entries;
+    private final Map<String, Entry> byMethod = new HashMap<>();
+
+    TestCatalog(final List<Entry> entries)
+    {
+        this.entries = Collections.unmodifiableList(entries);
+        for (final Entry entry : entries) {
+            byMethod.put(entry.className + '#' + entry.methodName, entry);
+        }
+    }
+
+    /**
+     * Returns the catalog that is packaged with this project, or null when no catalog is available (for example,
+     * when the tests are executed from an IDE, without the build having generated the catalog).
+     *
+     * Tests of which the class is not on the classpath are left out, as the catalog is generated from the build
+     * classpath, which can contain tests that are excluded from the jar-with-dependencies.
+     */
+    public static synchronized TestCatalog get()
+    {
+        if (!loaded) {
+            loaded = true;
+            try (final InputStream inputStream = TestCatalog.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+                if (inputStream != null) {
+                    instance = read(inputStream).retainAvailable(TestCatalog.class.getClassLoader());
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Unable to load the test catalog from " + RESOURCE + ".", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns a catalog that contains only the entries of which the class is available to the provided class loader.
+     */
+    TestCatalog retainAvailable(final ClassLoader classLoader)
+    {
+        final Map<String, Boolean> availability = new HashMap<>();
+        final List<Entry> available = entries.stream()
+            .filter(entry -> availability.computeIfAbsent(entry.className, className -> classLoader.getResource(className.replace('.', '/') + ".class") != null))
+            .collect(Collectors.toList());
+        if (available.size() < entries.size()) {
+            LOGGER.fine("Left " + (entries.size() - available.size()) + " tests out of the test catalog, as their classes are not on the classpath.");
+        }
+        return new TestCatalog(available);
+    }
+
+    public List<Entry> getEntries()
+    {
+        return entries;
+    }
+
+    /**
+     * Returns the catalog entry of a test method, or null if the method is not in the catalog.
+     */
+    public Entry get(final Method method)
+    {
+        return byMethod.get(method.getDeclaringClass().getName() + '#' + method.getName());
+    }
+
+    /**
+     * Returns the names of the packages that contain at least one of the provided entries.
+     */
+    public static SortedSet<String> getPackageNames(final Collection<Entry> entries)
+    {
+        final SortedSet<String> result = new TreeSet<>();
+        for (final Entry entry : entries) {
+            result.add(entry.getPackageName());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the normalized identifiers of all specifications in this catalog.
+     */
+    public Set<String> getSpecifications()
+    {
+        final Set<String> result = new TreeSet<>();
+        for (final Entry entry : entries) {
+            result.add(entry.specification);
+        }
+        return result;
+    }
+
+    static TestCatalog read(final InputStream inputStream) throws IOException
+    {
+        final List<Entry> entries = new ArrayList<>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] fields = line.split("\t", -1);
+            if (fields.length != 5) {
+                throw new IOException("Invalid line in test catalog: " + line);
+            }
+            entries.add(new Entry(fields[0], fields[1], fields[2], unescape(fields[3]), unescape(fields[4])));
+        }
+        return new TestCatalog(entries);
+    }
+
+    void write(final Writer writer) throws IOException
+    {
+        writer.write("# Generated by " + TestCatalogGenerator.class.getName() + ". Fields: class, method, specification, section, quote.\n");
+        for (final Entry entry : entries) {
+            writer.write(entry.className + '\t' + entry.methodName + '\t' + entry.specification + '\t' + escape(entry.section) + '\t' + escape(entry.quote) + '\n');
+        }
+    }
+
+    /**
+     * Escapes a (nullable) value so that it does not contain tab or newline characters. Null is represented by an empty
+     * value, as the annotations of a test do not distinguish between empty and absent values.
+     */
+    static String escape(final String value)
+    {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    static String unescape(final String value)
+    {
+        if (value.isEmpty()) {
+            return null;
+        }
+        final StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                final char next = value.charAt(++i);
+                switch (next) {
+                    case 't': result.append('\t'); break;
+                    case 'n': result.append('\n'); break;
+                    case 'r': result.append('\r'); break;
+                    default: result.append(next); break;
+                }
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
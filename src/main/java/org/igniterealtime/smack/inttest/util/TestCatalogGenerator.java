@@ -0,0 +1,147 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntTest;
+import org.igniterealtime.smack.inttest.annotations.SmackIntegrationTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Generates the {@link TestCatalog} at build time, by scanning the classpath for integration tests.
+ *
+ * Usage: <tt>TestCatalogGenerator path/to/classes [package ...]</tt>. The catalog is written to
+ * {@link TestCatalog#RESOURCE} in the provided directory. When no packages are provided, the packages that contain the
+ * integration tests of this project and of Smack are scanned.
+ */
+public class TestCatalogGenerator
+{
+    private static final Logger LOGGER = Logger.getLogger(TestCatalogGenerator.class.getName());
+
+    private static final List<String> DEFAULT_PACKAGES = List.of("org.igniterealtime.smack.inttest", "org.igniterealtime.benchmark", "org.jivesoftware.smack", "org.jivesoftware.smackx");
+
+    public static void main(final String[] args) throws Exception
+    {
+        if (args.length < 1) {
+            LOGGER.severe("Usage: " + TestCatalogGenerator.class.getName() + " path/to/classes [package ...]");
+            System.exit(1);
+        }
+
+        final List<String> packages = args.length > 1 ? List.of(args).subList(1, args.length) : DEFAULT_PACKAGES;
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        final SortedSet<String> classNames = new TreeSet<>();
+        for (final String packageName : packages) {
+            findClassNames(classLoader, packageName.replace('.', '/') + '/', classNames);
+        }
+
+        final List<TestCatalog.Entry> entries = new ArrayList<>();
+        for (final String className : classNames) {
+            final Class<?> clazz;
+            try {
+                clazz = Class.forName(className, false, classLoader);
+            } catch (LinkageError | ClassNotFoundException e) {
+                LOGGER.log(Level.FINE, "Unable to load class '" + className + "'. Its tests are left out of the test catalog.", e);
+                continue;
+            }
+            if (!AbstractSmackIntTest.class.isAssignableFrom(clazz) || Modifier.isAbstract(clazz.getModifiers())) {
+                continue;
+            }
+            final List<Method> methods = new ArrayList<>();
+            try {
+                for (final Method method : clazz.getMethods()) {
+                    if (method.isAnnotationPresent(SmackIntegrationTest.class)) {
+                        methods.add(method);
+                    }
+                }
+            } catch (LinkageError e) {
+                // The test depends on a class that is not on the classpath. The framework will not be able to run it either.
+                LOGGER.log(Level.FINE, "Unable to load the methods of class '" + className + "'. Its tests are left out of the test catalog.", e);
+                continue;
+            }
+            methods.sort(Comparator.comparing(Method::getName));
+            for (final Method method : methods) {
+                entries.add(new TestCatalog.Entry(clazz.getName(), method.getName(),
+                    JUnitXmlTestRunResultProcessor.getSpecificationReference(method),
+                    JUnitXmlTestRunResultProcessor.getSpecificationSection(method),
+                    JUnitXmlTestRunResultProcessor.getSpecificationQuote(method)));
+            }
+        }
+
+        final Path catalogFile = Paths.get(args[0]).resolve(TestCatalog.RESOURCE);
+        Files.createDirectories(catalogFile.getParent());
+        try (final Writer writer = Files.newBufferedWriter(catalogFile, StandardCharsets.UTF_8)) {
+            new TestCatalog(entries).write(writer);
+        }
+        LOGGER.info("Wrote " + entries.size() + " test methods of " + TestCatalog.getPackageNames(entries).size() + " packages to " + catalogFile);
+    }
+
+    /**
+     * Adds the names of all top-level classes in the provided package (and its subpackages) that are on the classpath.
+     */
+    private static void findClassNames(final ClassLoader classLoader, final String packagePath, final SortedSet<String> classNames) throws IOException, URISyntaxException
+    {
+        final Enumeration<URL> resources = classLoader.getResources(packagePath);
+        while (resources.hasMoreElements()) {
+            final URL resource = resources.nextElement();
+            if ("jar".equals(resource.getProtocol())) {
+                final JarURLConnection connection = (JarURLConnection) resource.openConnection();
+                connection.setUseCaches(false);
+                try (final JarFile jarFile = connection.getJarFile()) {
+                    final Enumeration<JarEntry> jarEntries = jarFile.entries();
+                    while (jarEntries.hasMoreElements()) {
+                        addClassName(jarEntries.nextElement().getName(), packagePath, classNames);
+                    }
+                }
+            } else if ("file".equals(resource.getProtocol())) {
+                final Path directory = Paths.get(resource.toURI());
+                final Path root = directory.getRoot().resolve(directory.subpath(0, directory.getNameCount() - Paths.get(packagePath).getNameCount()));
+                try (final Stream<Path> files = Files.walk(directory)) {
+                    files.forEach(file -> addClassName(root.relativize(file).toString().replace(File.separatorChar, '/'), packagePath, classNames));
+                }
+            }
+        }
+    }
+
+    private static void addClassName(final String path, final String packagePath, final SortedSet<String> classNames)
+    {
+        if (path.startsWith(packagePath) && path.endsWith(".class") && !path.contains("$")) {
+            classNames.add(path.substring(0, path.length() - ".class".length()).replace('/', '.'));
+        }
+    }
+}
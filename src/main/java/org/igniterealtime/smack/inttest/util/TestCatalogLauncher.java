@@ -0,0 +1,149 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the Smack Integration Test Framework, after using the {@link TestCatalog} to limit the packages that are
+ * scanned for tests to those that contain the tests that are enabled.
+ *
+ * Scanning the classpath of the jar-with-dependencies for tests is a considerable part of the startup time of a test
+ * run. When the test run is limited to a number of specifications or tests (by using the
+ * <tt>sinttest.enabledSpecifications</tt> or <tt>sinttest.enabledTests</tt> properties), this launcher sets the
+ * <tt>sinttest.testPackages</tt> property to the packages that, according to the catalog, contain those tests.
+ * Packages that only contain tests that are disabled are left out. Nothing is changed when the
+ * <tt>sinttest.testPackages</tt> property is already set, when there is no catalog, or when an enabled specification or
+ * test is not in the catalog.
+ *
+ * Benchmarks are never selected by this launcher: these need to be selected explicitly, as described in
+ * {@link org.igniterealtime.benchmark.BenchmarkConfiguration#ensureBenchmarksAreSelected}.
+ */
+public class TestCatalogLauncher
+{
+    private static final Logger LOGGER = Logger.getLogger(TestCatalogLauncher.class.getName());
+
+    static final String TEST_PACKAGES_PROPERTY = "sinttest.testPackages";
+
+    private static final String BENCHMARK_PACKAGE = "org.igniterealtime.benchmark";
+
+    public static void main(final String[] args) throws Exception
+    {
+        if (System.getProperty(TEST_PACKAGES_PROPERTY) == null) {
+            final TestCatalog catalog = TestCatalog.get();
+            if (catalog != null) {
+                final SortedSet<String> testPackages = getTestPackages(catalog,
+                    getProperty("sinttest.enabledSpecifications"), getProperty("sinttest.disabledSpecifications"),
+                    getProperty("sinttest.enabledTests"), getProperty("sinttest.disabledTests"));
+                if (testPackages != null) {
+                    LOGGER.info("Limiting the scan for tests to these packages: " + String.join(", ", testPackages));
+                    System.setProperty(TEST_PACKAGES_PROPERTY, String.join(",", testPackages));
+                }
+            }
+        }
+        SmackIntegrationTestFramework.main(args);
+    }
+
+    /**
+     * Returns the packages that contain the tests that are enabled, or null if the set of packages that is to be
+     * scanned cannot be limited.
+     */
+    static SortedSet<String> getTestPackages(final TestCatalog catalog, final Set<String> enabledSpecifications, final Set<String> disabledSpecifications, final Set<String> enabledTests, final Set<String> disabledTests)
+    {
+        if (enabledSpecifications.isEmpty() && enabledTests.isEmpty()) {
+            return null;
+        }
+
+        final Set<String> normalizedEnabledSpecifications = normalizeSpecifications(enabledSpecifications);
+        final Set<String> normalizedDisabledSpecifications = normalizeSpecifications(disabledSpecifications);
+        final Set<String> matchedSpecifications = new HashSet<>();
+        final Set<String> matchedTests = new HashSet<>();
+
+        final List<TestCatalog.Entry> enabledEntries = catalog.getEntries().stream()
+            .filter(entry -> !entry.getPackageName().startsWith(BENCHMARK_PACKAGE))
+            .filter(entry -> {
+                boolean enabled = false;
+                if (normalizedEnabledSpecifications.contains(entry.specification)) {
+                    matchedSpecifications.add(entry.specification);
+                    enabled = true;
+                }
+                for (final String test : enabledTests) {
+                    if (matches(test, entry)) {
+                        matchedTests.add(test);
+                        enabled = true;
+                    }
+                }
+                return enabled;
+            })
+            .filter(entry -> !normalizedDisabledSpecifications.contains(entry.specification))
+            .filter(entry -> disabledTests.stream().noneMatch(test -> matches(test, entry)))
+            .collect(Collectors.toList());
+
+        if (matchedSpecifications.size() < normalizedEnabledSpecifications.size() || matchedTests.size() < enabledTests.size()) {
+            // Something was enabled that is not in the catalog (it might, for example, be a test that is provided by a
+            // different jar). Play it safe and scan everything.
+            return null;
+        }
+        final SortedSet<String> packageNames = TestCatalog.getPackageNames(enabledEntries);
+        return packageNames.isEmpty() ? null : packageNames;
+    }
+
+    /**
+     * Checks if a test identifier, as used in the <tt>sinttest.enabledTests</tt> and <tt>sinttest.disabledTests</tt>
+     * properties, refers to the class or method of a catalog entry. Classes can be identified by their simple or their
+     * fully qualified name. Methods are identified by appending their name to that of the class.
+     */
+    static boolean matches(final String test, final TestCatalog.Entry entry)
+    {
+        for (final String className : List.of(entry.className, entry.getSimpleClassName())) {
+            if (test.equals(className)) {
+                return true;
+            }
+            if (test.length() > className.length() + 1 && test.startsWith(className) && (test.charAt(className.length()) == '.' || test.charAt(className.length()) == '#')) {
+                return test.substring(className.length() + 1).equals(entry.methodName);
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> normalizeSpecifications(final Set<String> specifications)
+    {
+        return specifications.stream().map(JUnitXmlTestRunResultProcessor::normalizeSpecification).collect(Collectors.toSet());
+    }
+
+    private static Set<String> getProperty(final String key)
+    {
+        final String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return Collections.emptySet();
+        }
+        final Set<String> result = new HashSet<>();
+        for (final String part : value.split(",")) {
+            if (!part.isBlank()) {
+                result.add(part.trim());
+            }
+        }
+        return result;
+    }
+}
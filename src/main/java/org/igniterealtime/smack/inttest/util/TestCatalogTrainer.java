@@ -0,0 +1,85 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.jivesoftware.smack.SmackConfiguration;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads and initializes the classes that are used by every test run, without connecting to a server. This is used when
+ * building the container image, to create a class data sharing archive (by running this class with
+ * <tt>-XX:ArchiveClassesAtExit</tt>) that speeds up the startup of the test runs.
+ *
+ * Next to the classes of the test framework and Smack, the classes of all tests in the {@link TestCatalog} are loaded,
+ * including the annotations of their methods, which are read by the framework when it collects the tests to run.
+ *
+ * This exits with a non-zero status when there is no catalog, or when none of the classes could be loaded.
+ */
+public class TestCatalogTrainer
+{
+    /**
+     * Classes that are used by every test run, but not referenced by the tests themselves.
+     */
+    static final List<String> FRAMEWORK_CLASSES = Arrays.asList(
+        "org.igniterealtime.smack.inttest.util.TestCatalogLauncher",
+        "org.igniterealtime.smack.inttest.SmackIntegrationTestFramework",
+        "org.igniterealtime.smack.inttest.util.StdOutTestRunResultProcessor",
+        "org.igniterealtime.smack.inttest.util.JUnitXmlTestRunResultProcessor",
+        "org.igniterealtime.smack.inttest.util.ModifiedStandardSinttestDebuggerMetaFactory",
+        "org.jivesoftware.smack.tcp.XMPPTCPConnection",
+        "org.jivesoftware.smack.tcp.XMPPTCPConnectionConfiguration"
+    );
+
+    public static void main(final String[] args)
+    {
+        final TestCatalog catalog = TestCatalog.get();
+        if (catalog == null) {
+            System.err.println("ERROR: No test catalog (" + TestCatalog.RESOURCE + ") is available.");
+            System.exit(1);
+        }
+
+        // Loads Smack's configuration and initializes its providers.
+        System.out.println("Smack version: " + SmackConfiguration.getVersion());
+
+        final Set<String> classNames = new LinkedHashSet<>(FRAMEWORK_CLASSES);
+        for (final TestCatalog.Entry entry : catalog.getEntries()) {
+            classNames.add(entry.className);
+        }
+
+        int loaded = 0;
+        for (final String className : classNames) {
+            try {
+                final Class<?> clazz = Class.forName(className, true, TestCatalogTrainer.class.getClassLoader());
+                for (final Method method : clazz.getMethods()) {
+                    method.getAnnotations();
+                }
+                loaded++;
+            } catch (LinkageError | ClassNotFoundException e) {
+                System.err.println("WARNING: Unable to load " + className + ": " + e);
+            }
+        }
+
+        System.out.println("Loaded " + loaded + " of " + classNames.size() + " classes.");
+        if (loaded == 0) {
+            System.exit(1);
+        }
+    }
+}
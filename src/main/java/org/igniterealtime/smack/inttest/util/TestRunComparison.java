@@ -0,0 +1,169 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Compares the results of test runs that were executed with different configurations (typically: over different
+ * transports, such as TCP and WebSocket), side by side, based on the XML files that were generated by
+ * {@link JUnitXmlTestRunResultProcessor}.
+ *
+ * For each run, the amount of successful, failed and skipped tests is printed. Then, each test that does not have the
+ * same outcome in all runs is listed, followed by the results of all benchmarks that were executed.
+ *
+ * Usage: <tt>TestRunComparison label=path/to/test-results.xml label=path/to/test-results.xml [...]</tt>
+ */
+public class TestRunComparison
+{
+    static final String PASSED = "passed";
+    static final String FAILED = "failed";
+    static final String SKIPPED = "impossible";
+    static final String NOT_RUN = "not run";
+
+    public static void main(final String[] args) throws Exception
+    {
+        if (args.length < 2) {
+            System.err.println("Usage: " + TestRunComparison.class.getName() + " label=path/to/test-results.xml label=path/to/test-results.xml [...]");
+            System.exit(1);
+        }
+
+        final Map<String, TestRun> runs = new LinkedHashMap<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator < 1) {
+                System.err.println("Invalid argument (expected label=path): " + arg);
+                System.exit(1);
+            }
+            runs.put(arg.substring(0, separator), TestRun.parse(new File(arg.substring(separator + 1))));
+        }
+
+        System.out.println();
+        System.out.println("Comparison of test runs:");
+        for (final Map.Entry<String, TestRun> run : runs.entrySet()) {
+            final Map<String, String> outcomes = run.getValue().outcomes;
+            System.out.println("• " + run.getKey() + ": "
+                + outcomes.values().stream().filter(PASSED::equals).count() + " successful (✔), "
+                + outcomes.values().stream().filter(o -> o.startsWith(FAILED)).count() + " failed (💀), "
+                + outcomes.values().stream().filter(o -> o.startsWith(SKIPPED)).count() + " impossible to run (✖)");
+        }
+
+        final SortedSet<String> tests = new TreeSet<>();
+        runs.values().forEach(run -> tests.addAll(run.outcomes.keySet()));
+        final List<String> differences = new ArrayList<>();
+        for (final String test : tests) {
+            final List<String> outcomes = new ArrayList<>();
+            boolean same = true;
+            String first = null;
+            for (final Map.Entry<String, TestRun> run : runs.entrySet()) {
+                final String outcome = run.getValue().outcomes.getOrDefault(test, NOT_RUN);
+                final String kind = outcome.split(":", 2)[0];
+                if (first == null) {
+                    first = kind;
+                } else if (!first.equals(kind)) {
+                    same = false;
+                }
+                outcomes.add(run.getKey() + ": " + outcome);
+            }
+            if (!same) {
+                differences.add(test + System.lineSeparator() + "    " + String.join(System.lineSeparator() + "    ", outcomes));
+            }
+        }
+        System.out.println();
+        if (differences.isEmpty()) {
+            System.out.println("All tests had the same outcome in each run.");
+        } else {
+            System.out.println("Tests with different outcomes (" + differences.size() + "):");
+            differences.forEach(difference -> System.out.println("• " + difference));
+        }
+
+        final SortedSet<String> measurements = new TreeSet<>();
+        runs.values().forEach(run -> measurements.addAll(run.benchmarkResults.keySet()));
+        if (!measurements.isEmpty()) {
+            System.out.println();
+            System.out.println("Benchmark results:");
+            for (final String measurement : measurements) {
+                System.out.println("• " + measurement);
+                for (final Map.Entry<String, TestRun> run : runs.entrySet()) {
+                    System.out.println("    " + run.getKey() + ": " + Objects.requireNonNullElse(run.getValue().benchmarkResults.get(measurement), "n/a"));
+                }
+            }
+        }
+    }
+
+    /**
+     * The outcomes of the tests and the results of the benchmarks of one test run.
+     */
+    static class TestRun
+    {
+        final Map<String, String> outcomes = new LinkedHashMap<>();
+        final Map<String, String> benchmarkResults = new LinkedHashMap<>();
+
+        static TestRun parse(final File file) throws Exception
+        {
+            final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file);
+            final TestRun result = new TestRun();
+
+            final NodeList testcases = doc.getElementsByTagName("testcase");
+            for (int i = 0; i < testcases.getLength(); i++) {
+                final Element testcase = (Element) testcases.item(i);
+                final String outcome;
+                final NodeList failures = testcase.getElementsByTagName("failure");
+                final NodeList skipped = testcase.getElementsByTagName("skipped");
+                if (failures.getLength() > 0) {
+                    outcome = FAILED + getMessage((Element) failures.item(0));
+                } else if (skipped.getLength() > 0) {
+                    outcome = SKIPPED + getMessage((Element) skipped.item(0));
+                } else {
+                    outcome = PASSED;
+                }
+                result.outcomes.put(testcase.getAttribute("name"), outcome);
+            }
+
+            final NodeList suites = doc.getElementsByTagName("testsuite");
+            for (int i = 0; i < suites.getLength(); i++) {
+                final Element suite = (Element) suites.item(i);
+                if (!JUnitXmlTestRunResultProcessor.BENCHMARK_SUITE_NAME.equals(suite.getAttribute("name"))) {
+                    continue;
+                }
+                final NodeList properties = suite.getElementsByTagName("property");
+                for (int j = 0; j < properties.getLength(); j++) {
+                    final Element property = (Element) properties.item(j);
+                    result.benchmarkResults.put(property.getAttribute("name"), property.getAttribute("value"));
+                }
+            }
+            return result;
+        }
+
+        private static String getMessage(final Element element)
+        {
+            final String message = element.getAttribute("message");
+            return message == null || message.isBlank() ? "" : ": " + message;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.AbstractSmackIntTest;
+import org.igniterealtime.smack.inttest.FailedTest;
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.igniterealtime.smack.inttest.SuccessfulTest;
+import org.igniterealtime.smack.inttest.TestNotPossible;
+import org.igniterealtime.smack.inttest.TestResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * An index of the results of a test run, that is shared by all {@link SmackIntegrationTestFramework.TestRunResultProcessor}
+ * implementations.
+ *
+ * The index is built in one pass over all results. The metadata of each test (its specification, section and quote) is
+ * read from its annotations only once per test method, rather than once per result and per processor. Results are
+ * grouped by specification, by section (within a specification) and by test class, and the amount of results of each
+ * outcome are counted in advance.
+ *
+ * Processors obtain the index through {@link #of(SmackIntegrationTestFramework.TestRunResult)}, which builds it only
+ * once for a test run, regardless of the amount of processors that are configured.
+ */
+public class TestRunResultIndex
+{
+    private static final Properties SPECIFICATION_TITLES = loadSpecificationTitles();
+
+    private static TestRunResultIndex latest;
+
+    /**
+     * Returns the index of the provided test run result. The index of the test run result for which this method was
+     * last invoked is reused.
+     */
+    public static synchronized TestRunResultIndex of(final SmackIntegrationTestFramework.TestRunResult testRunResult)
+    {
+        if (latest == null || latest.testRunResult != testRunResult) {
+            latest = new TestRunResultIndex(testRunResult);
+        }
+        return latest;
+    }
+
+    /**
+     * The metadata of a test method, as defined by the annotations of the method and its class.
+     */
+    public static final class TestMetadata
+    {
+        /**
+         * The normalized identifier of the specification (eg: <tt>XEP0030</tt>), or an empty string if the test does
+         * not reference a specification.
+         */
+        public final String specification;
+
+        /**
+         * The identifier of the specification in a more readable form (eg: <tt>XEP-0030</tt>).
+         */
+        public final String humanReadableSpecification;
+
+        /**
+         * The section of the specification that is tested, or null.
+         */
+        public final String section;
+
+        /**
+         * The quote from the specification that is tested, or null.
+         */
+        public final String quote;
+
+        TestMetadata(final Method method)
+        {
+            // Prefer the catalog that was generated at build time over reading the annotations through reflection.
+            final TestCatalog catalog = TestCatalog.get();
+            final TestCatalog.Entry entry = catalog == null ? null : catalog.get(method);
+            if (entry != null) {
+                specification = entry.specification;
+                section = entry.section;
+                quote = entry.quote;
+            } else {
+                specification = JUnitXmlTestRunResultProcessor.getSpecificationReference(method);
+                section = JUnitXmlTestRunResultProcessor.getSpecificationSection(method);
+                quote = JUnitXmlTestRunResultProcessor.getSpecificationQuote(method);
+            }
+            humanReadableSpecification = StdOutTestRunResultProcessor.humanReadibleSpec(specification);
+        }
+    }
+
+    /**
+     * The amount of tests of each outcome.
+     */
+    public static final class Counts
+    {
+        private int successful;
+        private int failed;
+        private int notPossible;
+        private int inImpossibleTestClasses;
+
+        public int getSuccessful()
+        {
+            return successful;
+        }
+
+        public int getFailed()
+        {
+            return failed;
+        }
+
+        public int getNotPossible()
+        {
+            return notPossible;
+        }
+
+        /**
+         * Returns the amount of tests in test classes that were not possible as a whole.
+         */
+        public int getInImpossibleTestClasses()
+        {
+            return inImpossibleTestClasses;
+        }
+    }
+
+    private final SmackIntegrationTestFramework.TestRunResult testRunResult;
+    private final Map<Method, TestMetadata> metadataByMethod = new HashMap<>();
+    private final SortedMap<String, List<TestResult>> bySpecification = new TreeMap<>();
+    private final Map<String, SortedMap<String, List<TestResult>>> bySection = new HashMap<>();
+    private final SortedMap<String, List<TestResult>> byClass = new TreeMap<>();
+    private final SortedMap<String, List<Class<? extends AbstractSmackIntTest>>> impossibleTestClassesBySpecification = new TreeMap<>();
+    private final Map<Class<? extends AbstractSmackIntTest>, List<Method>> methodsInImpossibleTestClasses = new HashMap<>();
+    private final Map<String, Counts> countsBySpecification = new HashMap<>();
+    private final Counts total = new Counts();
+
+    /**
+     * Builds a new index. Processors should use {@link #of(SmackIntegrationTestFramework.TestRunResult)} instead, to
+     * share the index with other processors.
+     */
+    public TestRunResultIndex(final SmackIntegrationTestFramework.TestRunResult testRunResult)
+    {
+        this.testRunResult = testRunResult;
+
+        // Failed tests are added first, as that is the order in which they were reported before this index was introduced.
+        for (final FailedTest testResult : testRunResult.getFailedTests()) {
+            add(testResult).failed++;
+            total.failed++;
+        }
+        for (final SuccessfulTest testResult : testRunResult.getSuccessfulTests()) {
+            add(testResult).successful++;
+            total.successful++;
+        }
+        for (final TestNotPossible testResult : testRunResult.getNotPossibleTests()) {
+            add(testResult).notPossible++;
+            total.notPossible++;
+        }
+        for (final Class<? extends AbstractSmackIntTest> testClass : testRunResult.getImpossibleTestClasses().keySet()) {
+            final String specification = JUnitXmlTestRunResultProcessor.getSpecificationReference(testClass);
+            final List<Method> methods = StdOutTestRunResultProcessor.getMethodsInImpossibleTestClass(testClass);
+            impossibleTestClassesBySpecification.computeIfAbsent(specification, s -> new ArrayList<>()).add(testClass);
+            methodsInImpossibleTestClasses.put(testClass, methods);
+            countsBySpecification.computeIfAbsent(specification, s -> new Counts()).inImpossibleTestClasses += methods.size();
+            total.inImpossibleTestClasses += methods.size();
+        }
+    }
+
+    private Counts add(final TestResult testResult)
+    {
+        final Method method = testResult.concreteTest.getMethod();
+        final TestMetadata metadata = metadataByMethod.computeIfAbsent(method, TestMetadata::new);
+        bySpecification.computeIfAbsent(metadata.specification, s -> new ArrayList<>()).add(testResult);
+        bySection.computeIfAbsent(metadata.specification, s -> new TreeMap<>()).computeIfAbsent(metadata.section == null ? "" : metadata.section, s -> new ArrayList<>()).add(testResult);
+        byClass.computeIfAbsent(method.getDeclaringClass().getName(), s -> new ArrayList<>()).add(testResult);
+        return countsBySpecification.computeIfAbsent(metadata.specification, s -> new Counts());
+    }
+
+    public SmackIntegrationTestFramework.TestRunResult getTestRunResult()
+    {
+        return testRunResult;
+    }
+
+    /**
+     * Returns the metadata of the test that produced the provided result.
+     */
+    public TestMetadata getMetadata(final TestResult testResult)
+    {
+        return metadataByMethod.computeIfAbsent(testResult.concreteTest.getMethod(), TestMetadata::new);
+    }
+
+    /**
+     * Returns all results, keyed by the normalized identifier of their specification (an empty string for results of
+     * tests that do not reference a specification).
+     */
+    public SortedMap<String, List<TestResult>> getBySpecification()
+    {
+        return Collections.unmodifiableSortedMap(bySpecification);
+    }
+
+    /**
+     * Returns the results for a specification of a particular type (eg: {@link FailedTest}).
+     */
+    public <T extends TestResult> List<T> getBySpecification(final String specification, final Class<T> type)
+    {
+        final List<T> result = new ArrayList<>();
+        for (final TestResult testResult : bySpecification.getOrDefault(specification, Collections.emptyList())) {
+            if (type.isInstance(testResult)) {
+                result.add(type.cast(testResult));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the results for a specification, keyed by section (an empty string for results of tests that do not
+     * reference a section).
+     */
+    public SortedMap<String, List<TestResult>> getBySection(final String specification)
+    {
+        return Collections.unmodifiableSortedMap(bySection.getOrDefault(specification, Collections.emptySortedMap()));
+    }
+
+    /**
+     * Returns all results, keyed by the name of the test class.
+     */
+    public SortedMap<String, List<TestResult>> getByClass()
+    {
+        return Collections.unmodifiableSortedMap(byClass);
+    }
+
+    /**
+     * Returns the test classes that were not possible as a whole, keyed by the normalized identifier of their
+     * specification.
+     */
+    public SortedMap<String, List<Class<? extends AbstractSmackIntTest>>> getImpossibleTestClassesBySpecification()
+    {
+        return Collections.unmodifiableSortedMap(impossibleTestClassesBySpecification);
+    }
+
+    /**
+     * Returns the test methods of a test class that was not possible as a whole.
+     */
+    public List<Method> getMethodsInImpossibleTestClass(final Class<? extends AbstractSmackIntTest> testClass)
+    {
+        return methodsInImpossibleTestClasses.getOrDefault(testClass, Collections.emptyList());
+    }
+
+    /**
+     * Returns the amount of tests of each outcome, for one specification.
+     */
+    public Counts getCounts(final String specification)
+    {
+        return countsBySpecification.getOrDefault(specification, new Counts());
+    }
+
+    /**
+     * Returns the amount of tests of each outcome, for the entire test run.
+     */
+    public Counts getTotal()
+    {
+        return total;
+    }
+
+    /**
+     * Returns the title of a specification (eg: <tt>XEP-0030</tt>), or null if the title is unknown.
+     */
+    public static String getSpecificationTitle(final String specification)
+    {
+        return SPECIFICATION_TITLES.getProperty(specification);
+    }
+
+    /**
+     * Returns the titles of all known specifications.
+     */
+    public static Properties getSpecificationTitles()
+    {
+        return SPECIFICATION_TITLES;
+    }
+
+    private static Properties loadSpecificationTitles()
+    {
+        final Properties result = new Properties();
+        try (final InputStream inputStream = TestRunResultIndex.class.getResourceAsStream("/specifications.properties")) {
+            if (inputStream == null) {
+                throw new IOException("Resource not found.");
+            }
+            result.load(inputStream);
+        } catch (IOException e) {
+            System.err.println("Unable to load specifications.properties");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.igniterealtime.smack.inttest.SmackIntegrationTestFramework;
+import org.igniterealtime.smack.inttest.TestResult;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Holds the traffic that was exchanged by all connections during each test, as recorded by
+ * {@link ModifiedStandardSinttestDebugger}. Traffic is only recorded when that debugger is configured.
+ *
+ * This allows changes in the behavior of a server that do not cause tests to fail (for example, sending redundant
+ * presence or unrequested pushes) to be detected, by comparing the traffic of test runs.
+ */
+public class TrafficAccounting
+{
+    private static final Map<SmackIntegrationTestFramework.ConcreteTest, TrafficCounters> byTest = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    static void put(final SmackIntegrationTestFramework.ConcreteTest test, final TrafficCounters counters)
+    {
+        byTest.put(test, counters);
+    }
+
+    /**
+     * Returns whether any traffic was recorded in this test run.
+     */
+    public static boolean isEnabled()
+    {
+        return !byTest.isEmpty();
+    }
+
+    /**
+     * Returns the traffic of all connections during one test, or null if no traffic was recorded for the test.
+     */
+    public static TrafficCounters get(final SmackIntegrationTestFramework.ConcreteTest test)
+    {
+        return byTest.get(test);
+    }
+
+    /**
+     * Returns the combined traffic of the provided tests (for example, all tests for a particular specification).
+     */
+    public static TrafficCounters getTotal(final Collection<? extends TestResult> testResults)
+    {
+        final TrafficCounters result = new TrafficCounters();
+        for (final TestResult testResult : testResults) {
+            final TrafficCounters counters = get(testResult.concreteTest);
+            if (counters != null) {
+                result.add(counters);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.jivesoftware.smack.packet.IQ;
+import org.jivesoftware.smack.packet.Message;
+import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.packet.TopLevelStreamElement;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the data that is exchanged over one or more XMPP connections: bytes, stanzas (by kind) and nonzas, in both
+ * directions.
+ *
+ * The amount of bytes is that of the UTF-8 encoding of the XML that is read from and written to the connection (after
+ * decryption and decompression). Instances of this class are safe to be used by multiple threads concurrently.
+ *
+ * @see TrafficAccounting
+ */
+public class TrafficCounters
+{
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder messagesIn = new LongAdder();
+    private final LongAdder messagesOut = new LongAdder();
+    private final LongAdder presencesIn = new LongAdder();
+    private final LongAdder presencesOut = new LongAdder();
+    private final LongAdder iqsIn = new LongAdder();
+    private final LongAdder iqsOut = new LongAdder();
+    private final LongAdder nonzasIn = new LongAdder();
+    private final LongAdder nonzasOut = new LongAdder();
+
+    void onIncoming(final CharSequence data)
+    {
+        bytesIn.add(getUtf8Length(data));
+    }
+
+    void onOutgoing(final CharSequence data)
+    {
+        bytesOut.add(getUtf8Length(data));
+    }
+
+    void onIncoming(final TopLevelStreamElement element)
+    {
+        count(element, messagesIn, presencesIn, iqsIn, nonzasIn);
+    }
+
+    void onOutgoing(final TopLevelStreamElement element)
+    {
+        count(element, messagesOut, presencesOut, iqsOut, nonzasOut);
+    }
+
+    private static void count(final TopLevelStreamElement element, final LongAdder messages, final LongAdder presences, final LongAdder iqs, final LongAdder nonzas)
+    {
+        if (element instanceof Message) {
+            messages.increment();
+        } else if (element instanceof Presence) {
+            presences.increment();
+        } else if (element instanceof IQ) {
+            iqs.increment();
+        } else {
+            nonzas.increment();
+        }
+    }
+
+    /**
+     * Adds the values of the provided counters to this instance.
+     */
+    public void add(final TrafficCounters other)
+    {
+        bytesIn.add(other.getBytesIn());
+        bytesOut.add(other.getBytesOut());
+        messagesIn.add(other.getMessagesIn());
+        messagesOut.add(other.getMessagesOut());
+        presencesIn.add(other.getPresencesIn());
+        presencesOut.add(other.getPresencesOut());
+        iqsIn.add(other.getIqsIn());
+        iqsOut.add(other.getIqsOut());
+        nonzasIn.add(other.getNonzasIn());
+        nonzasOut.add(other.getNonzasOut());
+    }
+
+    public boolean isEmpty()
+    {
+        return getBytesIn() == 0 && getBytesOut() == 0;
+    }
+
+    public long getBytesIn()
+    {
+        return bytesIn.sum();
+    }
+
+    public long getBytesOut()
+    {
+        return bytesOut.sum();
+    }
+
+    public long getMessagesIn()
+    {
+        return messagesIn.sum();
+    }
+
+    public long getMessagesOut()
+    {
+        return messagesOut.sum();
+    }
+
+    public long getPresencesIn()
+    {
+        return presencesIn.sum();
+    }
+
+    public long getPresencesOut()
+    {
+        return presencesOut.sum();
+    }
+
+    public long getIqsIn()
+    {
+        return iqsIn.sum();
+    }
+
+    public long getIqsOut()
+    {
+        return iqsOut.sum();
+    }
+
+    public long getNonzasIn()
+    {
+        return nonzasIn.sum();
+    }
+
+    public long getNonzasOut()
+    {
+        return nonzasOut.sum();
+    }
+
+    public long getStanzasIn()
+    {
+        return getMessagesIn() + getPresencesIn() + getIqsIn();
+    }
+
+    public long getStanzasOut()
+    {
+        return getMessagesOut() + getPresencesOut() + getIqsOut();
+    }
+
+    /**
+     * Describes the incoming traffic, for human consumption.
+     */
+    public String describeIncoming()
+    {
+        return describe(getStanzasIn(), getMessagesIn(), getPresencesIn(), getIqsIn(), getNonzasIn(), getBytesIn());
+    }
+
+    /**
+     * Describes the outgoing traffic, for human consumption.
+     */
+    public String describeOutgoing()
+    {
+        return describe(getStanzasOut(), getMessagesOut(), getPresencesOut(), getIqsOut(), getNonzasOut(), getBytesOut());
+    }
+
+    private static String describe(final long stanzas, final long messages, final long presences, final long iqs, final long nonzas, final long bytes)
+    {
+        return stanzas + " stanzas (" + messages + " message, " + presences + " presence, " + iqs + " iq), " + nonzas + " nonzas, " + bytes + " bytes";
+    }
+
+    @Override
+    public String toString()
+    {
+        return "in: " + describeIncoming() + "; out: " + describeOutgoing();
+    }
+
+    /**
+     * Returns the amount of bytes in the UTF-8 encoding of the provided characters, without encoding them.
+     */
+    static long getUtf8Length(final CharSequence data)
+    {
+        long result = 0;
+        for (int i = 0; i < data.length(); i++) {
+            final char c = data.charAt(i);
+            if (c < 0x80) {
+                result += 1;
+            } else if (c < 0x800) {
+                result += 2;
+            } else if (Character.isSurrogate(c)) {
+                result += 2; // A surrogate pair (two chars) is encoded as four bytes.
+            } else {
+                result += 3;
+            }
+        }
+        return result;
+    }
+}
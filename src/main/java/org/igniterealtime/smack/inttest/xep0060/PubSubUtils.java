@@ -15,7 +15,13 @@
  */
 package org.igniterealtime.smack.inttest.xep0060;
 
+import org.igniterealtime.smack.inttest.TestNotPossibleException;
+import org.jivesoftware.smack.SmackException;
+import org.jivesoftware.smack.XMPPConnection;
+import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smackx.disco.packet.DiscoverItems;
+import org.jivesoftware.smackx.pubsub.PubSubManager;
+import org.jxmpp.jid.DomainBareJid;
 import org.junit.platform.commons.util.StringUtils;
 
 import java.util.Collection;
@@ -29,6 +35,26 @@ import static org.junit.jupiter.api.Assertions.fail;
  */
 public class PubSubUtils
 {
+    /**
+     * Finds the PubSub service of the domain of the provided connection, and verifies that it allows that connection to
+     * create nodes and publish items.
+     *
+     * @param connection the connection used to discover the service.
+     * @return the address of the PubSub service.
+     * @throws TestNotPossibleException when no PubSub service was found, or when it does not allow node creation.
+     */
+    public static DomainBareJid getPubSubServiceThatAllowsNodeCreation(final XMPPConnection connection) throws TestNotPossibleException, SmackException.NoResponseException, XMPPException.XMPPErrorException, SmackException.NotConnectedException, InterruptedException
+    {
+        final DomainBareJid pubSubService = PubSubManager.getPubSubService(connection);
+        if (pubSubService == null) {
+            throw new TestNotPossibleException("No PubSub service found");
+        }
+        if (!PubSubManager.getInstanceFor(connection, pubSubService).canCreateNodesAndPublishItems()) {
+            throw new TestNotPossibleException("PubSub service does not allow node creation");
+        }
+        return pubSubService;
+    }
+
     /**
      * Verifies that at least one of the provided service discovery items is related to a node with a given ID.
      *
@@ -15,15 +15,152 @@
  */
 package org.jivesoftware.smackx.caps;
 
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
 import org.jivesoftware.smackx.disco.packet.DiscoverInfoView;
+import org.jivesoftware.smackx.xdata.FormField;
+import org.jivesoftware.smackx.xdata.packet.DataForm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 public class CapsUtil
 {
+    /**
+     * The maximum amount of verification strings that are cached.
+     */
+    static final int CACHE_SIZE = 1_000;
+
+    private static final Map<CanonicalForm, CapsVersionAndHash> CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<CanonicalForm, CapsVersionAndHash> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    });
+
     /**
      * A utility method to elevate the access modifier of {@link EntityCapsManager#generateVerificationString(DiscoverInfoView)}
      * from package-private to public.
+     *
+     * The result is cached, keyed by the canonical form of the disco info (which is independent of the order of its
+     * identities, features and extended information). Repeated invocations with equivalent disco info do not
+     * recompute the verification string.
      */
     public static CapsVersionAndHash generateVerificationString(final DiscoverInfoView discoInfo) {
+        final CanonicalForm key = new CanonicalForm(discoInfo);
+        final CapsVersionAndHash cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final CapsVersionAndHash result = EntityCapsManager.generateVerificationString(discoInfo);
+        CACHE.put(key, result);
+        return result;
+    }
+
+    /**
+     * Computes the verification string without using (or populating) the cache that is used by
+     * {@link #generateVerificationString(DiscoverInfoView)}.
+     */
+    public static CapsVersionAndHash generateVerificationStringUncached(final DiscoverInfoView discoInfo) {
         return EntityCapsManager.generateVerificationString(discoInfo);
     }
+
+    /**
+     * Removes all cached verification strings.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * The data of disco info that is used as input for the verification string (see XEP-0115 section 5.1), in a form
+     * that can be compared without sorting. Two instances are equal if the disco info that they represent yields the
+     * same verification string.
+     *
+     * Identities and features are held as sets, as duplicates do not affect the verification string. Extended
+     * information forms are counted, as each occurrence of a form does.
+     */
+    static final class CanonicalForm
+    {
+        private final Set<List<String>> identities;
+        private final Set<String> features;
+        private final Map<List<List<String>>, Integer> forms;
+        private final int hashCode;
+
+        CanonicalForm(final DiscoverInfoView discoInfo) {
+            // Identities that differ only by name are considered equal when the verification string is computed, which then uses the name of the first one.
+            final List<DiscoverInfo.Identity> discoIdentities = discoInfo.getIdentities();
+            final Map<List<String>, String> namesByIdentity = new HashMap<>(discoIdentities.size() * 2);
+            for (final DiscoverInfo.Identity identity : discoIdentities) {
+                namesByIdentity.putIfAbsent(List.of(identity.getCategory(), Objects.toString(identity.getType(), ""), Objects.toString(identity.getLanguage(), "")), Objects.toString(identity.getName(), ""));
+            }
+            identities = new HashSet<>(namesByIdentity.size() * 2);
+            for (final Map.Entry<List<String>, String> entry : namesByIdentity.entrySet()) {
+                final List<String> identity = new ArrayList<>(entry.getKey());
+                identity.add(entry.getValue());
+                identities.add(identity);
+            }
+
+            final List<DiscoverInfo.Feature> discoFeatures = discoInfo.getFeatures();
+            features = new HashSet<>(discoFeatures.size() * 2);
+            for (final DiscoverInfo.Feature feature : discoFeatures) {
+                features.add(feature.getVar());
+            }
+
+            final List<DataForm> dataForms = discoInfo.getExtensions(DataForm.class);
+            forms = dataForms.isEmpty() ? Collections.emptyMap() : new HashMap<>();
+            for (final DataForm dataForm : dataForms) {
+                final List<List<String>> form = new ArrayList<>();
+                form.add(List.of(String.valueOf(dataForm.hasHiddenFormTypeField()), Objects.toString(dataForm.getFormType(), "")));
+                final List<List<String>> fields = new ArrayList<>();
+                for (final FormField field : dataForm.getFields()) {
+                    final List<String> values = new ArrayList<>();
+                    for (final CharSequence value : field.getRawValueCharSequences()) {
+                        values.add(value.toString());
+                    }
+                    Collections.sort(values);
+                    values.add(0, Objects.toString(field.getFieldName(), ""));
+                    fields.add(values);
+                }
+                fields.sort(CanonicalForm::compare);
+                form.addAll(fields);
+                forms.merge(form, 1, Integer::sum);
+            }
+
+            hashCode = Objects.hash(identities, features, forms);
+        }
+
+        private static int compare(final List<String> a, final List<String> b) {
+            for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+                final int result = a.get(i).compareTo(b.get(i));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return Integer.compare(a.size(), b.size());
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CanonicalForm)) {
+                return false;
+            }
+            final CanonicalForm that = (CanonicalForm) o;
+            return hashCode == that.hashCode && features.equals(that.features) && identities.equals(that.identities) && forms.equals(that.forms);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -31,6 +31,7 @@ import java.util.concurrent.TimeoutException;
 
 import org.igniterealtime.smack.inttest.annotations.SpecificationReference;
 import org.igniterealtime.smack.inttest.util.IntegrationTestRosterUtil;
+import org.igniterealtime.smack.inttest.xep0060.PubSubUtils;
 import org.jivesoftware.smack.SmackConfiguration;
 import org.jivesoftware.smack.SmackException;
 import org.jivesoftware.smack.SmackException.NoResponseException;
@@ -68,14 +69,8 @@ public class PubSubExtIntegrationTest extends AbstractSmackIntegrationTest {
             throws TestNotPossibleException, SmackException.NoResponseException, XMPPErrorException,
             NotConnectedException, InterruptedException {
         super(environment);
-        DomainBareJid pubSubService = PubSubManager.getPubSubService(conOne);
-        if (pubSubService == null) {
-            throw new TestNotPossibleException("No PubSub service found");
-        }
+        DomainBareJid pubSubService = PubSubUtils.getPubSubServiceThatAllowsNodeCreation(conOne);
         pubSubManagerOne = PubSubManager.getInstanceFor(conOne, pubSubService);
-        if (!pubSubManagerOne.canCreateNodesAndPublishItems()) {
-            throw new TestNotPossibleException("PubSub service does not allow node creation");
-        }
         pubSubManagerTwo = PubSubManager.getInstanceFor(conTwo, pubSubService);
     }
 
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests that verify the implementation of {@link BenchmarkConfiguration}
+ */
+public class BenchmarkConfigurationTest
+{
+    private static final String KEY = "unittest.value";
+
+    @AfterEach
+    public void clearProperty()
+    {
+        System.clearProperty(BenchmarkConfiguration.PREFIX + KEY);
+    }
+
+    @Test
+    public void testDefaultsWhenNotSet() throws Exception
+    {
+        // Execute system under test & verify results.
+        assertEquals("default", BenchmarkConfiguration.getString(KEY, "default"));
+        assertTrue(BenchmarkConfiguration.getBoolean(KEY, true));
+        assertEquals(42, BenchmarkConfiguration.getInteger(KEY, 42));
+        assertEquals(42L, BenchmarkConfiguration.getLong(KEY, 42L));
+        assertEquals(List.of(1, 2), BenchmarkConfiguration.getIntegers(KEY, List.of(1, 2)));
+    }
+
+    @Test
+    public void testDefaultsWhenBlank() throws Exception
+    {
+        // Setup test fixture.
+        System.setProperty(BenchmarkConfiguration.PREFIX + KEY, "  ");
+
+        // Execute system under test & verify results.
+        assertEquals("default", BenchmarkConfiguration.getString(KEY, "default"));
+        assertEquals(42, BenchmarkConfiguration.getInteger(KEY, 42));
+        assertEquals(List.of(1, 2), BenchmarkConfiguration.getIntegers(KEY, List.of(1, 2)));
+    }
+
+    @Test
+    public void testValuesAreTrimmed() throws Exception
+    {
+        // Setup test fixture.
+        System.setProperty(BenchmarkConfiguration.PREFIX + KEY, " 17 ");
+
+        // Execute system under test & verify results.
+        assertEquals("17", BenchmarkConfiguration.getString(KEY, null));
+        assertEquals(17, BenchmarkConfiguration.getInteger(KEY, 42));
+        assertEquals(17L, BenchmarkConfiguration.getLong(KEY, 42L));
+    }
+
+    @Test
+    public void testIntegers() throws Exception
+    {
+        // Setup test fixture.
+        System.setProperty(BenchmarkConfiguration.PREFIX + KEY, "10, 100,,1000 ,");
+
+        // Execute system under test.
+        final List<Integer> result = BenchmarkConfiguration.getIntegers(KEY, List.of(1));
+
+        // Verify results.
+        assertEquals(List.of(10, 100, 1000), result);
+    }
+
+    @Test
+    public void testBadInput() throws Exception
+    {
+        // Setup test fixture.
+        System.setProperty(BenchmarkConfiguration.PREFIX + KEY, "ten");
+
+        // Execute system under test & verify results.
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> BenchmarkConfiguration.getInteger(KEY, 42));
+        assertTrue(e.getMessage().contains(BenchmarkConfiguration.PREFIX + KEY));
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkConfiguration.getLong(KEY, 42L));
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkConfiguration.getIntegers(KEY, List.of(1)));
+    }
+
+    @Test
+    public void testBadElementInIntegers() throws Exception
+    {
+        // Setup test fixture.
+        System.setProperty(BenchmarkConfiguration.PREFIX + KEY, "10,x,1000");
+
+        // Execute system under test & verify results.
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkConfiguration.getIntegers(KEY, List.of(1)));
+    }
+
+    @Test
+    public void testTimeoutDefaultsToAtLeastOneMinute() throws Exception
+    {
+        // Execute system under test & verify results.
+        assertEquals(60_000, BenchmarkConfiguration.getTimeout(5_000));
+        assertEquals(120_000, BenchmarkConfiguration.getTimeout(120_000));
+    }
+
+    @Test
+    public void testConfiguredTimeout() throws Exception
+    {
+        // Setup test fixture.
+        System.setProperty(BenchmarkConfiguration.PREFIX + "timeout", "1234");
+
+        try {
+            // Execute system under test & verify results.
+            assertEquals(1234, BenchmarkConfiguration.getTimeout(5_000));
+        } finally {
+            System.clearProperty(BenchmarkConfiguration.PREFIX + "timeout");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests that verify the implementation of {@link LatencyRecorder}
+ */
+public class LatencyRecorderTest
+{
+    @Test
+    public void testEmpty() throws Exception
+    {
+        // Setup test fixture.
+        final LatencyRecorder recorder = new LatencyRecorder();
+
+        // Verify results.
+        assertEquals(0, recorder.getCount());
+        assertEquals(0, recorder.getMin());
+        assertEquals(0, recorder.getMax());
+        assertEquals(0, recorder.getPercentile(50));
+        assertEquals("n=0", recorder.toString());
+    }
+
+    @Test
+    public void testNearestRankPercentiles() throws Exception
+    {
+        // Setup test fixture.
+        final LatencyRecorder recorder = new LatencyRecorder();
+
+        // Execute system under test (in reverse order, to verify that the values are sorted).
+        for (int i = 100; i >= 1; i--) {
+            recorder.record(i);
+        }
+
+        // Verify results.
+        assertEquals(100, recorder.getCount());
+        assertEquals(1, recorder.getMin());
+        assertEquals(100, recorder.getMax());
+        assertEquals(50.5, recorder.getMean());
+        assertEquals(1, recorder.getPercentile(0.1));
+        assertEquals(1, recorder.getPercentile(1));
+        assertEquals(50, recorder.getPercentile(50));
+        assertEquals(90, recorder.getPercentile(90));
+        assertEquals(99, recorder.getPercentile(99));
+        assertEquals(100, recorder.getPercentile(99.5));
+        assertEquals(100, recorder.getPercentile(100));
+    }
+
+    @Test
+    public void testPercentileRoundsRankUp() throws Exception
+    {
+        // Setup test fixture.
+        final LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(15);
+        recorder.record(20);
+        recorder.record(35);
+        recorder.record(40);
+        recorder.record(50);
+
+        // Execute system under test & verify results (the ranks are 0.25, 1.5, 2.5, 4 and 5, rounded up).
+        assertEquals(15, recorder.getPercentile(5));
+        assertEquals(20, recorder.getPercentile(30));
+        assertEquals(35, recorder.getPercentile(50));
+        assertEquals(40, recorder.getPercentile(80));
+        assertEquals(50, recorder.getPercentile(100));
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() throws Exception
+    {
+        // Setup test fixture.
+        final LatencyRecorder recorder = new LatencyRecorder();
+
+        // Execute system under test.
+        for (int i = 0; i < 1000; i++) {
+            recorder.record(i);
+        }
+
+        // Verify results.
+        assertEquals(1000, recorder.getCount());
+        assertEquals(999, recorder.getMax());
+    }
+
+    @Test
+    public void testPercentileOutOfRange() throws Exception
+    {
+        // Setup test fixture.
+        final LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(1);
+
+        // Execute system under test & verify results.
+        assertThrows(IllegalArgumentException.class, () -> recorder.getPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> recorder.getPercentile(100.1));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests that verify the implementation of {@link TestCatalog} and {@link TestCatalogLauncher}
+ */
+public class TestCatalogTest
+{
+    private static final TestCatalog CATALOG = new TestCatalog(List.of(
+        new TestCatalog.Entry("org.example.xep0199.PingIntegrationTest", "testPing", "XEP0199", "4.2", "A quote\twith a tab,\na newline and a \\ backslash."),
+        new TestCatalog.Entry("org.example.xep0092.VersionIntegrationTest", "testName", "XEP0092", null, null),
+        new TestCatalog.Entry("org.example.xep0092.VersionIntegrationTest", "testVersion", "XEP0092", "2", null),
+        new TestCatalog.Entry("org.igniterealtime.benchmark.xep0045.MucBenchmark", "benchmark", "XEP0045", null, null)
+    ));
+
+    @Test
+    public void testWriteReadRoundTrip() throws Exception
+    {
+        // Execute system under test.
+        final StringWriter writer = new StringWriter();
+        CATALOG.write(writer);
+        final TestCatalog result = TestCatalog.read(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+
+        // Verify results.
+        assertEquals(CATALOG.getEntries().size(), result.getEntries().size());
+        for (int i = 0; i < CATALOG.getEntries().size(); i++) {
+            final TestCatalog.Entry expected = CATALOG.getEntries().get(i);
+            final TestCatalog.Entry actual = result.getEntries().get(i);
+            assertEquals(expected.className, actual.className);
+            assertEquals(expected.methodName, actual.methodName);
+            assertEquals(expected.specification, actual.specification);
+            assertEquals(expected.section, actual.section);
+            assertEquals(expected.quote, actual.quote);
+        }
+    }
+
+    @Test
+    public void testPackagesOfEnabledSpecification()
+    {
+        // Execute system under test.
+        final Set<String> result = TestCatalogLauncher.getTestPackages(CATALOG, Set.of("XEP-0199"), Set.of(), Set.of(), Set.of());
+
+        // Verify results.
+        assertEquals(Set.of("org.example.xep0199"), result);
+    }
+
+    @Test
+    public void testPackagesOfEnabledTestsExcludeDisabledTests()
+    {
+        // Execute system under test.
+        final Set<String> result = TestCatalogLauncher.getTestPackages(CATALOG, Set.of(), Set.of(), Set.of("VersionIntegrationTest.testName", "org.example.xep0199.PingIntegrationTest"), Set.of("PingIntegrationTest"));
+
+        // Verify results.
+        assertEquals(Set.of("org.example.xep0092"), result);
+    }
+
+    @Test
+    public void testUnknownTestScansEverything()
+    {
+        // Execute system under test.
+        final Set<String> result = TestCatalogLauncher.getTestPackages(CATALOG, Set.of("XEP-0199"), Set.of(), Set.of("UnknownIntegrationTest"), Set.of());
+
+        // Verify results.
+        assertNull(result);
+    }
+
+    @Test
+    public void testBenchmarksAreNotSelected()
+    {
+        // Execute system under test.
+        final Set<String> result = TestCatalogLauncher.getTestPackages(CATALOG, Set.of("XEP-0045"), Set.of(), Set.of(), Set.of());
+
+        // Verify results.
+        assertNull(result);
+    }
+
+    @Test
+    public void testClassesThatAreNotAvailableAreLeftOut()
+    {
+        // Setup test fixture.
+        final TestCatalog catalog = new TestCatalog(List.of(
+            new TestCatalog.Entry("org.example.xep0199.PingIntegrationTest", "testPing", "XEP0199", null, null),
+            new TestCatalog.Entry(TestCatalogTest.class.getName(), "testClassesThatAreNotAvailableAreLeftOut", "XEP0001", null, null)
+        ));
+
+        // Execute system under test.
+        final TestCatalog result = catalog.retainAvailable(TestCatalogTest.class.getClassLoader());
+
+        // Verify results.
+        assertEquals(1, result.getEntries().size());
+        assertEquals(TestCatalogTest.class.getName(), result.getEntries().get(0).className);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.igniterealtime.smack.inttest.util;
+
+import org.jivesoftware.smack.packet.MessageBuilder;
+import org.jivesoftware.smack.packet.PresenceBuilder;
+import org.jivesoftware.smackx.csi.packet.ClientStateIndication;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests that verify the implementation of {@link TrafficCounters}
+ */
+public class TrafficCountersTest
+{
+    @Test
+    public void testUtf8LengthOfMultiByteCharacters() throws Exception
+    {
+        // Setup test fixture.
+        final String input = "<body>aé€💀</body>";
+
+        // Execute system under test.
+        final long result = TrafficCounters.getUtf8Length(input);
+
+        // Verify results.
+        assertEquals(input.getBytes(StandardCharsets.UTF_8).length, result);
+    }
+
+    @Test
+    public void testCountsByKind() throws Exception
+    {
+        // Setup test fixture.
+        final TrafficCounters counters = new TrafficCounters();
+
+        // Execute system under test.
+        counters.onIncoming(MessageBuilder.buildMessage().setBody("test").build());
+        counters.onIncoming(PresenceBuilder.buildPresence().build());
+        counters.onIncoming(PresenceBuilder.buildPresence().build());
+        counters.onOutgoing(ClientStateIndication.Active.INSTANCE);
+
+        // Verify results.
+        assertEquals(1, counters.getMessagesIn());
+        assertEquals(2, counters.getPresencesIn());
+        assertEquals(3, counters.getStanzasIn());
+        assertEquals(0, counters.getNonzasIn());
+        assertEquals(0, counters.getStanzasOut());
+        assertEquals(1, counters.getNonzasOut());
+    }
+
+    @Test
+    public void testAdd() throws Exception
+    {
+        // Setup test fixture.
+        final TrafficCounters first = new TrafficCounters();
+        first.onIncoming("<a/>");
+        first.onOutgoing("<bb/>");
+        final TrafficCounters second = new TrafficCounters();
+        second.onIncoming("<ccc/>");
+
+        // Execute system under test.
+        final TrafficCounters result = new TrafficCounters();
+        result.add(first);
+        result.add(second);
+
+        // Verify results.
+        assertEquals(10, result.getBytesIn());
+        assertEquals(5, result.getBytesOut());
+    }
+}
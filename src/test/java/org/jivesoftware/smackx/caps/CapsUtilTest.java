@@ -0,0 +1,101 @@
+/**
+ * Copyright 2026 Ignite Realtime Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jivesoftware.smackx.caps;
+
+import org.jivesoftware.smack.SmackConfiguration;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfo;
+import org.jivesoftware.smackx.disco.packet.DiscoverInfoBuilder;
+import org.jivesoftware.smackx.xdata.FormField;
+import org.jivesoftware.smackx.xdata.packet.DataForm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests that verify the implementation of the cache in {@link CapsUtil}
+ */
+public class CapsUtilTest
+{
+    @BeforeEach
+    public void setUp()
+    {
+        SmackConfiguration.getVersion(); // Initializes Smack, which provides the Base64 encoder.
+        CapsUtil.clearCache();
+    }
+
+    @Test
+    public void testReorderedDiscoInfoIsCacheHit() throws Exception
+    {
+        // Setup test fixture.
+        final DiscoverInfoBuilder first = DiscoverInfo.builder("first");
+        first.addIdentity(new DiscoverInfo.Identity("client", "Test", "pc"));
+        first.addFeature("urn:example:a");
+        first.addFeature("urn:example:b");
+        first.addExtension(DataForm.builder(DataForm.Type.result).addField(FormField.buildHiddenFormType("urn:example:form")).addField(FormField.textMultiBuilder("field").addValue("b").addValue("a").build()).build());
+
+        final DiscoverInfoBuilder second = DiscoverInfo.builder("second");
+        second.addExtension(DataForm.builder(DataForm.Type.result).addField(FormField.textMultiBuilder("field").addValue("a").addValue("b").build()).addField(FormField.buildHiddenFormType("urn:example:form")).build());
+        second.addFeature("urn:example:b");
+        second.addFeature("urn:example:a");
+        second.addIdentity(new DiscoverInfo.Identity("client", "Test", "pc"));
+
+        // Execute system under test.
+        final CapsVersionAndHash firstResult = CapsUtil.generateVerificationString(first.build());
+        final CapsVersionAndHash secondResult = CapsUtil.generateVerificationString(second.build());
+
+        // Verify results.
+        assertSame(firstResult, secondResult);
+        assertEquals(CapsUtil.generateVerificationStringUncached(second.build()).version, secondResult.version);
+    }
+
+    @Test
+    public void testDifferentFeaturesAreCacheMiss() throws Exception
+    {
+        // Setup test fixture.
+        final DiscoverInfoBuilder first = DiscoverInfo.builder("first");
+        first.addFeature("urn:example:a");
+        final DiscoverInfoBuilder second = DiscoverInfo.builder("second");
+        second.addFeature("urn:example:b");
+
+        // Execute system under test.
+        final CapsVersionAndHash firstResult = CapsUtil.generateVerificationString(first.build());
+        final CapsVersionAndHash secondResult = CapsUtil.generateVerificationString(second.build());
+
+        // Verify results.
+        assertNotEquals(firstResult.version, secondResult.version);
+    }
+
+    @Test
+    public void testIdentitiesThatDifferOnlyByNameUseFirstName() throws Exception
+    {
+        // Setup test fixture: the verification string considers identities that differ only by name to be equal, and uses the name of the first one.
+        final DiscoverInfoBuilder first = DiscoverInfo.builder("first");
+        first.addIdentity(new DiscoverInfo.Identity("client", "Alpha", "pc"));
+        first.addIdentity(new DiscoverInfo.Identity("client", "Beta", "pc"));
+        final DiscoverInfoBuilder second = DiscoverInfo.builder("second");
+        second.addIdentity(new DiscoverInfo.Identity("client", "Beta", "pc"));
+        second.addIdentity(new DiscoverInfo.Identity("client", "Alpha", "pc"));
+
+        // Execute system under test.
+        final CapsVersionAndHash firstResult = CapsUtil.generateVerificationString(first.build());
+        final CapsVersionAndHash secondResult = CapsUtil.generateVerificationString(second.build());
+
+        // Verify results.
+        assertEquals(CapsUtil.generateVerificationStringUncached(first.build()).version, firstResult.version);
+        assertEquals(CapsUtil.generateVerificationStringUncached(second.build()).version, secondResult.version);
+    }
+}
@@ -78,3 +78,40 @@ setup() {
   assert_output --partial "Running: java -Dsinttest"
   assert_output --partial "-Dsinttest.failOnImpossibleTest=true"
 }
+
+@test "runs over tcp by default" {
+  run "$SCRIPT"
+  assert_success
+  assert_output --partial "-Dsinttest.enabledConnections=tcp -Dsinttest.defaultConnection=tcp -DlogDir=./logs -jar"
+  refute_output --partial "TestRunComparison"
+}
+
+@test "runs once for each transport and compares the results when multiple 'transports' are provided" {
+  run "$SCRIPT" --transports=tcp,modular-websocket-java11
+  assert_success
+  assert_output --partial "-Dsinttest.enabledConnections=tcp -Dsinttest.defaultConnection=tcp -DlogDir=./logs/tcp -jar"
+  assert_output --partial "-Dsinttest.enabledConnections=modular-websocket-java11 -Dsinttest.defaultConnection=modular-websocket-java11 -DlogDir=./logs/modular-websocket-java11 -jar"
+  assert_output --partial "TestRunComparison tcp=./logs/tcp/test-results.xml modular-websocket-java11=./logs/modular-websocket-java11/test-results.xml"
+}
+
+@test "fails with an unsupported transport" {
+  run "$SCRIPT" --transports=tcp,websocket
+  assert_failure
+  assert_output --partial "Unsupported transport: 'websocket'"
+  refute_output --partial "Running:"
+}
+
+@test "uses the class data sharing archive when it exists" {
+  SINTSE_CDS_ARCHIVE="$BATS_TEST_TMPDIR/sintse.jsa"
+  touch "$SINTSE_CDS_ARCHIVE"
+  SINTSE_CDS_ARCHIVE="$SINTSE_CDS_ARCHIVE" run "$SCRIPT" --transports=tcp,modular-websocket-java11
+  assert_success
+  assert_output --partial "-XX:SharedArchiveFile=$SINTSE_CDS_ARCHIVE -Dsinttest.enabledConnections=tcp"
+  assert_output --partial "Running: java -XX:SharedArchiveFile=$SINTSE_CDS_ARCHIVE -cp"
+}
+
+@test "does not use a class data sharing archive that does not exist" {
+  SINTSE_CDS_ARCHIVE="$BATS_TEST_TMPDIR/missing.jsa" run "$SCRIPT"
+  assert_success
+  refute_output --partial "SharedArchiveFile"
+}